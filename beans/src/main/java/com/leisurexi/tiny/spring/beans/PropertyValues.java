@@ -21,6 +21,16 @@ public class PropertyValues implements Iterable<PropertyValue> {
         this.propertyValues = new ArrayList<>(0);
     }
 
+    /**
+     * 复制给定的属性值，之后对两者的修改互不影响
+     *
+     * @param original 被复制的属性值
+     * @since 0.0.6
+     */
+    public PropertyValues(PropertyValues original) {
+        this.propertyValues = new ArrayList<>(original.getPropertyValues());
+    }
+
     /**
      * 添加属性
      */
@@ -0,0 +1,33 @@
+package com.leisurexi.tiny.spring.beans.convert;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+
+/**
+ * 类型转换服务，bean 工厂在依赖查找、构造器参数以及属性赋值时用它把值转换为需要的类型
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 11:00
+ * @see DefaultConversionService
+ * @since 0.0.6
+ */
+public interface ConversionService {
+
+    /**
+     * 是否可以把 sourceType 类型的值转换为 targetType 类型
+     *
+     * @param sourceType 源类型
+     * @param targetType 目标类型
+     */
+    boolean canConvert(Class<?> sourceType, Class<?> targetType);
+
+    /**
+     * 把给定的值转换为 targetType 类型，值已经是该类型的实例时直接返回
+     *
+     * @param source     需要转换的值，可以为 {@code null}
+     * @param targetType 目标类型
+     * @return 转换后的值，source 为 {@code null} 时返回 {@code null}
+     * @throws BeansException 没有合适的转换器或者转换失败
+     */
+    <T> T convert(Object source, Class<T> targetType) throws BeansException;
+
+}
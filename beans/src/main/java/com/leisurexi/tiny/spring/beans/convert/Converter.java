@@ -0,0 +1,23 @@
+package com.leisurexi.tiny.spring.beans.convert;
+
+/**
+ * 类型转换器，把 S 类型的值转换为 T 类型
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ * @author: leisurexi
+ * @date: 2026-10-18 11:02
+ * @since 0.0.6
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    /**
+     * 转换给定的值
+     *
+     * @param source 需要转换的值，不会为 {@code null}
+     * @return 转换后的值
+     */
+    T convert(S source);
+
+}
@@ -0,0 +1,21 @@
+package com.leisurexi.tiny.spring.beans.convert;
+
+/**
+ * 类型转换器的注册中心
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 11:04
+ * @since 0.0.6
+ */
+public interface ConverterRegistry {
+
+    /**
+     * 注册一个类型转换器，源类型为 sourceType 及其子类型的值转换为 targetType 时会使用它
+     *
+     * @param sourceType 源类型
+     * @param targetType 目标类型，基本类型与其包装类型等价
+     * @param converter  转换器
+     */
+    <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter);
+
+}
@@ -0,0 +1,273 @@
+package com.leisurexi.tiny.spring.beans.convert;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 默认的类型转换服务，内置字符串、数字、布尔、字符以及枚举之间的转换，可以通过
+ * {@link #addConverter(Class, Class, Converter)} 注册自定义的转换器。
+ * <p>
+ * 每一对 (源类型, 目标类型) 对应的转换器只会查找一次，之后直接从缓存中获取，
+ * 查找缓存时不会产生任何对象分配
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 11:06
+ * @since 0.0.6
+ */
+public class DefaultConversionService implements ConversionService, ConverterRegistry {
+
+    /**
+     * 基本类型和包装类型的对应关系
+     */
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPER_TYPES = new IdentityHashMap<>(8);
+
+    static {
+        PRIMITIVE_WRAPPER_TYPES.put(boolean.class, Boolean.class);
+        PRIMITIVE_WRAPPER_TYPES.put(byte.class, Byte.class);
+        PRIMITIVE_WRAPPER_TYPES.put(char.class, Character.class);
+        PRIMITIVE_WRAPPER_TYPES.put(short.class, Short.class);
+        PRIMITIVE_WRAPPER_TYPES.put(int.class, Integer.class);
+        PRIMITIVE_WRAPPER_TYPES.put(long.class, Long.class);
+        PRIMITIVE_WRAPPER_TYPES.put(float.class, Float.class);
+        PRIMITIVE_WRAPPER_TYPES.put(double.class, Double.class);
+    }
+
+    /**
+     * 找不到转换器时缓存的占位对象
+     */
+    private static final Converter<Object, Object> NO_MATCH = source -> source;
+
+    /**
+     * 注册的转换器，key 为目标类型，value 为 源类型 -> 转换器
+     */
+    private final Map<Class<?>, Map<Class<?>, Converter<Object, Object>>> converters = new ConcurrentHashMap<>(32);
+
+    /**
+     * 转换器的查找结果缓存，结构和 {@link #converters} 一样，只是源类型是实际值的类型
+     */
+    private final Map<Class<?>, Map<Class<?>, Converter<Object, Object>>> converterCache = new ConcurrentHashMap<>(32);
+
+    public DefaultConversionService() {
+        addDefaultConverters();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter) {
+        this.converters.computeIfAbsent(wrapIfPrimitive(targetType), key -> new ConcurrentHashMap<>(8))
+                .put(sourceType, (Converter<Object, Object>) converter);
+        // 新注册的转换器可能会影响已经缓存的查找结果
+        this.converterCache.clear();
+    }
+
+    @Override
+    public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+        Class<?> target = wrapIfPrimitive(targetType);
+        Class<?> source = wrapIfPrimitive(sourceType);
+        return target.isAssignableFrom(source) || getConverter(source, target) != NO_MATCH;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object source, Class<T> targetType) throws BeansException {
+        if (source == null) {
+            return null;
+        }
+        Class<?> target = wrapIfPrimitive(targetType);
+        // 已经是目标类型的实例，直接返回，不需要任何转换
+        if (target.isInstance(source)) {
+            return (T) source;
+        }
+        Converter<Object, Object> converter = getConverter(source.getClass(), target);
+        if (converter == NO_MATCH) {
+            throw new BeansException("No converter found capable of converting from type [" +
+                    source.getClass().getName() + "] to type [" + targetType.getName() + "]");
+        }
+        try {
+            return (T) converter.convert(source);
+        } catch (BeansException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BeansException("Failed to convert value [" + source + "] to type [" + targetType.getName() + "]", e);
+        }
+    }
+
+    /**
+     * 获取转换器，优先从缓存中获取
+     *
+     * @return 转换器，找不到时返回 {@link #NO_MATCH}
+     */
+    private Converter<Object, Object> getConverter(Class<?> sourceType, Class<?> targetType) {
+        Map<Class<?>, Converter<Object, Object>> cached = this.converterCache.get(targetType);
+        if (cached != null) {
+            Converter<Object, Object> converter = cached.get(sourceType);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        Converter<Object, Object> converter = findConverter(sourceType, targetType);
+        this.converterCache.computeIfAbsent(targetType, key -> new ConcurrentHashMap<>(8)).put(sourceType, converter);
+        return converter;
+    }
+
+    /**
+     * 按照源类型的继承体系由近到远查找注册的转换器
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Converter<Object, Object> findConverter(Class<?> sourceType, Class<?> targetType) {
+        Map<Class<?>, Converter<Object, Object>> candidates = this.converters.get(targetType);
+        if (candidates != null) {
+            Set<Class<?>> visited = new HashSet<>();
+            Deque<Class<?>> toVisit = new ArrayDeque<>();
+            toVisit.add(sourceType);
+            while (!toVisit.isEmpty()) {
+                Class<?> type = toVisit.poll();
+                if (!visited.add(type)) {
+                    continue;
+                }
+                Converter<Object, Object> converter = candidates.get(type);
+                if (converter != null) {
+                    return converter;
+                }
+                if (type.getSuperclass() != null) {
+                    toVisit.add(type.getSuperclass());
+                }
+                toVisit.addAll(Arrays.asList(type.getInterfaces()));
+            }
+        }
+        // 字符串转枚举，每个枚举类型单独生成一个转换器
+        if (String.class == sourceType && targetType.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) targetType;
+            return source -> Enum.valueOf(enumType, ((String) source).trim());
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * 注册内置的转换器。数字类型直接调用对应的 valueOf 方法，不会产生中间对象；
+     * 数字之间转换成整数类型时会检查范围和小数部分，不会静默溢出或者截断
+     */
+    private void addDefaultConverters() {
+        addConverter(String.class, Byte.class, source -> Byte.valueOf(source.trim()));
+        addConverter(String.class, Short.class, source -> Short.valueOf(source.trim()));
+        addConverter(String.class, Integer.class, source -> Integer.valueOf(source.trim()));
+        addConverter(String.class, Long.class, source -> Long.valueOf(source.trim()));
+        addConverter(String.class, Float.class, source -> Float.valueOf(source.trim()));
+        addConverter(String.class, Double.class, source -> Double.valueOf(source.trim()));
+        addConverter(String.class, BigInteger.class, source -> new BigInteger(source.trim()));
+        addConverter(String.class, BigDecimal.class, source -> new BigDecimal(source.trim()));
+        addConverter(String.class, Boolean.class, DefaultConversionService::parseBoolean);
+        addConverter(String.class, Character.class, DefaultConversionService::parseCharacter);
+
+        addConverter(Number.class, Byte.class, source -> (byte) toLongExact(source, Byte.class, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        addConverter(Number.class, Short.class, source -> (short) toLongExact(source, Short.class, Short.MIN_VALUE, Short.MAX_VALUE));
+        addConverter(Number.class, Integer.class, source -> (int) toLongExact(source, Integer.class, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        addConverter(Number.class, Long.class, source -> toLongExact(source, Long.class, Long.MIN_VALUE, Long.MAX_VALUE));
+        addConverter(Number.class, Float.class, source -> source.floatValue());
+        addConverter(Number.class, Double.class, source -> source.doubleValue());
+        addConverter(Number.class, BigInteger.class, DefaultConversionService::toBigInteger);
+        addConverter(Number.class, BigDecimal.class, source -> new BigDecimal(source.toString()));
+
+        addConverter(Number.class, String.class, Object::toString);
+        addConverter(Boolean.class, String.class, Object::toString);
+        addConverter(Character.class, String.class, Object::toString);
+        addEnumConverters();
+    }
+
+    /**
+     * 枚举转字符串，{@code Enum.class} 只能以原始类型的形式注册
+     */
+    @SuppressWarnings("rawtypes")
+    private void addEnumConverters() {
+        addConverter(Enum.class, String.class, Enum::name);
+    }
+
+    /**
+     * 转换成指定范围内的整数，超出范围或者带有小数部分的值会被拒绝
+     *
+     * @param targetType 目标类型，用于异常信息
+     * @param min        目标类型的最小值
+     * @param max        目标类型的最大值
+     */
+    private static long toLongExact(Number source, Class<?> targetType, long min, long max) {
+        long value;
+        if (source instanceof Long || source instanceof Integer || source instanceof Short || source instanceof Byte) {
+            value = source.longValue();
+        } else {
+            BigInteger integer = toBigInteger(source);
+            if (integer.bitLength() > 63) {
+                throw overflow(source, targetType);
+            }
+            value = integer.longValue();
+        }
+        if (value < min || value > max) {
+            throw overflow(source, targetType);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException overflow(Number source, Class<?> targetType) {
+        return new IllegalArgumentException("Could not convert number [" + source + "] of type [" +
+                source.getClass().getName() + "] to target class [" + targetType.getName() + "]: overflow");
+    }
+
+    /**
+     * 转换成 {@link BigInteger}，超出 long 范围的值保持不变，带有小数部分的值会被拒绝，不会被截断
+     */
+    private static BigInteger toBigInteger(Number source) {
+        if (source instanceof BigInteger) {
+            return (BigInteger) source;
+        }
+        if (source instanceof BigDecimal) {
+            return ((BigDecimal) source).toBigIntegerExact();
+        }
+        if (source instanceof Double || source instanceof Float) {
+            return BigDecimal.valueOf(source.doubleValue()).toBigIntegerExact();
+        }
+        if (source instanceof Long || source instanceof Integer || source instanceof Short || source instanceof Byte) {
+            return BigInteger.valueOf(source.longValue());
+        }
+        // 其它的 Number 实现通过字符串表示转换，避免 longValue 的截断
+        return new BigDecimal(source.toString()).toBigIntegerExact();
+    }
+
+    private static Boolean parseBoolean(String source) {
+        String value = source.trim().toLowerCase(Locale.ENGLISH);
+        switch (value) {
+            case "true":
+            case "on":
+            case "yes":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "off":
+            case "no":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("Invalid boolean value '" + source + "'");
+        }
+    }
+
+    private static Character parseCharacter(String source) {
+        if (source.length() != 1) {
+            throw new IllegalArgumentException("Can only convert a [String] with length of 1 to a [Character]");
+        }
+        return source.charAt(0);
+    }
+
+    /**
+     * 基本类型转换为对应的包装类型，其它类型原样返回
+     */
+    public static Class<?> wrapIfPrimitive(Class<?> type) {
+        if (type.isPrimitive()) {
+            return PRIMITIVE_WRAPPER_TYPES.get(type);
+        }
+        return type;
+    }
+
+}
@@ -15,4 +15,8 @@ public class BeansException extends RuntimeException {
         super(cause);
     }
 
+    public BeansException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
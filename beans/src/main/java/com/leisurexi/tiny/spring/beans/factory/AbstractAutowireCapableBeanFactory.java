@@ -1,7 +1,6 @@
 package com.leisurexi.tiny.spring.beans.factory;
 
 import cn.hutool.core.bean.BeanException;
-import cn.hutool.core.util.ReflectUtil;
 import com.google.common.base.Strings;
 import com.leisurexi.tiny.spring.beans.PropertyValue;
 import com.leisurexi.tiny.spring.beans.PropertyValues;
@@ -9,16 +8,30 @@ import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.config.BeanPostProcessor;
 import com.leisurexi.tiny.spring.beans.factory.config.DependencyDescriptor;
 import com.leisurexi.tiny.spring.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanCreationRecipe;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionValueResolver;
 import com.leisurexi.tiny.spring.beans.factory.support.ConstructorResolver;
+import com.leisurexi.tiny.spring.beans.factory.support.DisposableBeanAdapter;
+import com.leisurexi.tiny.spring.beans.factory.support.InstantiationStrategy;
+import com.leisurexi.tiny.spring.beans.factory.support.MethodHandleInstantiationStrategy;
+import com.leisurexi.tiny.spring.beans.factory.support.PropertyWriter;
+import com.leisurexi.tiny.spring.beans.factory.support.PropertyWriterPlan;
+import com.leisurexi.tiny.spring.beans.metrics.BeanMetrics;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.*;
 
@@ -33,13 +46,76 @@ import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.*;
 @Slf4j
 public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFactory {
 
+    /**
+     * bean 的实例化策略
+     *
+     * @since 0.0.6
+     */
+    private InstantiationStrategy instantiationStrategy = new MethodHandleInstantiationStrategy();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 初始化方法统一转换成的 MethodHandle 类型
+     *
+     * @since 0.0.6
+     */
+    private static final MethodType INIT_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /**
+     * 属性值解析器，本身没有状态，所有 bean 共用一个
+     *
+     * @since 0.0.6
+     */
+    private final BeanDefinitionValueResolver valueResolver = new BeanDefinitionValueResolver(this);
+
+    /**
+     * 属性写入器的缓存，key 为 bean 的类型，value 为 属性名 -> 写入器
+     *
+     * @since 0.0.6
+     */
+    private final Map<Class<?>, Map<String, PropertyWriter>> propertyWritersCache = new ConcurrentHashMap<>(256);
+
+    /**
+     * 构造器解析器，内部缓存了每个类型排好序的构造器，所有 bean 共用一个
+     *
+     * @since 0.0.6
+     */
+    private final ConstructorResolver constructorResolver = new ConstructorResolver(this);
+
+    /**
+     * 创建 bean，整个过程以及每个子阶段都会记录为启动步骤，成功创建的耗时会记录到运行期指标中
+     *
+     * @see #getApplicationStartup()
+     * @see #getBeanMetrics()
+     */
     @Override
     protected Object createBean(String beanName, BeanDefinition beanDefinition) throws BeansException {
-        Object bean = resolveBeforeInstantiation(beanName, beanDefinition);
-        if (bean != null) {
+        BeanMetrics metrics = getBeanMetrics();
+        long startNanos = metrics.isEnabled() ? System.nanoTime() : 0L;
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        StartupStep createStep = getApplicationStartup().start("beans.create")
+                .tag("beanName", beanName)
+                .tag("beanClass", beanClass != null ? beanClass.getName() : null)
+                .tag("scope", beanDefinition.getScope());
+        try {
+            Object bean;
+            StartupStep step = startBeanStep("beans.create.before-instantiation", beanName);
+            try {
+                bean = resolveBeforeInstantiation(beanName, beanDefinition);
+            } finally {
+                step.end();
+            }
+            if (bean == null) {
+                bean = doCreateBean(beanName, beanDefinition);
+            }
+            if (metrics.isEnabled()) {
+                metrics.beanCreated(beanName, System.nanoTime() - startNanos);
+            }
             return bean;
+        } finally {
+            createStep.end();
         }
-        return doCreateBean(beanName, beanDefinition);
     }
 
     /**
@@ -52,20 +128,52 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     protected Object doCreateBean(String beanName, BeanDefinition beanDefinition) {
         // 创建 bean 的实例阶段
-        Object bean = createBeanInstance(beanName, beanDefinition);
+        Object bean;
+        StartupStep step = startBeanStep("beans.create.instantiate", beanName);
+        try {
+            bean = createBeanInstance(beanName, beanDefinition);
+        } finally {
+            step.end();
+        }
         // 是否要提前曝光 bean
         boolean earlySingletonExposure = beanDefinition.isSingleton();
         if (earlySingletonExposure) {
             addSingletonFactory(beanName, () -> bean);
         }
         // 属性填充阶段
-        populateBean(beanName, bean, beanDefinition);
+        step = startBeanStep("beans.create.populate", beanName);
+        try {
+            populateBean(beanName, bean, beanDefinition);
+        } finally {
+            step.end();
+        }
         Object exposedObject = bean;
         // 初始化 bean 阶段
-        initializeBean(beanName, exposedObject, beanDefinition);
+        step = startBeanStep("beans.create.initialize", beanName);
+        try {
+            initializeBean(beanName, exposedObject, beanDefinition);
+        } finally {
+            step.end();
+        }
+        // 初始化完成后登记销毁回调，初始化失败的 bean 不会被销毁
+        registerDisposableBeanIfNecessary(beanName, bean, beanDefinition);
         return bean;
     }
 
+    /**
+     * 如果单例 bean 实现了 {@link DisposableBean} 接口或者指定了 destroy-method，登记它的销毁回调
+     *
+     * @param beanName       bean 的名称
+     * @param bean           bean 的实例
+     * @param beanDefinition bean 的定义元信息
+     * @since 0.0.6
+     */
+    protected void registerDisposableBeanIfNecessary(String beanName, Object bean, BeanDefinition beanDefinition) {
+        if (beanDefinition.isSingleton() && DisposableBeanAdapter.hasDestroyMethod(bean, beanDefinition)) {
+            registerDisposableBean(beanName, new DisposableBeanAdapter(beanName, bean, beanDefinition));
+        }
+    }
+
     /**
      * 初始化 bean
      *
@@ -129,6 +237,26 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
     protected void invokeCustomInitMethod(String beanName, Object bean, BeanDefinition beanDefinition) {
         String initMethodName = beanDefinition.getInitMethodName();
         Class<?> clazz = bean.getClass();
+        // 初始化方法只查找一次，之后从创建配方中获取
+        BeanCreationRecipe recipe = beanDefinition.obtainCreationRecipe();
+        BeanCreationRecipe.InitMethod initMethod = recipe.getInitMethod();
+        if (initMethod == null || !initMethod.matches(initMethodName, clazz)) {
+            initMethod = resolveInitMethod(beanName, initMethodName, clazz);
+            recipe.setInitMethod(initMethod);
+        }
+        try {
+            initMethod.invoke(bean);
+        } catch (Throwable e) {
+            throw new BeanException(e);
+        }
+    }
+
+    /**
+     * 查找初始化方法并转换为 {@code (Object) -> void} 形式的 MethodHandle
+     *
+     * @since 0.0.6
+     */
+    private BeanCreationRecipe.InitMethod resolveInitMethod(String beanName, String initMethodName, Class<?> clazz) {
         Method method = null;
         Method[] methods = clazz.getDeclaredMethods();
         for (Method m : methods) {
@@ -141,7 +269,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         }
         method.setAccessible(true);
         try {
-            method.invoke(bean, new Object[0]);
+            MethodHandle handle = LOOKUP.unreflect(method).asType(INIT_METHOD_TYPE);
+            return new BeanCreationRecipe.InitMethod(initMethodName, clazz, handle);
         } catch (Exception e) {
             throw new BeanException(e);
         }
@@ -163,7 +292,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         if (beanDefinition.hasConstructorArgumentValues() || beanDefinition.getAutowireMode() == AUTOWIRE_CONSTRUCTOR) {
             return autowireConstructor(beanName, beanDefinition);
         }
-        return instantiateBean(beanDefinition);
+        return instantiateBean(beanName, beanDefinition);
     }
 
     /**
@@ -174,27 +303,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @return bean 的实例
      */
     private Object instantiateUsingFactoryMethod(String beanName, BeanDefinition beanDefinition) {
-        return new ConstructorResolver(this).instantiateUsingFactoryMethod(beanName, beanDefinition);
+        return this.constructorResolver.instantiateUsingFactoryMethod(beanName, beanDefinition);
     }
 
     /**
      * 使用默认构造函数实例化 bean
      *
+     * @param beanName       bean 的名称
      * @param beanDefinition bean 定义元信息
      * @return bean 实例
      * @since 0.0.3
      */
-    private Object instantiateBean(BeanDefinition beanDefinition) {
-        Class<?> clazz = beanDefinition.getBeanClass();
-        if (clazz.isInterface()) {
-            throw new BeansException("Specified class is an interface");
-        }
-        try {
-            Constructor<?> constructor = clazz.getDeclaredConstructor();
-            return constructor.newInstance();
-        } catch (Exception e) {
-            throw new BeansException("No default constructor found");
-        }
+    private Object instantiateBean(String beanName, BeanDefinition beanDefinition) {
+        return getInstantiationStrategy().instantiate(beanDefinition, beanName);
     }
 
     /**
@@ -206,7 +327,26 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @since 0.0.3
      */
     private Object autowireConstructor(String beanName, BeanDefinition beanDefinition) {
-        return new ConstructorResolver(this).autowireConstructor(beanName, beanDefinition);
+        return this.constructorResolver.autowireConstructor(beanName, beanDefinition);
+    }
+
+    /**
+     * 设置 bean 的实例化策略
+     *
+     * @param instantiationStrategy 实例化策略
+     * @since 0.0.6
+     */
+    public void setInstantiationStrategy(InstantiationStrategy instantiationStrategy) {
+        this.instantiationStrategy = instantiationStrategy;
+    }
+
+    /**
+     * 返回 bean 的实例化策略
+     *
+     * @since 0.0.6
+     */
+    public InstantiationStrategy getInstantiationStrategy() {
+        return this.instantiationStrategy;
     }
 
     /**
@@ -225,62 +365,124 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
             if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
                 InstantiationAwareBeanPostProcessor bp = (InstantiationAwareBeanPostProcessor) beanPostProcessor;
                 // 如果 bean 的实例化后回调方法返回 false，直接跳过下面的属性赋值阶段
-                if (!bp.postProcessAfterInstantiation(bean, beanName)) {
+                StartupStep step = startPostProcessorStep("after-instantiation", beanName, bp);
+                boolean continueWithPropertyPopulation;
+                try {
+                    continueWithPropertyPopulation = bp.postProcessAfterInstantiation(bean, beanName);
+                } finally {
+                    step.end();
+                }
+                if (!continueWithPropertyPopulation) {
                     return;
                 }
             }
         }
 
         PropertyValues propertyValues = beanDefinition.getPropertyValues();
+        // 自动注入的属性值单独存放，不能修改 bean 定义中的属性值，否则原型 bean 会一直使用第一次注入的值
+        PropertyValues autowiredValues = null;
         int autowireMode = beanDefinition.getAutowireMode();
-        // 按照名字自动注入
-        if (autowireMode == AUTOWIRE_BY_NAME) {
-            autowireByName(beanName, bean, propertyValues);
-        }
-        // 按照类型自动注入
-        if (autowireMode == AUTOWIRE_BY_TYPE) {
-            autowireByType(beanName, bean, propertyValues);
+        if (autowireMode == AUTOWIRE_BY_NAME || autowireMode == AUTOWIRE_BY_TYPE) {
+            autowiredValues = new PropertyValues();
+            BeanCreationRecipe.AutowirePlan autowirePlan = obtainAutowirePlan(bean, beanDefinition);
+            // 按照名字自动注入
+            if (autowireMode == AUTOWIRE_BY_NAME) {
+                autowireByName(beanName, autowirePlan, autowiredValues);
+            }
+            // 按照类型自动注入
+            if (autowireMode == AUTOWIRE_BY_TYPE) {
+                autowireByType(beanName, autowirePlan, autowiredValues);
+            }
+            if (!autowiredValues.getPropertyValues().isEmpty()) {
+                propertyValues = new PropertyValues(propertyValues);
+                autowiredValues.forEach(propertyValues::addPropertyValues);
+            }
         }
+        PropertyValues mergedValues = propertyValues;
 
         for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
             if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
                 InstantiationAwareBeanPostProcessor bp = (InstantiationAwareBeanPostProcessor) beanPostProcessor;
-                // 如果 bean 的属性后置处理方法返回非空，则直接使用返回的值，否则直接跳过下面的属性赋值阶段
-                PropertyValues pvsToUse = bp.postProcessProperties(propertyValues, bean, beanName);
-                if (propertyValues == null) {
-                    return;
+                // 如果 bean 的属性后置处理方法返回非空，则使用返回的值替换，否则继续使用现有的属性值
+                PropertyValues pvsToUse;
+                StartupStep step = startPostProcessorStep("properties", beanName, bp);
+                try {
+                    pvsToUse = bp.postProcessProperties(propertyValues, bean, beanName);
+                } finally {
+                    step.end();
+                }
+                if (pvsToUse != null) {
+                    propertyValues = pvsToUse;
                 }
-                propertyValues = pvsToUse;
             }
         }
 
         // 真正进行 bean 属性赋值的方法
-        applyPropertyValues(bean, propertyValues);
+        if (propertyValues == mergedValues && propertyValues != beanDefinition.getPropertyValues()) {
+            // 后置处理器没有替换属性值，bean 定义中的属性值使用缓存的写入计划，自动注入的属性值单独写入
+            applyPropertyValues(bean, beanDefinition, beanDefinition.getPropertyValues());
+            applyPropertyValues(bean, autowiredValues);
+        } else {
+            applyPropertyValues(bean, beanDefinition, propertyValues);
+        }
     }
 
     /**
-     * 根据类型自动注入属性，首先找类型匹配的 bean 如果有多个再匹配名称
+     * 获取自动注入的属性，bean 的类型和 bean 定义中的类型一致时缓存在创建配方中
      *
-     * @sine 0.0.3
+     * @param bean           bean 的实例
+     * @param beanDefinition bean 的定义元信息
+     * @since 0.0.6
      */
-    private void autowireByType(String beanName, Object bean, PropertyValues propertyValues) {
+    private BeanCreationRecipe.AutowirePlan obtainAutowirePlan(Object bean, BeanDefinition beanDefinition) {
+        BeanCreationRecipe recipe = beanDefinition.obtainCreationRecipe();
+        boolean cacheable = bean.getClass() == recipe.getBeanClass();
+        BeanCreationRecipe.AutowirePlan autowirePlan = recipe.getAutowirePlan();
+        if (cacheable && autowirePlan != null && autowirePlan.getAutowireMode() == beanDefinition.getAutowireMode()) {
+            return autowirePlan;
+        }
         // 获取需要依赖注入的属性名称
-        Set<String> propertyNames = unsatisfiedNonSimpleProperties(propertyValues, bean);
+        Set<String> propertyNames = unsatisfiedNonSimpleProperties(beanDefinition.getPropertyValues(), bean);
+        List<String> names = new ArrayList<>(propertyNames.size());
+        List<DependencyDescriptor> descriptors = new ArrayList<>(propertyNames.size());
         for (String propertyName : propertyNames) {
-            try {
-                Field field = bean.getClass().getDeclaredField(propertyName);
-                // 根据类型注入永远不要注入 Object 类型，你细细地品一下
-                if (Object.class != field.getType()) {
-                    // bean 的定义存在，就调用 getBean() 去获取实例，否则 bean 没有定义抛出异常
-                    if (getBeanDefinition(propertyName) != null) {
-                        DependencyDescriptor descriptor = new DependencyDescriptor(bean.getClass(), field.getType(), propertyName);
-                        propertyValues.addPropertyValues(new PropertyValue(propertyName, resolveDependency(descriptor, beanName)));
-                    } else {
-                        log.error("Not autowiring property '{}' of bean '{}' by type: no matching bean found", propertyName, beanName);
+            if (beanDefinition.getAutowireMode() == AUTOWIRE_BY_TYPE) {
+                try {
+                    Field field = bean.getClass().getDeclaredField(propertyName);
+                    // 根据类型注入永远不要注入 Object 类型，你细细地品一下
+                    if (Object.class == field.getType()) {
+                        continue;
                     }
+                    descriptors.add(new DependencyDescriptor(bean.getClass(), field.getType(), propertyName));
+                } catch (Exception e) {
+                    throw new BeanException(e);
                 }
-            } catch (Exception e) {
-                throw new BeanException(e);
+            }
+            names.add(propertyName);
+        }
+        autowirePlan = new BeanCreationRecipe.AutowirePlan(beanDefinition.getAutowireMode(), names.toArray(new String[0]),
+                beanDefinition.getAutowireMode() == AUTOWIRE_BY_TYPE ? descriptors.toArray(new DependencyDescriptor[0]) : null);
+        if (cacheable) {
+            recipe.setAutowirePlan(autowirePlan);
+        }
+        return autowirePlan;
+    }
+
+    /**
+     * 根据类型自动注入属性，首先找类型匹配的 bean 如果有多个再匹配名称
+     *
+     * @sine 0.0.3
+     */
+    private void autowireByType(String beanName, BeanCreationRecipe.AutowirePlan autowirePlan, PropertyValues propertyValues) {
+        String[] propertyNames = autowirePlan.getPropertyNames();
+        DependencyDescriptor[] descriptors = autowirePlan.getDescriptors();
+        for (int i = 0; i < propertyNames.length; i++) {
+            String propertyName = propertyNames[i];
+            // bean 的定义存在，就调用 getBean() 去获取实例，否则 bean 没有定义抛出异常
+            if (getBeanDefinition(propertyName) != null) {
+                propertyValues.addPropertyValues(new PropertyValue(propertyName, resolveDependency(descriptors[i], beanName)));
+            } else {
+                log.error("Not autowiring property '{}' of bean '{}' by type: no matching bean found", propertyName, beanName);
             }
         }
     }
@@ -290,10 +492,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      *
      * @sine 0.0.3
      */
-    private void autowireByName(String beanName, Object bean, PropertyValues propertyValues) {
-        // 获取需要依赖注入的属性名称
-        Set<String> propertyNames = unsatisfiedNonSimpleProperties(propertyValues, bean);
-        for (String propertyName : propertyNames) {
+    private void autowireByName(String beanName, BeanCreationRecipe.AutowirePlan autowirePlan, PropertyValues propertyValues) {
+        for (String propertyName : autowirePlan.getPropertyNames()) {
             // bean 的定义存在，就调用 getBean() 去获取实例，否则 bean 没有定义抛出异常
             if (getBeanDefinition(propertyName) != null) {
                 propertyValues.addPropertyValues(new PropertyValue(propertyName, getBean(propertyName)));
@@ -330,8 +530,62 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @throws BeansException
      */
     protected void applyPropertyValues(Object bean, PropertyValues propertyValues) throws BeansException {
-        BeanDefinitionValueResolver valueResolver = new BeanDefinitionValueResolver(this);
-        propertyValues.forEach(propertyValue -> ReflectUtil.setFieldValue(bean, propertyValue.getName(), valueResolver.resolveValueIfNecessary(propertyValue.getName(), propertyValue.getValue())));
+        PropertyWriterPlan.build(bean.getClass(), propertyValues, this::getPropertyWriter, getConversionService())
+                .apply(bean, this.valueResolver, getConversionService());
+    }
+
+    /**
+     * 给 bean 的属性赋值，属性值是 bean 定义中的属性值时使用缓存在 bean 定义中的写入计划
+     *
+     * @param bean           目标 bean
+     * @param beanDefinition bean 的定义元信息
+     * @param propertyValues 多个属性值
+     * @throws BeansException
+     * @since 0.0.6
+     */
+    protected void applyPropertyValues(Object bean, BeanDefinition beanDefinition, PropertyValues propertyValues) throws BeansException {
+        if (propertyValues.getPropertyValues().isEmpty()) {
+            return;
+        }
+        Class<?> beanClass = bean.getClass();
+        PropertyWriterPlan plan = beanDefinition.getPropertyWriterPlan();
+        if (plan == null || !plan.matches(beanClass, propertyValues)) {
+            plan = PropertyWriterPlan.build(beanClass, propertyValues, this::getPropertyWriter, getConversionService());
+            // 只缓存 bean 定义自身的属性值对应的计划，后置处理器返回的属性值每次都可能不同
+            if (propertyValues == beanDefinition.getPropertyValues()) {
+                beanDefinition.setPropertyWriterPlan(plan);
+            }
+        }
+        plan.apply(bean, this.valueResolver, getConversionService());
+    }
+
+    /**
+     * 返回属性值解析器
+     *
+     * @since 0.0.6
+     */
+    public BeanDefinitionValueResolver getValueResolver() {
+        return this.valueResolver;
+    }
+
+    /**
+     * 获取属性写入器，每个类型的每个属性只解析一次
+     *
+     * @param beanClass    bean 的类型
+     * @param propertyName 属性名称
+     * @since 0.0.6
+     */
+    protected PropertyWriter getPropertyWriter(Class<?> beanClass, String propertyName) {
+        Map<String, PropertyWriter> writers = this.propertyWritersCache.get(beanClass);
+        if (writers == null) {
+            writers = this.propertyWritersCache.computeIfAbsent(beanClass, key -> new ConcurrentHashMap<>(8));
+        }
+        PropertyWriter writer = writers.get(propertyName);
+        if (writer == null) {
+            writer = PropertyWriter.forProperty(beanClass, propertyName);
+            writers.putIfAbsent(propertyName, writer);
+        }
+        return writer;
     }
 
     /**
@@ -363,7 +617,13 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
             if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
                 InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) beanPostProcessor;
-                Object result = ibp.postProcessBeforeInstantiation(beanClass, beanName);
+                Object result;
+                StartupStep step = startPostProcessorStep("before-instantiation", beanName, ibp);
+                try {
+                    result = ibp.postProcessBeforeInstantiation(beanClass, beanName);
+                } finally {
+                    step.end();
+                }
                 log.debug("[{}] 执行实例化前回调，返回: [{}]", beanName, result);
                 if (result != null) {
                     return result;
@@ -384,7 +644,13 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
     protected Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName) {
         Object result = existingBean;
         for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            Object current = beanPostProcessor.postProcessAfterInitialization(result, beanName);
+            Object current;
+            StartupStep step = startPostProcessorStep("before-initialization", beanName, beanPostProcessor);
+            try {
+                current = beanPostProcessor.postProcessAfterInitialization(result, beanName);
+            } finally {
+                step.end();
+            }
             log.debug("[{}] 执行初始化前回调，返回: [{}]", beanName, current);
             if (current == null) {
                 return result;
@@ -405,7 +671,13 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
     protected Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) {
         Object result = existingBean;
         for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            Object current = beanPostProcessor.postProcessAfterInitialization(result, beanName);
+            Object current;
+            StartupStep step = startPostProcessorStep("after-initialization", beanName, beanPostProcessor);
+            try {
+                current = beanPostProcessor.postProcessAfterInitialization(result, beanName);
+            } finally {
+                step.end();
+            }
             log.debug("[{}] 执行初始化后回调，返回: [{}]", beanName, current);
             if (current == null) {
                 return result;
@@ -415,6 +687,27 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         return result;
     }
 
+    /**
+     * 开始 bean 创建的一个子阶段
+     */
+    private StartupStep startBeanStep(String name, String beanName) {
+        return getApplicationStartup().start(name).tag("beanName", beanName);
+    }
+
+    /**
+     * 开始一次后置处理器的调用
+     *
+     * @param phase         调用的阶段，比如 {@code before-instantiation}
+     * @param beanName      bean 的名称
+     * @param postProcessor 调用的后置处理器
+     */
+    private StartupStep startPostProcessorStep(String phase, String beanName, BeanPostProcessor postProcessor) {
+        return getApplicationStartup().start("beans.post-process")
+                .tag("phase", phase)
+                .tag("beanName", beanName)
+                .tag("postProcessor", postProcessor.getClass().getName());
+    }
+
     /**
      * 解决指定 bean 的依赖关系
      *
@@ -425,4 +718,14 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     public abstract Object resolveDependency(DependencyDescriptor descriptor, String requestingBeanName);
 
+    /**
+     * 判断依赖能否被解决，只查询 bean 的定义，不会创建任何实例
+     *
+     * @param descriptor         依赖描述符
+     * @param requestingBeanName 需要解决依赖的 bean 名称
+     * @return 能找到唯一的候选 bean 时返回 {@code true}
+     * @since 0.0.6
+     */
+    public abstract boolean canResolveDependency(DependencyDescriptor descriptor, String requestingBeanName);
+
 }
@@ -1,17 +1,24 @@
 package com.leisurexi.tiny.spring.beans.factory;
 
-import cn.hutool.core.convert.Convert;
+import com.leisurexi.tiny.spring.beans.convert.ConversionService;
+import com.leisurexi.tiny.spring.beans.convert.DefaultConversionService;
 import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.config.BeanPostProcessor;
 import com.leisurexi.tiny.spring.beans.factory.config.Scope;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.beans.metrics.ApplicationStartup;
+import com.leisurexi.tiny.spring.beans.metrics.BeanMetrics;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.SCOPE_PROTOTYPE;
 import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.SCOPE_SINGLETON;
@@ -39,6 +46,76 @@ public abstract class AbstractBeanFactory implements BeanFactory {
      */
     protected final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(256);
 
+    /**
+     * 创建单例 bean 时使用的锁，每个 bean 名称一把，创建不同的 bean 时互不阻塞
+     *
+     * @since 0.0.6
+     */
+    private final Map<String, ReentrantLock> singletonLocks = new ConcurrentHashMap<>(64);
+
+    /**
+     * 正在创建中的单例 bean，key 为 bean 的名称，value 为负责创建的线程
+     *
+     * @since 0.0.6
+     */
+    private final Map<String, Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>(16);
+
+    /**
+     * 正在等待其它线程创建单例 bean 的线程，key 为等待的线程，value 为等待的 bean 名称，
+     * 用来检测线程之间的循环等待
+     *
+     * @since 0.0.6
+     */
+    private final Map<Thread, String> threadsAwaitingSingleton = new ConcurrentHashMap<>(16);
+
+    /**
+     * 需要在容器关闭时销毁的单例 bean，key 为 bean 的名称，value 为销毁回调
+     *
+     * @since 0.0.6
+     */
+    private final Map<String, DisposableBean> disposableBeans = new ConcurrentHashMap<>(64);
+
+    /**
+     * 单例 bean 创建过程中实际获取过的 bean，key 为 bean 的名称，value 为它依赖的 bean 名称。
+     * 销毁时依赖方总是先于被依赖方销毁
+     *
+     * @since 0.0.6
+     */
+    private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
+
+    /**
+     * 当前线程正在创建的单例 bean 名称，用来记录 bean 之间的依赖
+     *
+     * @since 0.0.6
+     */
+    private final ThreadLocal<String> currentlyCreatedSingleton = new ThreadLocal<>();
+
+    /**
+     * 等待单例 bean 创建锁时，每隔多少毫秒检查一次是否出现了线程间的循环等待
+     */
+    private static final long SINGLETON_LOCK_CHECK_INTERVAL_MILLIS = 20;
+
+    /**
+     * 类型转换服务，依赖查找、构造器参数以及属性赋值时使用
+     *
+     * @since 0.0.6
+     */
+    private volatile ConversionService conversionService = new DefaultConversionService();
+
+    /**
+     * 记录 bean 创建各个阶段的耗时，默认什么也不记录
+     *
+     * @since 0.0.6
+     */
+    private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    /**
+     * 记录 getBean 调用次数和 bean 创建耗时等运行期指标，默认什么也不记录，运行期间可以随时切换
+     *
+     * @since 0.0.6
+     */
+    private volatile BeanMetrics beanMetrics = BeanMetrics.NOOP;
+
     /**
      * 自定义作用域保存容器
      */
@@ -67,23 +144,33 @@ public abstract class AbstractBeanFactory implements BeanFactory {
      * @since 0.0.2
      */
     private <T> T doGetBean(String beanName, Class<T> requiredType) {
+        // 快速路径：已经完全初始化好的单例 bean 只需要一次 Map 查找和一次指标记录，
+        // 不查找 bean 定义、不打印日志，也不产生任何对象分配；没有开启指标时记录是空方法
+        BeanMetrics metrics = this.beanMetrics;
+        Object sharedInstance = this.singletonObjects.get(beanName);
+        if (sharedInstance != null) {
+            metrics.singletonCacheHit(beanName);
+            return adaptBeanInstance(sharedInstance, requiredType);
+        }
+
         BeanDefinition beanDefinition = getBeanDefinition(beanName);
         if (beanDefinition == null) {
             throw new BeansException("no such bean definition for " + beanName);
         }
         Object bean = getSingleton(beanName);
-        // 判断单例缓存中是否存在需要获取的 bean
+        // 判断单例缓存中是否存在需要获取的 bean，走到这里说明命中的是提前曝光的 bean
         if (bean != null) {
-            log.debug("hit singleton cache, beanName: [{}]", beanName);
+            log.debug("hit early singleton cache, beanName: [{}]", beanName);
+            metrics.singletonCacheHit(beanName);
         } else {
             if (beanDefinition.isSingleton()) {
-                // 单例作用域，创建完实例缓存起来
-                bean = createBean(beanName, beanDefinition);
-                // 添加单例 bean 到缓存中
-                addSingleton(beanName, bean);
+                // 单例作用域，同一个 bean 只会被一个线程创建，创建完实例缓存起来
+                metrics.singletonCacheMiss(beanName);
+                bean = getSingleton(beanName, () -> createBean(beanName, beanDefinition));
             } else if (beanDefinition.isPrototype()) {
                 // 原型作用域，每次新创建一个实例
                 bean = createBean(beanName, beanDefinition);
+                metrics.prototypeCreated(beanName);
             } else {
                 // 自定义作用域
                 String scopeName = beanDefinition.getScope();
@@ -91,17 +178,28 @@ public abstract class AbstractBeanFactory implements BeanFactory {
                 if (scope == null) {
                     throw new IllegalStateException("No Scope registered for scope name '" + scopeName + "'");
                 }
+                metrics.scopedLookup(beanName, scopeName);
                 bean = scope.get(scopeName, () -> createBean(beanName, beanDefinition));
             }
         }
+        return adaptBeanInstance(bean, requiredType);
+    }
 
-        // 需要 bean 的类型不为空，进行类型转换
-        if (requiredType != null) {
-            // 通过第三方工具类进行类型转换，失败会抛出异常
-            T convertBean = Convert.convert(requiredType, bean);
-            return convertBean;
+    /**
+     * 将 bean 实例适配成需要的类型，bean 本身就是该类型的实例时直接返回
+     *
+     * @param bean         bean 的实例
+     * @param requiredType 需要的类型，可能为 {@code null}
+     * @return 适配后的 bean 实例
+     * @since 0.0.6
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T adaptBeanInstance(Object bean, Class<T> requiredType) {
+        if (requiredType == null || requiredType.isInstance(bean)) {
+            return (T) bean;
         }
-        return (T) bean;
+        // 通过类型转换服务进行转换，失败会抛出异常
+        return this.conversionService.convert(bean, requiredType);
     }
 
     /**
@@ -122,6 +220,74 @@ public abstract class AbstractBeanFactory implements BeanFactory {
         }
     }
 
+    /**
+     * 设置类型转换服务
+     *
+     * @param conversionService 类型转换服务
+     * @since 0.0.6
+     */
+    public void setConversionService(ConversionService conversionService) {
+        if (conversionService == null) {
+            throw new IllegalArgumentException("ConversionService must not be null");
+        }
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * 返回类型转换服务
+     *
+     * @since 0.0.6
+     */
+    public ConversionService getConversionService() {
+        return this.conversionService;
+    }
+
+    /**
+     * 设置记录启动步骤的 {@link ApplicationStartup}
+     *
+     * @param applicationStartup 启动步骤记录器
+     * @since 0.0.6
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        if (applicationStartup == null) {
+            throw new IllegalArgumentException("ApplicationStartup must not be null");
+        }
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * 返回记录启动步骤的 {@link ApplicationStartup}
+     *
+     * @since 0.0.6
+     */
+    public ApplicationStartup getApplicationStartup() {
+        return this.applicationStartup;
+    }
+
+    /**
+     * 设置记录运行期指标的 {@link BeanMetrics}，运行期间可以随时切换，
+     * 设置为 {@link BeanMetrics#NOOP} 即停止记录
+     *
+     * @param beanMetrics 指标记录器
+     * @see com.leisurexi.tiny.spring.beans.metrics.BeanMetricsRegistry
+     * @since 0.0.6
+     */
+    public void setBeanMetrics(BeanMetrics beanMetrics) {
+        if (beanMetrics == null) {
+            throw new IllegalArgumentException("BeanMetrics must not be null");
+        }
+        this.beanMetrics = beanMetrics;
+    }
+
+    /**
+     * 返回记录运行期指标的 {@link BeanMetrics}
+     *
+     * @since 0.0.6
+     */
+    public BeanMetrics getBeanMetrics() {
+        return this.beanMetrics;
+    }
+
     /**
      * 添加 bean 的扩展接口
      *
@@ -140,14 +306,15 @@ public abstract class AbstractBeanFactory implements BeanFactory {
     }
 
     /**
-     * 获取单例 bean 的缓存
+     * 获取单例 bean 的缓存，提前曝光的 bean 只对正在创建它的线程可见，
+     * 其它线程不会拿到还没有初始化完成的 bean
      *
      * @param beanName
      * @return
      */
     protected Object getSingleton(String beanName) {
         Object singletonObject = singletonObjects.get(beanName);
-        if (singletonObject == null) {
+        if (singletonObject == null && this.singletonsCurrentlyInCreation.get(beanName) == Thread.currentThread()) {
             ObjectFactory<?> singletonFactory = singletonFactories.get(beanName);
             if (singletonFactory != null) {
                 singletonObject = singletonFactory.getObject();
@@ -156,6 +323,110 @@ public abstract class AbstractBeanFactory implements BeanFactory {
         return singletonObject;
     }
 
+    /**
+     * 获取单例 bean，不存在时使用给定的工厂创建并缓存。
+     * 并发获取同一个 bean 时，只有第一个线程会去创建，其它线程等待创建结果
+     *
+     * @param beanName         bean 的名称
+     * @param singletonFactory 创建单例 bean 的工厂
+     * @return 单例 bean 的实例
+     * @since 0.0.6
+     */
+    protected Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+        ReentrantLock lock = this.singletonLocks.computeIfAbsent(beanName, name -> new ReentrantLock());
+        Object earlySingletonReference = acquireSingletonLock(beanName, lock);
+        if (earlySingletonReference != null) {
+            return earlySingletonReference;
+        }
+        try {
+            // 拿到锁后再检查一次，可能其它线程已经创建完成了
+            Object singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject != null) {
+                return singletonObject;
+            }
+            if (this.singletonsCurrentlyInCreation.putIfAbsent(beanName, Thread.currentThread()) != null) {
+                // 同一个线程重复创建，并且没有提前曝光的 bean 可用，比如构造器循环依赖
+                throw new BeansException("Requested bean '" + beanName + "' is currently in creation: Is there an unresolvable circular reference?");
+            }
+            boolean created = false;
+            String outerSingleton = this.currentlyCreatedSingleton.get();
+            this.currentlyCreatedSingleton.set(beanName);
+            try {
+                singletonObject = singletonFactory.getObject();
+                addSingleton(beanName, singletonObject);
+                created = true;
+            } finally {
+                if (!created) {
+                    this.singletonFactories.remove(beanName);
+                }
+                this.singletonsCurrentlyInCreation.remove(beanName);
+                if (outerSingleton != null) {
+                    this.currentlyCreatedSingleton.set(outerSingleton);
+                } else {
+                    this.currentlyCreatedSingleton.remove();
+                }
+            }
+            // 单例已经放入缓存，之后的调用都会走快速路径，这把锁不再需要
+            this.singletonLocks.remove(beanName, lock);
+            return singletonObject;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取单例 bean 的创建锁。如果创建该 bean 的线程正在直接或间接地等待当前线程，
+     * 说明这是跨线程的循环依赖，此时不再等待而是返回提前曝光的 bean
+     *
+     * @param beanName bean 的名称
+     * @param lock     该 bean 的创建锁
+     * @return 提前曝光的 bean，正常获取到锁时返回 {@code null}
+     * @since 0.0.6
+     */
+    private Object acquireSingletonLock(String beanName, ReentrantLock lock) {
+        if (lock.tryLock()) {
+            return null;
+        }
+        Thread currentThread = Thread.currentThread();
+        this.threadsAwaitingSingleton.put(currentThread, beanName);
+        try {
+            while (!lock.tryLock(SINGLETON_LOCK_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (isCircularWait(beanName, currentThread)) {
+                    ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+                    if (singletonFactory == null) {
+                        throw new BeansException("Requested bean '" + beanName + "' is currently in creation by another thread: Is there an unresolvable circular reference?");
+                    }
+                    return singletonFactory.getObject();
+                }
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BeansException("Interrupted while waiting for singleton bean '" + beanName + "'");
+        } finally {
+            this.threadsAwaitingSingleton.remove(currentThread);
+        }
+    }
+
+    /**
+     * 沿着 "创建线程 -> 等待的 bean -> 创建线程" 的链路查找，判断是否又回到了当前线程
+     */
+    private boolean isCircularWait(String beanName, Thread currentThread) {
+        Thread owner = this.singletonsCurrentlyInCreation.get(beanName);
+        // 链路长度不会超过正在等待的线程数，防止其它线程之间的循环导致死循环
+        int maxHops = this.threadsAwaitingSingleton.size() + 1;
+        for (int i = 0; owner != null && i < maxHops; i++) {
+            if (owner == currentThread) {
+                return true;
+            }
+            String awaitedBeanName = this.threadsAwaitingSingleton.get(owner);
+            if (awaitedBeanName == null) {
+                return false;
+            }
+            owner = this.singletonsCurrentlyInCreation.get(awaitedBeanName);
+        }
+        return false;
+    }
 
     /**
      * 将给定的单例对象添加到该工厂的单例缓存中
@@ -164,15 +435,23 @@ public abstract class AbstractBeanFactory implements BeanFactory {
      * @param singletonFactory 单例对象
      */
     protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
-        synchronized (this.singletonObjects) {
-            // 如果已经初始化完成的单例 bean 缓存中不存在，则添加 singletonFactory
-            // 到单例工厂缓存中
-            if (!this.singletonObjects.containsKey(beanName)) {
-                this.singletonFactories.put(beanName, singletonFactory);
-            }
+        // 调用方持有该 bean 的创建锁，不需要再对整个单例缓存加锁；
+        // 如果已经初始化完成的单例 bean 缓存中不存在，则添加 singletonFactory 到单例工厂缓存中
+        if (!this.singletonObjects.containsKey(beanName)) {
+            this.singletonFactories.put(beanName, singletonFactory);
         }
     }
 
+    /**
+     * 单例 bean 是否已经创建完成
+     *
+     * @param beanName bean 的名称
+     * @since 0.0.6
+     */
+    public boolean containsSingleton(String beanName) {
+        return this.singletonObjects.containsKey(beanName);
+    }
+
     /**
      * 将给定的单例对象添加到缓存中
      *
@@ -180,14 +459,88 @@ public abstract class AbstractBeanFactory implements BeanFactory {
      * @param singletonObject 单例对象
      */
     protected void addSingleton(String beanName, Object singletonObject) {
-        synchronized (this.singletonObjects) {
-            // 将 bean 实例缓存起来
-            this.singletonObjects.put(beanName, singletonObject);
-            // 移除 bean 的工厂
-            this.singletonFactories.remove(beanName);
+        // 先将 bean 实例缓存起来再移除 bean 的工厂，其它线程任何时刻都至少能看到其中一个
+        this.singletonObjects.put(beanName, singletonObject);
+        this.singletonFactories.remove(beanName);
+    }
+
+    /**
+     * 记录当前线程正在创建的单例 bean 依赖了给定的 bean，由解析 bean 引用和自动注入的地方调用，
+     * 不在 {@link #getBean(String)} 中记录，已经创建好的单例仍然只需要一次 Map 查找
+     *
+     * @param beanName 被依赖的 bean 名称
+     * @since 0.0.6
+     */
+    public void registerDependency(String beanName) {
+        String dependentBeanName = this.currentlyCreatedSingleton.get();
+        if (dependentBeanName != null && !dependentBeanName.equals(beanName)) {
+            this.dependenciesForBeanMap.computeIfAbsent(dependentBeanName, name -> ConcurrentHashMap.newKeySet()).add(beanName);
         }
     }
 
+    /**
+     * 返回单例 bean 创建过程中获取过的 bean 名称
+     *
+     * @param beanName bean 的名称
+     * @since 0.0.6
+     */
+    public Set<String> getDependenciesForBean(String beanName) {
+        Set<String> dependencies = this.dependenciesForBeanMap.get(beanName);
+        return dependencies != null ? Collections.unmodifiableSet(dependencies) : Collections.emptySet();
+    }
+
+    /**
+     * 注册单例 bean 的销毁回调，容器关闭时调用
+     *
+     * @param beanName       bean 的名称
+     * @param disposableBean 销毁回调
+     * @since 0.0.6
+     */
+    public void registerDisposableBean(String beanName, DisposableBean disposableBean) {
+        this.disposableBeans.put(beanName, disposableBean);
+    }
+
+    /**
+     * 单例 bean 是否注册了销毁回调
+     *
+     * @since 0.0.6
+     */
+    public boolean isDisposableBean(String beanName) {
+        return this.disposableBeans.containsKey(beanName);
+    }
+
+    /**
+     * 销毁给定的单例 bean：从缓存中移除并调用它的销毁回调，销毁回调抛出的异常只记录日志
+     *
+     * @param beanName bean 的名称
+     * @since 0.0.6
+     */
+    public void destroySingleton(String beanName) {
+        this.singletonObjects.remove(beanName);
+        this.singletonFactories.remove(beanName);
+        this.dependenciesForBeanMap.remove(beanName);
+        DisposableBean disposableBean = this.disposableBeans.remove(beanName);
+        if (disposableBean != null) {
+            try {
+                disposableBean.destroy();
+            } catch (Throwable e) {
+                log.warn("Destroy method on bean with name '{}' threw an exception", beanName, e);
+            }
+        }
+    }
+
+    /**
+     * 清空所有单例 bean 相关的缓存，不调用销毁回调
+     *
+     * @since 0.0.6
+     */
+    protected void clearSingletonCache() {
+        this.singletonObjects.clear();
+        this.singletonFactories.clear();
+        this.disposableBeans.clear();
+        this.dependenciesForBeanMap.clear();
+    }
+
     /**
      * 创建 Bean
      *
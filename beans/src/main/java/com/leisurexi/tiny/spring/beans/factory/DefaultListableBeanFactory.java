@@ -4,15 +4,20 @@ import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.config.DependencyDescriptor;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.leisurexi.tiny.spring.beans.factory.support.SingletonDependencyGraph;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author: leisurexi
  * @date: 2020-04-05 2:44 下午
  * @since 0.0.1
  */
+@Slf4j
 public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFactory implements BeanDefinitionRegistry {
 
     /**
@@ -21,31 +26,88 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     private final Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(256);
 
     /**
-     * 存储注册顺序的 bean definition names
+     * 存储注册顺序的 bean definition names，读写都需要持有它自身的锁
      */
-    private final List<String> beanDefinitionNames = new ArrayList<>();
+    private final List<String> beanDefinitionNames = new ArrayList<>(256);
 
     /**
-     * 存储所有注册过的 Class 和 beanName 的对象关系
+     * beanDefinitionNames 的只读快照，注册新的 bean 定义后失效，下次获取时重新生成
+     *
+     * @since 0.0.6
+     */
+    private volatile List<String> beanDefinitionNamesSnapshot = Collections.emptyList();
+
+    /**
+     * 类型到 beanName 的索引，注册 bean 定义时把 bean 的类型连同它的所有父类和接口都登记进来，
+     * 按类型查找时只需要一次 Map 查找
+     */
+    private final Map<Class<?>, TypeBeanNames> allBeanNamesByType = new ConcurrentHashMap<>(64);
+
+    /**
+     * 类型的继承体系缓存（自身、所有父类和所有接口）
+     *
+     * @since 0.0.6
+     */
+    private final Map<Class<?>, Class<?>[]> typeHierarchyCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 没有显式指定 lazy-init 的 bean 是否延迟初始化，默认不延迟
+     *
+     * @since 0.0.6
+     */
+    private volatile boolean defaultLazyInit = false;
+
+    /**
+     * 是否并行提前初始化单例 bean，默认串行
+     *
+     * @since 0.0.6
+     */
+    private volatile boolean parallelPreInstantiation = false;
+
+    /**
+     * 并行提前初始化单例 bean 使用的线程池，为空时临时创建一个 {@link ForkJoinPool}，用完即关闭
+     *
+     * @since 0.0.6
      */
-    private final Map<Class<?>, List<String>> allBeanNamesByType = new ConcurrentHashMap<>(64);
+    private volatile Executor preInstantiationExecutor;
+
+    /**
+     * 销毁单个 bean 的超时时间，超时后不再等待它，继续销毁它依赖的 bean
+     *
+     * @since 0.0.6
+     */
+    private volatile long destroyTimeoutMillis = 10_000;
+
+    /**
+     * 并行销毁单例 bean 使用的线程池，为空时临时创建一个，用完即关闭
+     *
+     * @since 0.0.6
+     */
+    private volatile Executor destructionExecutor;
+
+    /**
+     * 临时创建的销毁线程池的线程数，销毁回调大多是阻塞的 IO 操作，线程数不按 CPU 核数限制得太小
+     */
+    private static final int DEFAULT_DESTRUCTION_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
 
     @Override
     public void registryBeanDefinition(String beanName, BeanDefinition beanDefinition) throws BeansException {
-        BeanDefinition existingDefinition = beanDefinitionMap.get(beanName);
+        // 缓存 beanDefinition，如果是原型作用域可以重复使用；putIfAbsent 保证并发注册同名 bean 时只有一个成功
+        BeanDefinition existingDefinition = beanDefinitionMap.putIfAbsent(beanName, beanDefinition);
         // BeanDefinition 已经被注册过，抛出异常
         if (existingDefinition != null) {
             throw new BeansException(String.format("[%s] already existing definition. existing definition: [%s]", beanName, existingDefinition));
         }
-        // 缓存 beanDefinition，如果是原型作用域可以重复使用
-        beanDefinitionMap.put(beanName, beanDefinition);
-        beanDefinitionNames.add(beanName);
-        List<String> beanNames = allBeanNamesByType.get(beanDefinition.getBeanClass());
-        if (beanNames == null) {
-            beanNames = new ArrayList<>();
+        synchronized (this.beanDefinitionNames) {
+            this.beanDefinitionNames.add(beanName);
+            this.beanDefinitionNamesSnapshot = null;
+        }
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        if (beanClass != null) {
+            for (Class<?> type : typeHierarchyCache.computeIfAbsent(beanClass, DefaultListableBeanFactory::resolveTypeHierarchy)) {
+                allBeanNamesByType.compute(type, (key, beanNames) -> beanNames == null ? TypeBeanNames.of(beanName) : beanNames.append(beanName));
+            }
         }
-        beanNames.add(beanName);
-        allBeanNamesByType.put(beanDefinition.getBeanClass(), beanNames);
     }
 
     @Override
@@ -58,9 +120,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return this.beanDefinitionMap.size();
     }
 
+    /**
+     * 按注册顺序返回所有 bean 定义的名称，返回的是只读快照，之后注册的 bean 不会出现在其中
+     */
     @Override
     public List<String> getBeanDefinitionNames() {
-        return this.beanDefinitionNames;
+        List<String> snapshot = this.beanDefinitionNamesSnapshot;
+        if (snapshot == null) {
+            synchronized (this.beanDefinitionNames) {
+                snapshot = this.beanDefinitionNamesSnapshot;
+                if (snapshot == null) {
+                    snapshot = Collections.unmodifiableList(new ArrayList<>(this.beanDefinitionNames));
+                    this.beanDefinitionNamesSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
     }
 
     @Override
@@ -70,7 +145,25 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     @Override
     public Object resolveDependency(DependencyDescriptor descriptor, String requestingBeanName) {
-        return doResolveDependency(descriptor, requestingBeanName);
+        StartupStep step = getApplicationStartup().start("beans.resolve-dependency")
+                .tag("beanName", requestingBeanName)
+                .tag("dependencyType", descriptor.getDependencyType().getName())
+                .tag("parameterName", descriptor.getParameterName());
+        try {
+            return doResolveDependency(descriptor, requestingBeanName);
+        } finally {
+            step.end();
+        }
+    }
+
+    @Override
+    public boolean canResolveDependency(DependencyDescriptor descriptor, String requestingBeanName) {
+        // 和 doResolveDependency 的规则保持一致：候选 bean 只有一个，或者有多个但其中一个的名称和参数名相同
+        List<String> candidateNames = beanNamesForType(descriptor.getDependencyType());
+        if (candidateNames.size() > 1) {
+            return descriptor.getParameterName() != null && candidateNames.contains(descriptor.getParameterName());
+        }
+        return !candidateNames.isEmpty();
     }
 
     @Override
@@ -116,36 +209,368 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
                 throw new IllegalStateException("Can not autowire same type");
             }
             result.put(candidateName, getBean(candidateName));
+            registerDependency(candidateName);
         }
         return result;
     }
 
     /**
-     * 找到所有相同类型或者其子类型的 bean 名称
+     * 找到所有相同类型或者其子类型的 bean 名称，按注册顺序返回，返回的列表是只读的
      *
      * @since 0.0.4
      */
     public List<String> beanNamesForType(Class<?> requiredType) {
-        List<String> beanNames = new ArrayList<>();
-        for (Map.Entry<Class<?>, List<String>> entry : allBeanNamesByType.entrySet()) {
-            if (requiredType.isAssignableFrom(entry.getKey())) {
-                beanNames.addAll(entry.getValue());
+        List<String> beanNames = allBeanNamesByType.get(requiredType);
+        return beanNames != null ? beanNames : Collections.emptyList();
+    }
+
+    /**
+     * 解析类型的继承体系，包括自身、所有父类以及直接或间接实现的所有接口
+     *
+     * @since 0.0.6
+     */
+    private static Class<?>[] resolveTypeHierarchy(Class<?> beanClass) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        Deque<Class<?>> toVisit = new ArrayDeque<>();
+        toVisit.add(beanClass);
+        while (!toVisit.isEmpty()) {
+            Class<?> type = toVisit.poll();
+            if (!hierarchy.add(type)) {
+                continue;
+            }
+            if (type.getSuperclass() != null) {
+                toVisit.add(type.getSuperclass());
             }
+            toVisit.addAll(Arrays.asList(type.getInterfaces()));
         }
-        return beanNames;
+        return hierarchy.toArray(new Class<?>[0]);
     }
 
     /**
-     * 提前初始化单例 bean
+     * 提前初始化单例 bean，延迟初始化的 bean 会在第一次被获取时才创建
      */
     public void preInstantiateSingletons() {
-        List<String> beanNames = new ArrayList<>(beanDefinitionNames);
-        for (String beanName : beanNames) {
+        List<String> beanNames = new ArrayList<>();
+        for (String beanName : getBeanDefinitionNames()) {
             BeanDefinition beanDefinition = getBeanDefinition(beanName);
-            if (beanDefinition.isSingleton()) {
+            if (beanDefinition.isSingleton() && !isLazyInit(beanDefinition)) {
+                beanNames.add(beanName);
+            }
+        }
+        boolean parallel = this.parallelPreInstantiation && beanNames.size() > 1;
+        long start = System.nanoTime();
+        if (parallel) {
+            preInstantiateSingletonsInParallel(beanNames);
+        } else {
+            for (String beanName : beanNames) {
                 getBean(beanName);
             }
         }
+        log.debug("Pre-instantiated {} singletons {} in {} ms", beanNames.size(),
+                parallel ? "in parallel" : "serially", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * bean 是否延迟初始化，bean 定义没有显式指定时使用 {@link #defaultLazyInit}
+     *
+     * @since 0.0.6
+     */
+    private boolean isLazyInit(BeanDefinition beanDefinition) {
+        Boolean lazyInit = beanDefinition.getLazyInit();
+        return lazyInit != null ? lazyInit : this.defaultLazyInit;
+    }
+
+    /**
+     * 按照依赖图并行创建单例 bean，一个分量依赖的分量全部创建完成后才会开始创建它，
+     * 互不依赖的分量在不同的线程上同时创建
+     *
+     * @param beanNames 需要创建的单例 bean 名称
+     * @since 0.0.6
+     */
+    private void preInstantiateSingletonsInParallel(List<String> beanNames) {
+        SingletonDependencyGraph graph = SingletonDependencyGraph.build(this, beanNames);
+        List<List<String>> components = graph.getComponents();
+        Executor executor = this.preInstantiationExecutor;
+        ExecutorService ownExecutor = null;
+        if (executor == null) {
+            ownExecutor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            executor = ownExecutor;
+        }
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[components.size()];
+            for (int i = 0; i < components.size(); i++) {
+                int[] dependencies = graph.getComponentDependencies(i);
+                CompletableFuture<?> ready;
+                if (dependencies.length == 0) {
+                    ready = CompletableFuture.completedFuture(null);
+                } else {
+                    CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependencies.length];
+                    for (int j = 0; j < dependencies.length; j++) {
+                        // 被依赖的分量下标总是更小，对应的 future 已经创建好了
+                        dependencyFutures[j] = futures[dependencies[j]];
+                    }
+                    ready = CompletableFuture.allOf(dependencyFutures);
+                }
+                List<String> component = components.get(i);
+                futures[i] = ready.thenRunAsync(() -> component.forEach(this::getBean), executor);
+            }
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BeansException) {
+                throw (BeansException) cause;
+            }
+            throw new BeansException("Failed to pre-instantiate singletons", cause);
+        } finally {
+            if (ownExecutor != null) {
+                ownExecutor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 销毁所有的单例 bean。依赖方总是先于被依赖方销毁，依赖关系来自创建 bean 时实际获取过的 bean；
+     * 互不依赖的分支在不同的线程上同时销毁，单个 bean 销毁超过 {@link #destroyTimeoutMillis} 时不再等待它
+     *
+     * @since 0.0.6
+     */
+    public void destroySingletons() {
+        List<String> beanNames = new ArrayList<>();
+        int disposableCount = 0;
+        for (String beanName : getBeanDefinitionNames()) {
+            if (isDisposableBean(beanName)) {
+                disposableCount++;
+                beanNames.add(beanName);
+            } else if (containsSingleton(beanName)) {
+                beanNames.add(beanName);
+            }
+        }
+        long start = System.nanoTime();
+        if (disposableCount > 0) {
+            destroySingletonsInParallel(beanNames);
+        }
+        clearSingletonCache();
+        log.debug("Destroyed {} singletons ({} with destroy callbacks) in {} ms", beanNames.size(), disposableCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 按照依赖图逆序销毁单例 bean，一个分量被依赖的分量全部销毁完成（或者超时）后才会开始销毁它
+     *
+     * @param beanNames 需要销毁的单例 bean 名称，按注册顺序排列
+     * @since 0.0.6
+     */
+    private void destroySingletonsInParallel(List<String> beanNames) {
+        SingletonDependencyGraph graph = SingletonDependencyGraph.of(beanNames, beanName -> new ArrayList<>(getDependenciesForBean(beanName)));
+        List<List<String>> components = graph.getComponents();
+        // 反转依赖关系，找出依赖每个分量的分量，它们的下标总是更大
+        List<List<Integer>> dependents = new ArrayList<>(components.size());
+        for (int i = 0; i < components.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < components.size(); i++) {
+            for (int dependency : graph.getComponentDependencies(i)) {
+                dependents.get(dependency).add(i);
+            }
+        }
+        Executor configuredExecutor = this.destructionExecutor;
+        ExecutorService ownExecutor = null;
+        if (configuredExecutor == null) {
+            ownExecutor = Executors.newFixedThreadPool(DEFAULT_DESTRUCTION_THREADS, daemonThreadFactory("tiny-spring-destroy-"));
+        }
+        Executor executor = ownExecutor != null ? ownExecutor : configuredExecutor;
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("tiny-spring-destroy-timer-"));
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[components.size()];
+            for (int i = components.size() - 1; i >= 0; i--) {
+                List<Integer> componentDependents = dependents.get(i);
+                CompletableFuture<?> done;
+                if (componentDependents.isEmpty()) {
+                    done = CompletableFuture.completedFuture(null);
+                } else {
+                    CompletableFuture<?>[] dependentFutures = new CompletableFuture<?>[componentDependents.size()];
+                    for (int j = 0; j < dependentFutures.length; j++) {
+                        dependentFutures[j] = futures[componentDependents.get(j)];
+                    }
+                    done = CompletableFuture.allOf(dependentFutures);
+                }
+                // 循环依赖的 bean 按注册顺序的逆序依次销毁
+                List<String> component = components.get(i);
+                for (int k = component.size() - 1; k >= 0; k--) {
+                    String beanName = component.get(k);
+                    done = done.thenCompose(ignored -> destroySingletonAsync(beanName, executor, timer));
+                }
+                futures[i] = done;
+            }
+            CompletableFuture.allOf(futures).join();
+        } finally {
+            timer.shutdownNow();
+            if (ownExecutor != null) {
+                // 此时只剩下超时的销毁任务，中断它们
+                ownExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * 在给定的线程池上销毁单例 bean，销毁完成或者超时后返回的 future 完成。
+     * 没有销毁回调的 bean 直接在当前线程上从缓存中移除
+     */
+    private CompletableFuture<Void> destroySingletonAsync(String beanName, Executor executor, ScheduledExecutorService timer) {
+        if (!isDisposableBean(beanName)) {
+            destroySingleton(beanName);
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        long timeoutMillis = this.destroyTimeoutMillis;
+        Runnable task = () -> {
+            // 从销毁回调真正开始执行时计时，排队等待的时间不计入
+            ScheduledFuture<?> timeout = timer.schedule(() -> {
+                if (done.complete(null)) {
+                    log.warn("Destroy method on bean with name '{}' did not complete within {} ms, continuing shutdown", beanName, timeoutMillis);
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                destroySingleton(beanName);
+            } finally {
+                timeout.cancel(false);
+                done.complete(null);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 外部传入的线程池已经关闭，在当前线程上销毁
+            task.run();
+        }
+        return done;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 设置销毁单个 bean 的超时时间，单位毫秒
+     *
+     * @since 0.0.6
+     */
+    public void setDestroyTimeoutMillis(long destroyTimeoutMillis) {
+        if (destroyTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("destroyTimeoutMillis must be positive");
+        }
+        this.destroyTimeoutMillis = destroyTimeoutMillis;
+    }
+
+    public long getDestroyTimeoutMillis() {
+        return this.destroyTimeoutMillis;
+    }
+
+    /**
+     * 设置并行销毁单例 bean 使用的线程池，由调用方负责关闭
+     *
+     * @since 0.0.6
+     */
+    public void setDestructionExecutor(Executor destructionExecutor) {
+        this.destructionExecutor = destructionExecutor;
+    }
+
+    public Executor getDestructionExecutor() {
+        return this.destructionExecutor;
+    }
+
+    /**
+     * 设置没有显式指定 lazy-init 的 bean 是否延迟初始化
+     *
+     * @since 0.0.6
+     */
+    public void setDefaultLazyInit(boolean defaultLazyInit) {
+        this.defaultLazyInit = defaultLazyInit;
+    }
+
+    public boolean isDefaultLazyInit() {
+        return this.defaultLazyInit;
+    }
+
+    /**
+     * 设置是否并行提前初始化单例 bean
+     *
+     * @since 0.0.6
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    public boolean isParallelPreInstantiation() {
+        return this.parallelPreInstantiation;
+    }
+
+    /**
+     * 设置并行提前初始化单例 bean 使用的线程池，由调用方负责关闭
+     *
+     * @since 0.0.6
+     */
+    public void setPreInstantiationExecutor(Executor preInstantiationExecutor) {
+        this.preInstantiationExecutor = preInstantiationExecutor;
+    }
+
+    public Executor getPreInstantiationExecutor() {
+        return this.preInstantiationExecutor;
+    }
+
+    /**
+     * 某个类型下的 beanName 列表，只追加不修改。每次追加返回一个新的快照，
+     * 已经发布出去的快照不会再变化，读取时不需要加锁也不需要复制
+     *
+     * @since 0.0.6
+     */
+    private static final class TypeBeanNames extends AbstractList<String> implements RandomAccess {
+
+        private final String[] names;
+
+        private final int size;
+
+        private TypeBeanNames(String[] names, int size) {
+            this.names = names;
+            this.size = size;
+        }
+
+        static TypeBeanNames of(String beanName) {
+            String[] names = new String[4];
+            names[0] = beanName;
+            return new TypeBeanNames(names, 1);
+        }
+
+        /**
+         * 追加一个 beanName，调用方需保证同一个类型的追加是串行的
+         */
+        TypeBeanNames append(String beanName) {
+            String[] array = this.names;
+            if (this.size == array.length) {
+                array = Arrays.copyOf(array, this.size << 1);
+            }
+            // 写入的位置超出了旧快照的 size，对旧快照不可见
+            array[this.size] = beanName;
+            return new TypeBeanNames(array, this.size + 1);
+        }
+
+        @Override
+        public String get(int index) {
+            if (index >= this.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+            }
+            return this.names[index];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
     }
 
 }
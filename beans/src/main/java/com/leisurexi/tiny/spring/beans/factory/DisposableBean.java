@@ -0,0 +1,20 @@
+package com.leisurexi.tiny.spring.beans.factory;
+
+/**
+ * 在 bean 销毁时调用，可以看作是一个 destroy 方法，属于 bean 的生命周期方法。
+ * 只有单例 bean 会在容器关闭时被销毁
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 17:05
+ * @since 0.0.6
+ */
+public interface DisposableBean {
+
+    /**
+     * bean 销毁时调用，用来释放 bean 持有的资源，如线程池、文件句柄等
+     *
+     * @throws Exception 销毁时发生的异常，只会记录日志，不会影响其它 bean 的销毁
+     */
+    void destroy() throws Exception;
+
+}
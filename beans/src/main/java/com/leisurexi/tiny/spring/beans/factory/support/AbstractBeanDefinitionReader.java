@@ -1,6 +1,8 @@
 package com.leisurexi.tiny.spring.beans.factory.support;
 
-import com.leisurexi.tiny.spring.beans.io.ResourceLoader;
+import com.leisurexi.tiny.spring.beans.factory.AbstractBeanFactory;
+import com.leisurexi.tiny.spring.beans.io.PathMatchingResourcePatternResolver;
+import com.leisurexi.tiny.spring.beans.metrics.ApplicationStartup;
 
 /**
  * @author: leisurexi
@@ -10,18 +12,44 @@ import com.leisurexi.tiny.spring.beans.io.ResourceLoader;
 public abstract class AbstractBeanDefinitionReader implements BeanDefinitionReader {
 
     protected final BeanDefinitionRegistry registry;
-    private ResourceLoader resourceLoader;
+    private PathMatchingResourcePatternResolver resourceLoader;
+
+    /**
+     * 记录加载过程的启动步骤，默认和 bean 工厂使用同一个
+     *
+     * @since 0.0.6
+     */
+    private ApplicationStartup applicationStartup;
 
     public AbstractBeanDefinitionReader(BeanDefinitionRegistry registry) {
         this.registry = registry;
-        this.resourceLoader = new ResourceLoader();
+        this.resourceLoader = new PathMatchingResourcePatternResolver();
+        this.applicationStartup = registry instanceof AbstractBeanFactory
+                ? ((AbstractBeanFactory) registry).getApplicationStartup() : ApplicationStartup.DEFAULT;
     }
 
-    public ResourceLoader getResourceLoader() {
+    public PathMatchingResourcePatternResolver getResourceLoader() {
         return resourceLoader;
     }
 
     public BeanDefinitionRegistry getBeanRegistry() {
         return registry;
     }
+
+    /**
+     * @since 0.0.6
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        if (applicationStartup == null) {
+            throw new IllegalArgumentException("ApplicationStartup must not be null");
+        }
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * @since 0.0.6
+     */
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
 }
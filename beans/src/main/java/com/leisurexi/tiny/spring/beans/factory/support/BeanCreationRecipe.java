@@ -0,0 +1,259 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.AbstractAutowireCapableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.DependencyDescriptor;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * bean 的创建配方，第一次创建 bean 时把解析的结果记录下来，之后再创建同一个 bean 定义的实例
+ * （主要是原型 bean）直接按配方执行，只需要解析对其它 bean 的引用：
+ * <ul>
+ *     <li>选中的构造器以及每个参数的来源，字面量参数已经转换好</li>
+ *     <li>工厂方法的 {@link MethodHandle} 以及每个参数的依赖描述符</li>
+ *     <li>初始化方法的 {@link MethodHandle}</li>
+ *     <li>按名称或类型自动注入的属性</li>
+ * </ul>
+ * 配方只对创建它时的 bean 类型有效，bean 类型变化后会重新创建
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 16:20
+ * @see BeanDefinition#obtainCreationRecipe()
+ * @since 0.0.6
+ */
+public final class BeanCreationRecipe {
+
+    private final Class<?> beanClass;
+
+    private volatile ResolvedConstructor resolvedConstructor;
+
+    private volatile ResolvedFactoryMethod resolvedFactoryMethod;
+
+    private volatile InitMethod initMethod;
+
+    private volatile AutowirePlan autowirePlan;
+
+    BeanCreationRecipe(Class<?> beanClass) {
+        this.beanClass = beanClass;
+    }
+
+    public Class<?> getBeanClass() {
+        return this.beanClass;
+    }
+
+    public ResolvedConstructor getResolvedConstructor() {
+        return this.resolvedConstructor;
+    }
+
+    public void setResolvedConstructor(ResolvedConstructor resolvedConstructor) {
+        this.resolvedConstructor = resolvedConstructor;
+    }
+
+    public ResolvedFactoryMethod getResolvedFactoryMethod() {
+        return this.resolvedFactoryMethod;
+    }
+
+    public void setResolvedFactoryMethod(ResolvedFactoryMethod resolvedFactoryMethod) {
+        this.resolvedFactoryMethod = resolvedFactoryMethod;
+    }
+
+    public InitMethod getInitMethod() {
+        return this.initMethod;
+    }
+
+    public void setInitMethod(InitMethod initMethod) {
+        this.initMethod = initMethod;
+    }
+
+    public AutowirePlan getAutowirePlan() {
+        return this.autowirePlan;
+    }
+
+    public void setAutowirePlan(AutowirePlan autowirePlan) {
+        this.autowirePlan = autowirePlan;
+    }
+
+    /**
+     * 选中的构造器以及每个参数的来源
+     */
+    public static final class ResolvedConstructor {
+
+        /**
+         * 参数是转换好的字面量
+         */
+        static final int LITERAL = 0;
+
+        /**
+         * 参数引用了别的 bean
+         */
+        static final int REFERENCE = 1;
+
+        /**
+         * 参数通过自动注入获取
+         */
+        static final int AUTOWIRED = 2;
+
+        private final Constructor<?> constructor;
+
+        private final int[] argumentKinds;
+
+        /**
+         * 字面量参数为转换好的值，引用参数为 {@link RuntimeBeanReference}，自动注入参数为 {@link DependencyDescriptor}
+         */
+        private final Object[] argumentValues;
+
+        ResolvedConstructor(Constructor<?> constructor, int[] argumentKinds, Object[] argumentValues) {
+            this.constructor = constructor;
+            this.argumentKinds = argumentKinds;
+            this.argumentValues = argumentValues;
+        }
+
+        public Constructor<?> getConstructor() {
+            return this.constructor;
+        }
+
+        /**
+         * 按配方生成构造器参数，只有引用和自动注入的参数需要解析
+         */
+        Object[] resolveArguments(AbstractAutowireCapableBeanFactory beanFactory, BeanDefinitionValueResolver valueResolver, String beanName) {
+            Class<?>[] parameterTypes = this.constructor.getParameterTypes();
+            Object[] args = new Object[this.argumentValues.length];
+            for (int i = 0; i < args.length; i++) {
+                Object value = this.argumentValues[i];
+                switch (this.argumentKinds[i]) {
+                    case REFERENCE:
+                        value = beanFactory.getConversionService().convert(
+                                valueResolver.resolveValueIfNecessary("constructor argument", value), parameterTypes[i]);
+                        break;
+                    case AUTOWIRED:
+                        DependencyDescriptor descriptor = (DependencyDescriptor) value;
+                        value = beanFactory.resolveDependency(descriptor, beanName);
+                        if (value == null) {
+                            throw new BeansException("No such bean " + descriptor.getParameterName());
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                args[i] = value;
+            }
+            return args;
+        }
+    }
+
+    /**
+     * 绑定好的工厂方法，参数全部通过依赖描述符解析
+     */
+    public static final class ResolvedFactoryMethod {
+
+        private final Method factoryMethod;
+
+        /**
+         * {@code (Object, Object[]) -> Object} 形式的工厂方法，第一个参数是工厂 bean
+         */
+        private final MethodHandle invoker;
+
+        private final DependencyDescriptor[] descriptors;
+
+        ResolvedFactoryMethod(Method factoryMethod, MethodHandle invoker, DependencyDescriptor[] descriptors) {
+            this.factoryMethod = factoryMethod;
+            this.invoker = invoker;
+            this.descriptors = descriptors;
+        }
+
+        public Method getFactoryMethod() {
+            return this.factoryMethod;
+        }
+
+        /**
+         * 按依赖描述符解析参数，找不到候选 bean 时抛出异常
+         */
+        Object[] resolveArguments(AbstractAutowireCapableBeanFactory beanFactory, String beanName) {
+            Object[] args = new Object[this.descriptors.length];
+            for (int i = 0; i < args.length; i++) {
+                DependencyDescriptor descriptor = this.descriptors[i];
+                Object value = beanFactory.resolveDependency(descriptor, beanName);
+                if (value == null) {
+                    throw new BeansException("No qualifying bean of type [" + descriptor.getDependencyType().getName()
+                            + "] for parameter '" + descriptor.getParameterName() + "' of factory method [" + this.factoryMethod + "]");
+                }
+                args[i] = value;
+            }
+            return args;
+        }
+
+        Object invoke(Object factoryBean, Object[] args) throws Throwable {
+            return (Object) this.invoker.invokeExact(factoryBean, args);
+        }
+    }
+
+    /**
+     * 解析好的初始化方法
+     */
+    public static final class InitMethod {
+
+        private final String methodName;
+
+        private final Class<?> targetClass;
+
+        /**
+         * {@code (Object) -> void} 形式的初始化方法
+         */
+        private final MethodHandle handle;
+
+        public InitMethod(String methodName, Class<?> targetClass, MethodHandle handle) {
+            this.methodName = methodName;
+            this.targetClass = targetClass;
+            this.handle = handle;
+        }
+
+        /**
+         * 是否适用于给定的初始化方法名和 bean 类型
+         */
+        public boolean matches(String methodName, Class<?> targetClass) {
+            return this.targetClass == targetClass && this.methodName.equals(methodName);
+        }
+
+        public void invoke(Object bean) throws Throwable {
+            this.handle.invokeExact(bean);
+        }
+    }
+
+    /**
+     * 按名称或类型自动注入的属性，属性名按字典序排列
+     */
+    public static final class AutowirePlan {
+
+        private final int autowireMode;
+
+        private final String[] propertyNames;
+
+        /**
+         * 按类型注入时每个属性的依赖描述符，按名称注入时为 {@code null}
+         */
+        private final DependencyDescriptor[] descriptors;
+
+        public AutowirePlan(int autowireMode, String[] propertyNames, DependencyDescriptor[] descriptors) {
+            this.autowireMode = autowireMode;
+            this.propertyNames = propertyNames;
+            this.descriptors = descriptors;
+        }
+
+        public int getAutowireMode() {
+            return this.autowireMode;
+        }
+
+        public String[] getPropertyNames() {
+            return this.propertyNames;
+        }
+
+        public DependencyDescriptor[] getDescriptors() {
+            return this.descriptors;
+        }
+    }
+
+}
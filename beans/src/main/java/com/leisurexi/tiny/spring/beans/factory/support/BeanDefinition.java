@@ -3,6 +3,8 @@ package com.leisurexi.tiny.spring.beans.factory.support;
 import com.leisurexi.tiny.spring.beans.PropertyValues;
 import com.leisurexi.tiny.spring.beans.factory.config.ConstructorArgumentValues;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
@@ -94,6 +96,13 @@ public class BeanDefinition {
      */
     private String initMethodName;
 
+    /**
+     * bean 销毁回调的方法名称，只对单例 bean 生效
+     *
+     * @since 0.0.6
+     */
+    private String destroyMethodName;
+
     /**
      * 创建 bean 的工厂方法名称
      *
@@ -108,6 +117,40 @@ public class BeanDefinition {
      */
     private String factoryBeanName;
 
+    /**
+     * 是否延迟初始化，为 {@code null} 时使用 bean 工厂的默认设置
+     *
+     * @since 0.0.6
+     */
+    private Boolean lazyInit;
+
+    /**
+     * 缓存的实例化器，由 {@link InstantiationStrategy} 在第一次实例化时创建
+     *
+     * @since 0.0.6
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile BeanInstantiator instantiator;
+
+    /**
+     * 缓存的属性写入计划，第一次属性赋值时创建
+     *
+     * @since 0.0.6
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile PropertyWriterPlan propertyWriterPlan;
+
+    /**
+     * 缓存的创建配方，第一次创建 bean 时记录
+     *
+     * @since 0.0.6
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile BeanCreationRecipe creationRecipe;
+
     public BeanDefinition() {
 
     }
@@ -136,6 +179,30 @@ public class BeanDefinition {
         return SCOPE_PROTOTYPE.equals(this.scope);
     }
 
+    /**
+     * bean 是否显式地指定了延迟初始化
+     *
+     * @see #lazyInit
+     * @since 0.0.6
+     */
+    public boolean isLazyInit() {
+        return this.lazyInit != null && this.lazyInit;
+    }
+
+    /**
+     * 获取当前 bean 类型对应的创建配方，不存在或者 bean 类型已经变化时创建一个新的
+     *
+     * @since 0.0.6
+     */
+    public BeanCreationRecipe obtainCreationRecipe() {
+        BeanCreationRecipe recipe = this.creationRecipe;
+        if (recipe == null || recipe.getBeanClass() != this.beanClass) {
+            recipe = new BeanCreationRecipe(this.beanClass);
+            this.creationRecipe = recipe;
+        }
+        return recipe;
+    }
+
     /**
      * bean 是否有构造函数参数
      *
@@ -43,7 +43,9 @@ public class BeanDefinitionValueResolver {
      */
     private Object resolveReference(String name, RuntimeBeanReference runtimeBeanReference) {
         String beanName = runtimeBeanReference.getBeanName();
-        return this.beanFactory.getBean(beanName);
+        Object bean = this.beanFactory.getBean(beanName);
+        this.beanFactory.registerDependency(beanName);
+        return bean;
     }
 
 }
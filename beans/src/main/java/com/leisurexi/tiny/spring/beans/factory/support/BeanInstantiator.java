@@ -0,0 +1,28 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * 绑定了某个构造器的实例化器，由 {@link InstantiationStrategy} 创建后缓存在 {@link BeanDefinition} 中
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 14:05
+ * @since 0.0.6
+ */
+public interface BeanInstantiator {
+
+    /**
+     * 绑定的构造器
+     */
+    Constructor<?> getConstructor();
+
+    /**
+     * 调用构造器创建实例
+     *
+     * @param args 构造器参数
+     * @return 新的实例
+     * @throws Throwable 构造器抛出的异常原样抛出
+     */
+    Object instantiate(Object... args) throws Throwable;
+
+}
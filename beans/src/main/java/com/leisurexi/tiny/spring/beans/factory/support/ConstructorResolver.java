@@ -1,18 +1,22 @@
 package com.leisurexi.tiny.spring.beans.factory.support;
 
 import cn.hutool.core.bean.BeanException;
-import cn.hutool.core.convert.Convert;
 import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.AbstractAutowireCapableBeanFactory;
 import com.leisurexi.tiny.spring.beans.factory.config.ConstructorArgumentValues;
 import com.leisurexi.tiny.spring.beans.factory.config.DependencyDescriptor;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
 import com.leisurexi.tiny.spring.beans.util.LocalVariableTableParameterNameDiscoverer;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.AUTOWIRE_CONSTRUCTOR;
 
@@ -26,8 +30,24 @@ import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.AUT
 @Slf4j
 public class ConstructorResolver {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 工厂方法统一转换成的 MethodHandle 类型
+     *
+     * @since 0.0.6
+     */
+    private static final MethodType FACTORY_METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
     private AbstractAutowireCapableBeanFactory beanFactory;
 
+    /**
+     * 排好序的构造器缓存，key 为 bean 的类型
+     *
+     * @since 0.0.6
+     */
+    private final Map<Class<?>, Constructor<?>[]> sortedConstructorsCache = new ConcurrentHashMap<>(64);
+
     public ConstructorResolver(AbstractAutowireCapableBeanFactory beanFactory) {
         this.beanFactory = beanFactory;
     }
@@ -41,60 +61,134 @@ public class ConstructorResolver {
      * @since 0.0.3
      */
     public Object autowireConstructor(String beanName, BeanDefinition beanDefinition) {
+        BeanCreationRecipe recipe = beanDefinition.obtainCreationRecipe();
+        BeanCreationRecipe.ResolvedConstructor resolved = recipe.getResolvedConstructor();
+        if (resolved != null) {
+            // 之前已经解析过，直接按配方生成参数，不需要再查找构造器
+            Object[] args = resolved.resolveArguments(this.beanFactory, this.beanFactory.getValueResolver(), beanName);
+            return this.beanFactory.getInstantiationStrategy().instantiate(beanDefinition, beanName, resolved.getConstructor(), args);
+        }
+
         // 最终实例化的构造函数
         Constructor<?> constructorToUse = null;
-        // 最终用于实例化的构造函数参数
-        Object[] argsToUse = null;
+        // 最终实例化的构造函数参数名
+        List<String> paramNamesToUse = null;
         Class<?> beanClass = beanDefinition.getBeanClass();
-        // 获取所有的构造器
-        Constructor<?>[] candidates = beanClass.getDeclaredConstructors();
         // 是否是构造器自动注入模式
         boolean autowiring = beanDefinition.getAutowireMode() == AUTOWIRE_CONSTRUCTOR;
 
-        ConstructorArgumentValues cargs = beanDefinition.getConstructorArgumentValues();
+        ConstructorArgumentValues cargs = beanDefinition.hasConstructorArgumentValues()
+                ? beanDefinition.getConstructorArgumentValues() : new ConstructorArgumentValues();
         ConstructorArgumentValues resolvedValues = new ConstructorArgumentValues();
         int minNrOfArgs = cargs.getArgumentCount();
         resolveConstructorArguments(beanName, beanDefinition, cargs, resolvedValues);
 
-        // 这里对构造函数进行排序，规则是首先是public构造函数且参数个数从多到少，然后是非public构造函数且参数个数有多到少
-        Arrays.sort(candidates, (o1, o2) -> {
-            int result = Boolean.compare(Modifier.isPublic(o2.getModifiers()), Modifier.isPublic(o1.getModifiers()));
-            return result != 0 ? result : Integer.compare(o2.getParameterCount(), o1.getParameterCount());
-        });
-
-        for (Constructor<?> candidate : candidates) {
-            try {
-                // 这里去解析参数，会进行对应的类型转换，如果是引用别的 bean 会进行 getBean() 获取其实例
-                // 如果是构造器依赖注入没有找到对应类型的 bean，会抛出异常，去解析下一个构造器的参数
-                argsToUse = createArgumentArray(beanName, beanDefinition.getBeanClass(), candidate.getParameterTypes(),
-                        getParameters(candidate), resolvedValues, autowiring);
-            } catch (BeansException e) {
-                // 由于自动注入，有没有找到的 bean 引用
-                log.warn("构造器依赖自动注入，有参数没找到，跳过本次循环，进行下一次查找");
+        for (Constructor<?> candidate : getSortedConstructors(beanClass)) {
+            // 先检查参数能否全部满足，只查询类型索引和 bean 定义，不会创建任何实例；
+            // 满足不了的构造器直接跳过，不通过异常控制流程
+            List<String> paramNames = getParameters(candidate);
+            if (candidate.getParameterCount() < minNrOfArgs
+                    || !isSatisfiable(beanName, beanClass, candidate, paramNames, resolvedValues, autowiring)) {
+                log.debug("Skipping constructor [{}] of bean [{}], arguments can not be satisfied", candidate, beanName);
                 continue;
             }
-
-            if (beanDefinition.hasConstructorArgumentValues() && argsToUse.length == minNrOfArgs) {
-                constructorToUse = candidate;
-                // 指定了构造器参数，并且数量对应，跳出循环直接使用
-                log.debug("根据指定的参数，找到了对应构造器，直接跳出循环使用");
-                break;
-            } else {
-                constructorToUse = candidate;
-                // 构造器依赖注入，所需的 bean 全部找到，跳出循环直接使用
-                log.debug("构造器依赖自动注入，需要的 bean 全部找到，跳出循环直接使用");
-                break;
-            }
+            constructorToUse = candidate;
+            paramNamesToUse = paramNames;
+            break;
         }
 
         // 没有找到匹配的构造函数，抛出异常
         if (constructorToUse == null) {
-            throw new IllegalStateException("Could not find matching constructor");
+            throw new IllegalStateException("Could not find matching constructor for bean '" + beanName + "' of type [" + beanClass.getName() + "]");
         }
-        if (argsToUse == null) {
-            throw new IllegalStateException("Unresolved constructor arguments");
+        // 这里去解析参数，会进行对应的类型转换，如果是自动注入会进行 getBean() 获取其实例
+        Object[] argsToUse = createArgumentArray(beanName, beanClass, constructorToUse.getParameterTypes(),
+                paramNamesToUse, resolvedValues, autowiring);
+        recipe.setResolvedConstructor(createResolvedConstructor(beanClass, constructorToUse, paramNamesToUse, cargs, argsToUse));
+        return this.beanFactory.getInstantiationStrategy().instantiate(beanDefinition, beanName, constructorToUse, argsToUse);
+    }
+
+    /**
+     * 返回排好序的构造器，每个类型只排序一次。规则是首先是 public 构造函数且参数个数从多到少，
+     * 然后是非 public 构造函数且参数个数从多到少
+     *
+     * @param beanClass bean 的类型
+     * @since 0.0.6
+     */
+    private Constructor<?>[] getSortedConstructors(Class<?> beanClass) {
+        Constructor<?>[] candidates = this.sortedConstructorsCache.get(beanClass);
+        if (candidates == null) {
+            candidates = beanClass.getDeclaredConstructors();
+            Arrays.sort(candidates, (o1, o2) -> {
+                int result = Boolean.compare(Modifier.isPublic(o2.getModifiers()), Modifier.isPublic(o1.getModifiers()));
+                return result != 0 ? result : Integer.compare(o2.getParameterCount(), o1.getParameterCount());
+            });
+            Constructor<?>[] existing = this.sortedConstructorsCache.putIfAbsent(beanClass, candidates);
+            if (existing != null) {
+                candidates = existing;
+            }
         }
-        return instantiate(constructorToUse, argsToUse);
+        return candidates;
+    }
+
+    /**
+     * 检查构造器的参数能否全部满足：指定了的参数值能转换成参数类型，没有指定的参数在自动注入模式下
+     * 能找到唯一的候选 bean
+     *
+     * @param beanName       bean 的名称
+     * @param beanClass      bean 的类型
+     * @param candidate      候选构造器
+     * @param paramNames     构造器参数名
+     * @param resolvedValues 解析过后的构造器参数
+     * @param autowiring     是否是构造器自动注入模式
+     * @since 0.0.6
+     */
+    private boolean isSatisfiable(String beanName, Class<?> beanClass, Constructor<?> candidate, List<String> paramNames,
+                                  ConstructorArgumentValues resolvedValues, boolean autowiring) {
+        Class<?>[] paramTypes = candidate.getParameterTypes();
+        for (int i = 0; i < paramTypes.length; i++) {
+            Object value = resolvedValues.getArgumentValue(i);
+            if (value != null) {
+                if (!this.beanFactory.getConversionService().canConvert(value.getClass(), paramTypes[i])) {
+                    return false;
+                }
+            } else if (!autowiring || !this.beanFactory.canResolveDependency(
+                    new DependencyDescriptor(beanClass, paramTypes[i], getParameterName(paramNames, i), i), beanName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 记录选中的构造器以及每个参数的来源，字面量参数直接使用已经转换好的值
+     *
+     * @param beanClass   bean 的类型
+     * @param constructor 选中的构造器
+     * @param paramNames  构造器参数名
+     * @param cargs       bean 定义中的构造器参数
+     * @param args        本次解析出的参数
+     * @since 0.0.6
+     */
+    private BeanCreationRecipe.ResolvedConstructor createResolvedConstructor(Class<?> beanClass, Constructor<?> constructor, List<String> paramNames,
+                                                                             ConstructorArgumentValues cargs, Object[] args) {
+        Class<?>[] paramTypes = constructor.getParameterTypes();
+        int[] argumentKinds = new int[args.length];
+        Object[] argumentValues = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            Object value = cargs.getArgumentValue(i);
+            if (value instanceof RuntimeBeanReference) {
+                argumentKinds[i] = BeanCreationRecipe.ResolvedConstructor.REFERENCE;
+                argumentValues[i] = value;
+            } else if (value != null) {
+                argumentKinds[i] = BeanCreationRecipe.ResolvedConstructor.LITERAL;
+                argumentValues[i] = args[i];
+            } else {
+                argumentKinds[i] = BeanCreationRecipe.ResolvedConstructor.AUTOWIRED;
+                argumentValues[i] = new DependencyDescriptor(beanClass, paramTypes[i], getParameterName(paramNames, i), i);
+            }
+        }
+        return new BeanCreationRecipe.ResolvedConstructor(constructor, argumentKinds, argumentValues);
     }
 
     /**
@@ -110,29 +204,69 @@ public class ConstructorResolver {
             throw new BeanException("factory-bean reference points back to the same bean definition");
         }
         Object factoryBean = this.beanFactory.getBean(factoryBeanName);
-        Object bean;
+        this.beanFactory.registerDependency(factoryBeanName);
+        // 工厂方法只绑定一次，之后按配方解析参数并调用
+        BeanCreationRecipe recipe = beanDefinition.obtainCreationRecipe();
+        Method factoryMethod = beanDefinition.getFactoryMethod();
+        BeanCreationRecipe.ResolvedFactoryMethod resolved = recipe.getResolvedFactoryMethod();
+        if (resolved == null || !resolved.getFactoryMethod().equals(factoryMethod)) {
+            resolved = createResolvedFactoryMethod(factoryMethod);
+            recipe.setResolvedFactoryMethod(resolved);
+        }
+        Object[] args = resolved.resolveArguments(this.beanFactory, beanName);
         try {
-            Method method = beanDefinition.getFactoryMethod();
-            Class<?>[] parameterTypes = method.getParameterTypes();
-            Object[] parameters = new Object[parameterTypes.length];
-            for (int i = 0; i < parameterTypes.length; i++) {
-                Class<?> parameterType = parameterTypes[i];
-                parameters[i] = beanFactory.getBean(parameterType);
-            }
-            bean = method.invoke(factoryBean, parameters);
-        } catch (Exception e) {
+            return resolved.invoke(factoryBean, args);
+        } catch (BeansException e) {
+            throw e;
+        } catch (Throwable e) {
             throw new BeanException(e);
         }
-        return bean;
     }
 
     /**
-     * 获取函数的参数名称
+     * 把工厂方法绑定成 {@code (Object, Object[]) -> Object} 形式的 MethodHandle，
+     * 并为每个参数创建依赖描述符，参数名称用于存在多个候选 bean 时按名称匹配
+     *
+     * @param factoryMethod 工厂方法
+     * @since 0.0.6
+     */
+    private BeanCreationRecipe.ResolvedFactoryMethod createResolvedFactoryMethod(Method factoryMethod) {
+        Class<?>[] parameterTypes = factoryMethod.getParameterTypes();
+        List<String> parameterNames = LocalVariableTableParameterNameDiscoverer.getMethodParamNames(factoryMethod);
+        DependencyDescriptor[] descriptors = new DependencyDescriptor[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            descriptors[i] = new DependencyDescriptor(factoryMethod.getDeclaringClass(), parameterTypes[i], getParameterName(parameterNames, i), i);
+        }
+        try {
+            factoryMethod.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflect(factoryMethod);
+            if (Modifier.isStatic(factoryMethod.getModifiers())) {
+                // 静态工厂方法忽略工厂 bean
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle invoker = handle.asSpreader(Object[].class, parameterTypes.length).asType(FACTORY_METHOD_TYPE);
+            return new BeanCreationRecipe.ResolvedFactoryMethod(factoryMethod, invoker, descriptors);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new BeansException("Could not bind factory method [" + factoryMethod + "]", e);
+        }
+    }
+
+    /**
+     * 获取函数的参数名称，结果已经按构造器缓存，获取不到时返回 {@code null}
      */
     private List<String> getParameters(Constructor<?> constructor) {
         return LocalVariableTableParameterNameDiscoverer.getConstructorParamNames(constructor);
     }
 
+    /**
+     * 获取指定位置的参数名称，类编译时没有保留参数名称时返回 {@code null}
+     *
+     * @since 0.0.6
+     */
+    private static String getParameterName(List<String> paramNames, int index) {
+        return paramNames != null ? paramNames.get(index) : null;
+    }
+
     /**
      * 解析构造参数，如果是引用别的 bean 会通过 getBean 操作获取实例
      *
@@ -142,7 +276,7 @@ public class ConstructorResolver {
      * @param resolvedValues 解析过后的构造器参数
      */
     private void resolveConstructorArguments(String beanName, BeanDefinition beanDefinition, ConstructorArgumentValues cargs, ConstructorArgumentValues resolvedValues) {
-        BeanDefinitionValueResolver valueResolver = new BeanDefinitionValueResolver(this.beanFactory);
+        BeanDefinitionValueResolver valueResolver = this.beanFactory.getValueResolver();
         for (Map.Entry<Integer, Object> entry : cargs.getArgumentsValues().entrySet()) {
             Object value = valueResolver.resolveValueIfNecessary("constructor argument", entry.getValue());
             resolvedValues.addIndexArgumentValue(entry.getKey(), value);
@@ -163,7 +297,7 @@ public class ConstructorResolver {
         Object[] args = new Object[paramTypes.length];
         for (int i = 0; i < paramTypes.length; i++) {
             Class<?> paramType = paramTypes[i];
-            Object argumentValue = Convert.convert(paramType, resolvedValues.getArgumentValue(i));
+            Object argumentValue = this.beanFactory.getConversionService().convert(resolvedValues.getArgumentValue(i), paramType);
             if (argumentValue != null) {
                 // 找到了指定构造函数的参数值
                 args[i] = argumentValue;
@@ -173,9 +307,10 @@ public class ConstructorResolver {
                     throw new IllegalStateException("Ambiguous argument values for parameter of type [" + paramType.getName() +
                             "] - did you specify the correct bean references as arguments?");
                 }
-                Object argument = resolveAutowireArgument(beanName, beanClass, i, paramType, paramNames.get(i));
+                String paramName = getParameterName(paramNames, i);
+                Object argument = resolveAutowireArgument(beanName, beanClass, i, paramType, paramName);
                 if (argument == null) {
-                    throw new BeansException("No such bean " + paramNames.get(i));
+                    throw new BeansException("No such bean " + paramName);
                 }
                 args[i] = argument;
             }
@@ -197,13 +332,5 @@ public class ConstructorResolver {
         return this.beanFactory.resolveDependency(dependencyDescriptor, beanName);
     }
 
-    private Object instantiate(Constructor<?> ctor, Object... args) {
-        try {
-            return ctor.newInstance(args);
-        } catch (Exception e) {
-            throw new BeansException(e);
-        }
-    }
-
 
 }
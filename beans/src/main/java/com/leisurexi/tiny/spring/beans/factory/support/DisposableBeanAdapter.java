@@ -0,0 +1,89 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.google.common.base.Strings;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.DisposableBean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 把 bean 的销毁回调适配成 {@link DisposableBean}，创建 bean 时生成，容器关闭时调用：
+ * 1.如果 bean 实现了 DisposableBean 接口，先调用其重写的 destroy()
+ * 2.如果定义了 destroy-method 属性，调用其指定的无参方法，和 1 是同一个方法时不会重复调用
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 17:10
+ * @since 0.0.6
+ */
+public class DisposableBeanAdapter implements DisposableBean {
+
+    private final String beanName;
+
+    private final Object bean;
+
+    private final boolean invokeDisposableBean;
+
+    /**
+     * 自定义的销毁方法，创建适配器时就查找好
+     */
+    private final Method destroyMethod;
+
+    public DisposableBeanAdapter(String beanName, Object bean, BeanDefinition beanDefinition) {
+        this.beanName = beanName;
+        this.bean = bean;
+        this.invokeDisposableBean = bean instanceof DisposableBean;
+        String destroyMethodName = beanDefinition.getDestroyMethodName();
+        if (!Strings.isNullOrEmpty(destroyMethodName) && !(this.invokeDisposableBean && "destroy".equals(destroyMethodName))) {
+            this.destroyMethod = findDestroyMethod(bean.getClass(), destroyMethodName);
+        } else {
+            this.destroyMethod = null;
+        }
+    }
+
+    /**
+     * bean 是否有需要调用的销毁回调
+     *
+     * @param bean           bean 的实例
+     * @param beanDefinition bean 的定义元信息
+     */
+    public static boolean hasDestroyMethod(Object bean, BeanDefinition beanDefinition) {
+        return bean instanceof DisposableBean || !Strings.isNullOrEmpty(beanDefinition.getDestroyMethodName());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.invokeDisposableBean) {
+            ((DisposableBean) this.bean).destroy();
+        }
+        if (this.destroyMethod != null) {
+            try {
+                this.destroyMethod.invoke(this.bean);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getTargetException();
+                throw cause instanceof Exception ? (Exception) cause : new BeansException(cause);
+            }
+        }
+    }
+
+    /**
+     * 查找无参的销毁方法，先找当前类声明的，再往父类找
+     */
+    private Method findDestroyMethod(Class<?> beanClass, String destroyMethodName) {
+        for (Class<?> clazz = beanClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.getName().equals(destroyMethodName) && method.getParameterCount() == 0) {
+                    method.setAccessible(true);
+                    return method;
+                }
+            }
+        }
+        throw new BeansException("Could not find a destroy method named '" + destroyMethodName + "' on bean with name '" + this.beanName + "'");
+    }
+
+    @Override
+    public String toString() {
+        return "DisposableBeanAdapter for bean '" + this.beanName + "'";
+    }
+
+}
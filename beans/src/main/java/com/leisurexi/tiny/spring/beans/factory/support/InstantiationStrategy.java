@@ -0,0 +1,40 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * bean 的实例化策略，负责调用构造器创建 bean 的实例
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 14:00
+ * @see SimpleInstantiationStrategy
+ * @see MethodHandleInstantiationStrategy
+ * @since 0.0.6
+ */
+public interface InstantiationStrategy {
+
+    /**
+     * 使用默认构造器实例化 bean
+     *
+     * @param beanDefinition bean 的定义元信息
+     * @param beanName       bean 的名称
+     * @return bean 的实例
+     * @throws BeansException 实例化失败
+     */
+    Object instantiate(BeanDefinition beanDefinition, String beanName) throws BeansException;
+
+    /**
+     * 使用指定的构造器实例化 bean
+     *
+     * @param beanDefinition bean 的定义元信息
+     * @param beanName       bean 的名称
+     * @param constructor    构造器
+     * @param args           构造器参数
+     * @return bean 的实例
+     * @throws BeansException 实例化失败
+     */
+    Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor<?> constructor, Object... args) throws BeansException;
+
+}
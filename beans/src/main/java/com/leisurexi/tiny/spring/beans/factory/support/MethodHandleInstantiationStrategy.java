@@ -0,0 +1,195 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * 基于 {@link MethodHandle} 的实例化策略，默认使用的实例化策略。
+ * <p>
+ * 每个 bean 定义第一次实例化时为构造器创建一个 {@link BeanInstantiator} 并缓存在 {@link BeanDefinition} 中，
+ * 之后的实例化直接调用，不再经过反射：
+ * <ul>
+ *     <li>公共类的公共无参构造器，通过 {@link LambdaMetafactory} 生成一个 {@link Supplier}，和直接 new 一样可以被 JIT 内联</li>
+ *     <li>其它构造器使用 {@link MethodHandle}，参数通过数组展开传入</li>
+ *     <li>构造器无法访问的情况下，回退到父类的反射方式</li>
+ * </ul>
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 14:15
+ * @since 0.0.6
+ */
+@Slf4j
+public class MethodHandleInstantiationStrategy extends SimpleInstantiationStrategy {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+
+    private static final MethodType SUPPLIER_GET_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType SPREAD_INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, String beanName) throws BeansException {
+        BeanInstantiator instantiator = beanDefinition.getInstantiator();
+        // bean 定义指向了别的类型时，缓存的实例化器不再适用
+        if (instantiator == null || instantiator.getConstructor().getParameterCount() != 0
+                || instantiator.getConstructor().getDeclaringClass() != beanDefinition.getBeanClass()) {
+            instantiator = createInstantiator(beanDefinition, getDefaultConstructor(beanDefinition, beanName));
+        }
+        return doInstantiate(instantiator, beanName);
+    }
+
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor<?> constructor, Object... args) throws BeansException {
+        BeanInstantiator instantiator = beanDefinition.getInstantiator();
+        if (instantiator == null || !instantiator.getConstructor().equals(constructor)) {
+            instantiator = createInstantiator(beanDefinition, constructor);
+        }
+        return doInstantiate(instantiator, beanName, args);
+    }
+
+    private Object doInstantiate(BeanInstantiator instantiator, String beanName, Object... args) {
+        try {
+            return instantiator.instantiate(args);
+        } catch (BeansException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeansException("Failed to instantiate bean '" + beanName + "': constructor threw exception", e);
+        }
+    }
+
+    /**
+     * 为构造器创建实例化器并缓存到 bean 定义中
+     */
+    private BeanInstantiator createInstantiator(BeanDefinition beanDefinition, Constructor<?> constructor) {
+        BeanInstantiator instantiator;
+        try {
+            if (constructor.getParameterCount() == 0 && isLambdaCapable(constructor)) {
+                instantiator = new SupplierInstantiator(constructor, createSupplier(constructor));
+            } else {
+                instantiator = new MethodHandleInstantiator(constructor, createSpreadInvoker(constructor));
+            }
+        } catch (Throwable e) {
+            log.debug("Falling back to reflective instantiation for constructor [{}]: {}", constructor, e.toString());
+            instantiator = new ReflectiveInstantiator(constructor);
+        }
+        beanDefinition.setInstantiator(instantiator);
+        return instantiator;
+    }
+
+    /**
+     * 公共类的公共构造器，并且 bean 的类型能被当前类的类加载器看到，才能生成 Lambda
+     */
+    private static boolean isLambdaCapable(Constructor<?> constructor) {
+        Class<?> clazz = constructor.getDeclaringClass();
+        if (!Modifier.isPublic(clazz.getModifiers()) || !Modifier.isPublic(constructor.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, MethodHandleInstantiationStrategy.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> createSupplier(Constructor<?> constructor) throws Throwable {
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "get", SUPPLIER_FACTORY_TYPE, SUPPLIER_GET_TYPE,
+                handle, MethodType.methodType(constructor.getDeclaringClass()));
+        return (Supplier<Object>) callSite.getTarget().invokeExact();
+    }
+
+    /**
+     * 创建 {@code (Object[]) -> Object} 形式的 MethodHandle，非公共的构造器先设置为可访问
+     */
+    private static MethodHandle createSpreadInvoker(Constructor<?> constructor) throws IllegalAccessException {
+        constructor.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+        return handle.asSpreader(Object[].class, constructor.getParameterCount()).asType(SPREAD_INVOKER_TYPE);
+    }
+
+    /**
+     * 通过 LambdaMetafactory 生成的 Supplier 调用无参构造器
+     */
+    private static final class SupplierInstantiator implements BeanInstantiator {
+
+        private final Constructor<?> constructor;
+
+        private final Supplier<Object> supplier;
+
+        SupplierInstantiator(Constructor<?> constructor, Supplier<Object> supplier) {
+            this.constructor = constructor;
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Constructor<?> getConstructor() {
+            return this.constructor;
+        }
+
+        @Override
+        public Object instantiate(Object... args) {
+            return this.supplier.get();
+        }
+    }
+
+    /**
+     * 通过 MethodHandle 调用构造器
+     */
+    private static final class MethodHandleInstantiator implements BeanInstantiator {
+
+        private final Constructor<?> constructor;
+
+        private final MethodHandle handle;
+
+        MethodHandleInstantiator(Constructor<?> constructor, MethodHandle handle) {
+            this.constructor = constructor;
+            this.handle = handle;
+        }
+
+        @Override
+        public Constructor<?> getConstructor() {
+            return this.constructor;
+        }
+
+        @Override
+        public Object instantiate(Object... args) throws Throwable {
+            return (Object) this.handle.invokeExact(args);
+        }
+    }
+
+    /**
+     * 无法创建 MethodHandle 时回退到反射调用构造器
+     */
+    private static final class ReflectiveInstantiator implements BeanInstantiator {
+
+        private final Constructor<?> constructor;
+
+        ReflectiveInstantiator(Constructor<?> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        public Constructor<?> getConstructor() {
+            return this.constructor;
+        }
+
+        @Override
+        public Object instantiate(Object... args) throws Throwable {
+            try {
+                return this.constructor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+}
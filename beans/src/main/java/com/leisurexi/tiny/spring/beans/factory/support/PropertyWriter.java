@@ -0,0 +1,124 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * bean 某个属性的写入器，优先使用公共的 setter 方法，没有的话直接写字段。
+ * 创建时就解析好对应的 {@link MethodHandle}，写入时不再有反射查找
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 15:40
+ * @see PropertyWriterPlan
+ * @since 0.0.6
+ */
+public final class PropertyWriter {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 属性名称
+     */
+    private final String propertyName;
+
+    /**
+     * 属性类型，属性值会被转换为该类型
+     */
+    private final Class<?> propertyType;
+
+    /**
+     * {@code (Object, Object) -> void} 形式的写入方法
+     */
+    private final MethodHandle handle;
+
+    private PropertyWriter(String propertyName, Class<?> propertyType, MethodHandle handle) {
+        this.propertyName = propertyName;
+        this.propertyType = propertyType;
+        this.handle = handle;
+    }
+
+    /**
+     * 解析指定类型中某个属性的写入器
+     *
+     * @param beanClass    bean 的类型
+     * @param propertyName 属性名称
+     * @throws BeansException 属性不存在或者无法访问
+     */
+    public static PropertyWriter forProperty(Class<?> beanClass, String propertyName) throws BeansException {
+        Field field = findField(beanClass, propertyName);
+        Method setter = findSetter(beanClass, propertyName, field != null ? field.getType() : null);
+        try {
+            if (setter != null) {
+                setter.setAccessible(true);
+                return new PropertyWriter(propertyName, setter.getParameterTypes()[0], LOOKUP.unreflect(setter).asType(WRITER_TYPE));
+            }
+            if (field != null) {
+                field.setAccessible(true);
+                return new PropertyWriter(propertyName, field.getType(), LOOKUP.unreflectSetter(field).asType(WRITER_TYPE));
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new BeansException("Could not access property '" + propertyName + "' of bean class [" + beanClass.getName() + "]", e);
+        }
+        throw new BeansException("Invalid property '" + propertyName + "' of bean class [" + beanClass.getName() + "]");
+    }
+
+    /**
+     * 在类型及其父类中查找非静态字段
+     */
+    private static Field findField(Class<?> beanClass, String propertyName) {
+        for (Class<?> clazz = beanClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getName().equals(propertyName) && !Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查找公共的 setter 方法，字段存在时参数类型必须和字段类型一致
+     */
+    private static Method findSetter(Class<?> beanClass, String propertyName, Class<?> fieldType) {
+        String setterName = "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        for (Method method : beanClass.getMethods()) {
+            if (method.getName().equals(setterName) && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())
+                    && (fieldType == null || method.getParameterTypes()[0] == fieldType)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 写入属性值，值需要已经是属性类型
+     *
+     * @param bean  bean 的实例
+     * @param value 属性值
+     */
+    public void write(Object bean, Object value) throws BeansException {
+        try {
+            this.handle.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw new BeansException("Failed to set property '" + this.propertyName + "' of bean class [" + bean.getClass().getName() + "]", e);
+        }
+    }
+
+    public String getPropertyName() {
+        return this.propertyName;
+    }
+
+    public Class<?> getPropertyType() {
+        return this.propertyType;
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.PropertyValue;
+import com.leisurexi.tiny.spring.beans.PropertyValues;
+import com.leisurexi.tiny.spring.beans.convert.ConversionService;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 一组属性值的写入计划，把每个属性对应到解析好的 {@link PropertyWriter}。
+ * 字面量在构建计划时就转换为属性类型，只有引用别的 bean 的属性在写入时才需要解析；
+ * 计划构建一次后缓存在 {@link BeanDefinition} 中，该 bean 定义的所有实例共用
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 15:50
+ * @since 0.0.6
+ */
+public final class PropertyWriterPlan {
+
+    /**
+     * 计划对应的 bean 类型
+     */
+    private final Class<?> beanClass;
+
+    /**
+     * 计划对应的属性值，属性值变化后计划失效
+     */
+    private final PropertyValues propertyValues;
+
+    /**
+     * 构建计划时属性值的数量
+     */
+    private final int propertyCount;
+
+    private final PropertyWriter[] writers;
+
+    /**
+     * 转换好的字面量，或者写入时才需要解析的原始值
+     */
+    private final Object[] values;
+
+    /**
+     * 对应的值是否需要在写入时解析
+     */
+    private final boolean[] resolveOnWrite;
+
+    private PropertyWriterPlan(Class<?> beanClass, PropertyValues propertyValues, int propertyCount,
+                               PropertyWriter[] writers, Object[] values, boolean[] resolveOnWrite) {
+        this.beanClass = beanClass;
+        this.propertyValues = propertyValues;
+        this.propertyCount = propertyCount;
+        this.writers = writers;
+        this.values = values;
+        this.resolveOnWrite = resolveOnWrite;
+    }
+
+    /**
+     * 构建写入计划
+     *
+     * @param beanClass         bean 的类型
+     * @param propertyValues    属性值
+     * @param writerResolver    根据 bean 类型和属性名获取 {@link PropertyWriter}
+     * @param conversionService 类型转换服务，用于提前转换字面量
+     */
+    public static PropertyWriterPlan build(Class<?> beanClass, PropertyValues propertyValues,
+                                           BiFunction<Class<?>, String, PropertyWriter> writerResolver,
+                                           ConversionService conversionService) throws BeansException {
+        List<PropertyValue> list = propertyValues.getPropertyValues();
+        int size = list.size();
+        PropertyWriter[] writers = new PropertyWriter[size];
+        Object[] values = new Object[size];
+        boolean[] resolveOnWrite = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            PropertyValue propertyValue = list.get(i);
+            PropertyWriter writer = writerResolver.apply(beanClass, propertyValue.getName());
+            writers[i] = writer;
+            Object value = propertyValue.getValue();
+            if (value instanceof RuntimeBeanReference) {
+                values[i] = value;
+                resolveOnWrite[i] = true;
+            } else {
+                // XML 中配置的属性值都是字符串，提前转换为属性的类型
+                values[i] = conversionService.convert(value, writer.getPropertyType());
+            }
+        }
+        return new PropertyWriterPlan(beanClass, propertyValues, size, writers, values, resolveOnWrite);
+    }
+
+    /**
+     * 计划是否仍然适用于给定的 bean 类型和属性值
+     */
+    public boolean matches(Class<?> beanClass, PropertyValues propertyValues) {
+        return this.beanClass == beanClass && this.propertyValues == propertyValues
+                && this.propertyCount == propertyValues.getPropertyValues().size();
+    }
+
+    /**
+     * 按计划为 bean 写入属性值
+     *
+     * @param bean              bean 的实例
+     * @param valueResolver     解析引用别的 bean 的属性值
+     * @param conversionService 类型转换服务
+     */
+    public void apply(Object bean, BeanDefinitionValueResolver valueResolver, ConversionService conversionService) throws BeansException {
+        for (int i = 0; i < this.writers.length; i++) {
+            PropertyWriter writer = this.writers[i];
+            Object value = this.values[i];
+            if (this.resolveOnWrite[i]) {
+                value = conversionService.convert(valueResolver.resolveValueIfNecessary(writer.getPropertyName(), value), writer.getPropertyType());
+            }
+            writer.write(bean, value);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 只按注册顺序保存 bean 定义的简单注册中心，不是线程安全的。
+ * <p>
+ * 并行解析多个配置时，每个配置先注册到自己的 {@link SimpleBeanDefinitionRegistry} 中，
+ * 全部解析完后再按配置的顺序调用 {@link #registerTo(BeanDefinitionRegistry)}，最终的注册顺序和串行解析一致
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:05
+ * @since 0.0.6
+ */
+public class SimpleBeanDefinitionRegistry implements BeanDefinitionRegistry {
+
+    private final Map<String, BeanDefinition> beanDefinitionMap = new LinkedHashMap<>(64);
+
+    @Override
+    public void registryBeanDefinition(String beanName, BeanDefinition beanDefinition) throws BeansException {
+        BeanDefinition existingDefinition = this.beanDefinitionMap.putIfAbsent(beanName, beanDefinition);
+        if (existingDefinition != null) {
+            throw new BeansException(String.format("[%s] already existing definition. existing definition: [%s]", beanName, existingDefinition));
+        }
+    }
+
+    @Override
+    public boolean containsBeanDefinition(String beanName) {
+        return this.beanDefinitionMap.containsKey(beanName);
+    }
+
+    @Override
+    public int getBeanDefinitionCount() {
+        return this.beanDefinitionMap.size();
+    }
+
+    @Override
+    public List<String> getBeanDefinitionNames() {
+        return Collections.unmodifiableList(new ArrayList<>(this.beanDefinitionMap.keySet()));
+    }
+
+    /**
+     * 按注册顺序把所有的 bean 定义注册到目标注册中心
+     *
+     * @param registry 目标注册中心
+     * @return 注册的 bean 定义数量
+     */
+    public int registerTo(BeanDefinitionRegistry registry) {
+        for (Map.Entry<String, BeanDefinition> entry : this.beanDefinitionMap.entrySet()) {
+            registry.registryBeanDefinition(entry.getKey(), entry.getValue());
+        }
+        return this.beanDefinitionMap.size();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 基于反射的实例化策略，每次都通过 {@link Constructor#newInstance(Object...)} 创建实例
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 14:10
+ * @since 0.0.6
+ */
+public class SimpleInstantiationStrategy implements InstantiationStrategy {
+
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, String beanName) throws BeansException {
+        Constructor<?> constructor = getDefaultConstructor(beanDefinition, beanName);
+        return instantiate(beanDefinition, beanName, constructor);
+    }
+
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor<?> constructor, Object... args) throws BeansException {
+        try {
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw new BeansException("Failed to instantiate bean '" + beanName + "': constructor threw exception", e.getTargetException());
+        } catch (Exception e) {
+            throw new BeansException("Failed to instantiate bean '" + beanName + "'", e);
+        }
+    }
+
+    /**
+     * 获取 bean 类型的默认构造器
+     *
+     * @param beanDefinition bean 的定义元信息
+     * @param beanName       bean 的名称
+     * @return 无参构造器
+     * @throws BeansException bean 的类型是接口或者没有无参构造器
+     */
+    protected Constructor<?> getDefaultConstructor(BeanDefinition beanDefinition, String beanName) throws BeansException {
+        Class<?> clazz = beanDefinition.getBeanClass();
+        if (clazz.isInterface()) {
+            throw new BeansException("Specified class is an interface");
+        }
+        try {
+            return clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new BeansException("No default constructor found", e);
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.leisurexi.tiny.spring.beans.factory.support;
+
+import com.leisurexi.tiny.spring.beans.PropertyValue;
+import com.leisurexi.tiny.spring.beans.PropertyValues;
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.Function;
+
+import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.*;
+
+/**
+ * 单例 bean 之间的依赖图，并行提前初始化单例 bean 以及并行销毁单例 bean 时使用。
+ * <p>
+ * 依赖关系来自属性和构造器参数中的 {@link RuntimeBeanReference}、factoryBeanName、
+ * 工厂方法的参数以及自动注入的元信息。存在循环依赖的 bean（强连通分量）会合并成一个分量，
+ * 分量内的 bean 按注册顺序串行创建；分量按拓扑顺序排列，被依赖的分量总是排在前面。
+ * 没有在 bean 定义里声明的依赖（比如 {@code @Autowired}）不在图里，创建时按需获取
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 12:10
+ * @since 0.0.6
+ */
+public class SingletonDependencyGraph {
+
+    /**
+     * 按拓扑顺序排列的强连通分量，每个分量内的 beanName 按注册顺序排列
+     */
+    private final List<List<String>> components;
+
+    /**
+     * 每个分量直接依赖的其它分量的下标，下标总是小于分量自身的下标
+     */
+    private final int[][] componentDependencies;
+
+    private SingletonDependencyGraph(List<List<String>> components, int[][] componentDependencies) {
+        this.components = components;
+        this.componentDependencies = componentDependencies;
+    }
+
+    /**
+     * 根据 bean 的定义元信息构建依赖图，只有 beanNames 中的 bean 会成为图中的节点
+     *
+     * @param beanFactory bean 工厂
+     * @param beanNames   需要创建的单例 bean 名称，按注册顺序排列
+     */
+    public static SingletonDependencyGraph build(DefaultListableBeanFactory beanFactory, List<String> beanNames) {
+        return of(beanNames, beanName -> resolveDependencies(beanFactory, beanFactory.getBeanDefinition(beanName)));
+    }
+
+    /**
+     * 根据给定的依赖关系构建依赖图，只有 beanNames 中的 bean 会成为图中的节点
+     *
+     * @param beanNames    图中的 bean 名称，按注册顺序排列
+     * @param dependencies 返回每个 bean 依赖的 bean 名称
+     * @since 0.0.6
+     */
+    public static SingletonDependencyGraph of(List<String> beanNames, Function<String, ? extends Collection<String>> dependencies) {
+        int size = beanNames.size();
+        Map<String, Integer> indexes = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            indexes.put(beanNames.get(i), i);
+        }
+        int[][] edges = new int[size][];
+        for (int i = 0; i < size; i++) {
+            Collection<String> beanDependencies = dependencies.apply(beanNames.get(i));
+            int[] targets = new int[beanDependencies.size()];
+            int count = 0;
+            for (String dependency : beanDependencies) {
+                Integer index = indexes.get(dependency);
+                if (index != null && index != i) {
+                    targets[count++] = index;
+                }
+            }
+            edges[i] = Arrays.copyOf(targets, count);
+        }
+        return fromEdges(beanNames, edges);
+    }
+
+    /**
+     * 用 Tarjan 算法找出强连通分量。一个分量出栈时，它依赖的分量都已经出栈，
+     * 所以分量的产生顺序就是拓扑顺序。使用显式的栈，依赖链很长时也不会栈溢出
+     */
+    private static SingletonDependencyGraph fromEdges(List<String> beanNames, int[][] edges) {
+        int size = beanNames.size();
+        int[] order = new int[size];
+        int[] lowLink = new int[size];
+        int[] componentOf = new int[size];
+        int[] edgeCursor = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] componentStack = new int[size];
+        int[] callStack = new int[size];
+        Arrays.fill(order, -1);
+        int counter = 0;
+        int componentTop = 0;
+        List<List<String>> components = new ArrayList<>();
+
+        for (int root = 0; root < size; root++) {
+            if (order[root] != -1) {
+                continue;
+            }
+            int callTop = 0;
+            callStack[callTop++] = root;
+            order[root] = lowLink[root] = counter++;
+            componentStack[componentTop++] = root;
+            onStack[root] = true;
+            while (callTop > 0) {
+                int node = callStack[callTop - 1];
+                if (edgeCursor[node] < edges[node].length) {
+                    int next = edges[node][edgeCursor[node]++];
+                    if (order[next] == -1) {
+                        callStack[callTop++] = next;
+                        order[next] = lowLink[next] = counter++;
+                        componentStack[componentTop++] = next;
+                        onStack[next] = true;
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], order[next]);
+                    }
+                    continue;
+                }
+                callTop--;
+                if (lowLink[node] == order[node]) {
+                    int componentIndex = components.size();
+                    List<Integer> members = new ArrayList<>();
+                    int member;
+                    do {
+                        member = componentStack[--componentTop];
+                        onStack[member] = false;
+                        componentOf[member] = componentIndex;
+                        members.add(member);
+                    } while (member != node);
+                    // 循环依赖的 bean 按注册顺序串行创建，保证结果是确定的
+                    Collections.sort(members);
+                    List<String> names = new ArrayList<>(members.size());
+                    for (Integer index : members) {
+                        names.add(beanNames.get(index));
+                    }
+                    components.add(names);
+                }
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+
+        List<Set<Integer>> dependencies = new ArrayList<>(components.size());
+        for (int i = 0; i < components.size(); i++) {
+            dependencies.add(new TreeSet<>());
+        }
+        for (int node = 0; node < size; node++) {
+            for (int next : edges[node]) {
+                if (componentOf[node] != componentOf[next]) {
+                    dependencies.get(componentOf[node]).add(componentOf[next]);
+                }
+            }
+        }
+        int[][] componentDependencies = new int[components.size()][];
+        for (int i = 0; i < components.size(); i++) {
+            componentDependencies[i] = dependencies.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new SingletonDependencyGraph(components, componentDependencies);
+    }
+
+    /**
+     * 解析 bean 定义里声明的依赖
+     */
+    private static Set<String> resolveDependencies(DefaultListableBeanFactory beanFactory, BeanDefinition beanDefinition) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        if (beanDefinition.getFactoryBeanName() != null) {
+            dependencies.add(beanDefinition.getFactoryBeanName());
+        }
+        if (beanDefinition.getFactoryMethod() != null) {
+            for (Class<?> parameterType : beanDefinition.getFactoryMethod().getParameterTypes()) {
+                dependencies.addAll(beanFactory.beanNamesForType(parameterType));
+            }
+        }
+        PropertyValues propertyValues = beanDefinition.getPropertyValues();
+        if (propertyValues != null) {
+            for (PropertyValue propertyValue : propertyValues) {
+                addReference(dependencies, propertyValue.getValue());
+            }
+        }
+        if (beanDefinition.hasConstructorArgumentValues()) {
+            for (Object value : beanDefinition.getConstructorArgumentValues().getArgumentsValues().values()) {
+                addReference(dependencies, value);
+            }
+        }
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        if (beanClass == null) {
+            return dependencies;
+        }
+        int autowireMode = beanDefinition.getAutowireMode();
+        if (autowireMode == AUTOWIRE_CONSTRUCTOR) {
+            // 构造器自动注入会依次尝试所有的构造器，每个构造器的参数都可能被获取
+            for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
+                for (Class<?> parameterType : constructor.getParameterTypes()) {
+                    dependencies.addAll(beanFactory.beanNamesForType(parameterType));
+                }
+            }
+        } else if (autowireMode == AUTOWIRE_BY_NAME || autowireMode == AUTOWIRE_BY_TYPE) {
+            // 和 populateBean 保持一致，只有存在同名 bean 定义的属性才会被注入
+            for (Field field : beanClass.getDeclaredFields()) {
+                String propertyName = field.getName();
+                if ((propertyValues != null && propertyValues.contains(propertyName)) || !beanFactory.containsBeanDefinition(propertyName)) {
+                    continue;
+                }
+                if (autowireMode == AUTOWIRE_BY_NAME) {
+                    dependencies.add(propertyName);
+                } else if (Object.class != field.getType()) {
+                    dependencies.addAll(beanFactory.beanNamesForType(field.getType()));
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private static void addReference(Set<String> dependencies, Object value) {
+        if (value instanceof RuntimeBeanReference) {
+            dependencies.add(((RuntimeBeanReference) value).getBeanName());
+        }
+    }
+
+    /**
+     * 按拓扑顺序排列的强连通分量
+     */
+    public List<List<String>> getComponents() {
+        return this.components;
+    }
+
+    /**
+     * 指定分量直接依赖的分量下标
+     *
+     * @param componentIndex 分量的下标
+     */
+    public int[] getComponentDependencies(int componentIndex) {
+        return this.componentDependencies[componentIndex];
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.leisurexi.tiny.spring.beans.factory.support.snapshot;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * bean 定义快照文件的格式，所有数字都是大端序：
+ * <pre>
+ * 文件头    magic(int) version(short) fingerprint(string)
+ * 字符串表  count(int) { length(int) UTF-8 bytes }
+ * bean 定义 count(int) { definition }
+ * </pre>
+ * 类名、方法名、属性名等字符串都只在字符串表中出现一次，bean 定义中用下标（int，{@code -1} 表示 null）引用。
+ * 文件头中的 fingerprint 是生成快照时配置文件的指纹，配置文件变化后快照失效；格式变化时提升 {@link #VERSION}
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:30
+ * @see BeanDefinitionSnapshotWriter
+ * @see BeanDefinitionSnapshotReader
+ * @since 0.0.6
+ */
+public final class BeanDefinitionSnapshot {
+
+    /**
+     * 文件开头的魔数，"TSBD"
+     */
+    static final int MAGIC = 0x54534244;
+
+    static final short VERSION = 1;
+
+    static final int NULL_INDEX = -1;
+
+    static final byte LAZY_INIT_DEFAULT = 0;
+
+    static final byte LAZY_INIT_FALSE = 1;
+
+    static final byte LAZY_INIT_TRUE = 2;
+
+    /**
+     * 属性值和构造器参数值的类型标记
+     */
+    static final byte VALUE_NULL = 0;
+
+    static final byte VALUE_STRING = 1;
+
+    static final byte VALUE_REFERENCE = 2;
+
+    static final byte VALUE_INTEGER = 3;
+
+    static final byte VALUE_LONG = 4;
+
+    static final byte VALUE_BOOLEAN = 5;
+
+    static final byte VALUE_DOUBLE = 6;
+
+    private BeanDefinitionSnapshot() {
+    }
+
+    /**
+     * 计算配置文件的指纹，按给定的顺序对所有文件的内容做 SHA-256
+     *
+     * @param resources 生成 bean 定义的配置文件
+     */
+    public static String fingerprint(Resource... resources) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Resource resource : resources) {
+            try {
+                // 文件资源直接读取或内存映射，不经过输入流复制
+                digest.update(resource.getByteBuffer());
+            } catch (IOException e) {
+                throw new BeansException("Failed to fingerprint resource " + resource, e);
+            }
+            // 分隔不同的文件，避免内容拼接后相同
+            digest.update((byte) 0);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
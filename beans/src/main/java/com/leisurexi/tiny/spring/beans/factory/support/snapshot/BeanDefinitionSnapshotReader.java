@@ -0,0 +1,196 @@
+package com.leisurexi.tiny.spring.beans.factory.support.snapshot;
+
+import com.leisurexi.tiny.spring.beans.PropertyValue;
+import com.leisurexi.tiny.spring.beans.PropertyValues;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.config.ConstructorArgumentValues;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.leisurexi.tiny.spring.beans.factory.support.snapshot.BeanDefinitionSnapshot.*;
+
+/**
+ * 通过内存映射读取 bean 定义快照，直接注册进注册中心，不需要解析 XML 或者扫描类路径。
+ * 快照不存在、格式版本不一致或者配置文件的指纹不一致时不会注册任何 bean 定义
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:30
+ * @see BeanDefinitionSnapshot
+ * @since 0.0.6
+ */
+@Slf4j
+public class BeanDefinitionSnapshotReader {
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>(16);
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class,
+                long.class, float.class, double.class, void.class}) {
+            PRIMITIVE_TYPES.put(type.getName(), type);
+        }
+    }
+
+    private final BeanDefinitionRegistry registry;
+
+    private final ClassLoader classLoader;
+
+    public BeanDefinitionSnapshotReader(BeanDefinitionRegistry registry, ClassLoader classLoader) {
+        this.registry = registry;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 读取快照并注册其中的 bean 定义
+     *
+     * @param file        快照文件
+     * @param fingerprint 当前配置文件的指纹
+     * @return 注册的 bean 定义数量，快照不存在或者已经失效时返回 {@code -1}
+     */
+    public int loadBeanDefinitions(Path file, String fingerprint) throws BeansException {
+        if (!Files.isRegularFile(file)) {
+            return -1;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new BeansException("Failed to map bean definition snapshot [" + file + "]", e);
+        }
+        try {
+            if (buffer.remaining() < 6 || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                log.debug("Ignoring bean definition snapshot [{}] with unknown format", file);
+                return -1;
+            }
+            if (!fingerprint.equals(readString(buffer))) {
+                log.debug("Bean definition snapshot [{}] is stale", file);
+                return -1;
+            }
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                readBeanDefinition(buffer, strings);
+            }
+            log.debug("Loaded {} bean definitions from snapshot [{}]", count, file);
+            return count;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new BeansException("Corrupted bean definition snapshot [" + file + "]", e);
+        }
+    }
+
+    private void readBeanDefinition(ByteBuffer buffer, String[] strings) {
+        String beanName = string(strings, buffer.getInt());
+        String beanClassName = string(strings, buffer.getInt());
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setBeanClassName(beanClassName);
+        if (beanClassName != null) {
+            beanDefinition.setBeanClass(loadClass(beanClassName));
+        }
+        beanDefinition.setScope(string(strings, buffer.getInt()));
+        beanDefinition.setAutowireMode(buffer.get());
+        byte lazyInit = buffer.get();
+        if (lazyInit != LAZY_INIT_DEFAULT) {
+            beanDefinition.setLazyInit(lazyInit == LAZY_INIT_TRUE);
+        }
+        beanDefinition.setInitMethodName(string(strings, buffer.getInt()));
+        beanDefinition.setDestroyMethodName(string(strings, buffer.getInt()));
+        beanDefinition.setFactoryBeanName(string(strings, buffer.getInt()));
+        int factoryClassIndex = buffer.getInt();
+        if (factoryClassIndex != NULL_INDEX) {
+            Class<?> factoryClass = loadClass(strings[factoryClassIndex]);
+            String methodName = strings[buffer.getInt()];
+            Class<?>[] parameterTypes = new Class<?>[buffer.getInt()];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = loadClass(strings[buffer.getInt()]);
+            }
+            try {
+                beanDefinition.setFactoryMethod(factoryClass.getDeclaredMethod(methodName, parameterTypes));
+            } catch (NoSuchMethodException e) {
+                throw new BeansException("Factory method [" + methodName + "] of bean [" + beanName + "] no longer exists", e);
+            }
+        }
+
+        int propertyCount = buffer.getInt();
+        if (propertyCount == NULL_INDEX) {
+            beanDefinition.setPropertyValues(null);
+        } else {
+            PropertyValues propertyValues = new PropertyValues();
+            for (int i = 0; i < propertyCount; i++) {
+                String name = strings[buffer.getInt()];
+                propertyValues.addPropertyValues(new PropertyValue(name, readValue(buffer, strings)));
+            }
+            beanDefinition.setPropertyValues(propertyValues);
+        }
+        int argumentCount = buffer.getInt();
+        if (argumentCount != NULL_INDEX) {
+            ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
+            for (int i = 0; i < argumentCount; i++) {
+                int index = buffer.getInt();
+                constructorArgumentValues.addIndexArgumentValue(index, readValue(buffer, strings));
+            }
+            beanDefinition.setConstructorArgumentValues(constructorArgumentValues);
+        }
+        this.registry.registryBeanDefinition(beanName, beanDefinition);
+    }
+
+    private Object readValue(ByteBuffer buffer, String[] strings) {
+        byte type = buffer.get();
+        switch (type) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return strings[buffer.getInt()];
+            case VALUE_REFERENCE:
+                return new RuntimeBeanReference(strings[buffer.getInt()]);
+            case VALUE_INTEGER:
+                return buffer.getInt();
+            case VALUE_LONG:
+                return buffer.getLong();
+            case VALUE_BOOLEAN:
+                return buffer.get() != 0;
+            case VALUE_DOUBLE:
+                return buffer.getDouble();
+            default:
+                throw new BeansException("Unknown value type [" + type + "] in bean definition snapshot");
+        }
+    }
+
+    private Class<?> loadClass(String className) {
+        Class<?> primitiveType = PRIMITIVE_TYPES.get(className);
+        if (primitiveType != null) {
+            return primitiveType;
+        }
+        try {
+            return Class.forName(className, false, this.classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new BeansException(e);
+        }
+    }
+
+    private static String string(String[] strings, int index) {
+        return index == NULL_INDEX ? null : strings[index];
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
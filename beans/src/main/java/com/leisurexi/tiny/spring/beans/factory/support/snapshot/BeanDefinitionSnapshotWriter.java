@@ -0,0 +1,180 @@
+package com.leisurexi.tiny.spring.beans.factory.support.snapshot;
+
+import com.leisurexi.tiny.spring.beans.PropertyValue;
+import com.leisurexi.tiny.spring.beans.PropertyValues;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.ConstructorArgumentValues;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.leisurexi.tiny.spring.beans.factory.support.snapshot.BeanDefinitionSnapshot.*;
+
+/**
+ * 把 bean 工厂中已经注册的 bean 定义写成快照文件，类型只保存类名。
+ * 属性值和构造器参数只支持字符串、bean 引用以及 int、long、boolean、double 的包装类型，
+ * 其它类型的值无法写入快照，会抛出 {@link BeansException}
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:30
+ * @see BeanDefinitionSnapshot
+ * @since 0.0.6
+ */
+@Slf4j
+public class BeanDefinitionSnapshotWriter {
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>(256);
+
+    /**
+     * 写入快照文件，先写临时文件再替换，读取方不会读到写了一半的文件
+     *
+     * @param beanFactory bean 工厂
+     * @param beanNames   需要写入的 bean 名称，按注册顺序排列
+     * @param file        快照文件
+     * @param fingerprint 配置文件的指纹
+     */
+    public void write(DefaultListableBeanFactory beanFactory, List<String> beanNames, Path file, String fingerprint) {
+        this.strings.clear();
+        // 先写 bean 定义，同时收集字符串表，字符串表要写在 bean 定义前面
+        ByteArrayOutputStream definitions = new ByteArrayOutputStream(beanNames.size() * 64);
+        try {
+            DataOutputStream output = new DataOutputStream(definitions);
+            output.writeInt(beanNames.size());
+            for (String beanName : beanNames) {
+                writeBeanDefinition(output, beanName, beanFactory.getBeanDefinition(beanName));
+            }
+            output.flush();
+
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile);
+                 DataOutputStream fileOutput = new DataOutputStream(new BufferedOutputStream(outputStream, 64 * 1024))) {
+                fileOutput.writeInt(MAGIC);
+                fileOutput.writeShort(VERSION);
+                writeBytes(fileOutput, encode(fingerprint));
+                fileOutput.writeInt(this.strings.size());
+                for (String value : this.strings.keySet()) {
+                    writeBytes(fileOutput, encode(value));
+                }
+                definitions.writeTo(fileOutput);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new BeansException("Failed to write bean definition snapshot [" + file + "]", e);
+        }
+        log.debug("Wrote {} bean definitions to snapshot [{}]", beanNames.size(), file);
+    }
+
+    private void writeBeanDefinition(DataOutputStream output, String beanName, BeanDefinition beanDefinition) throws IOException {
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        String beanClassName = beanDefinition.getBeanClassName() != null ? beanDefinition.getBeanClassName()
+                : beanClass != null ? beanClass.getName() : null;
+        output.writeInt(index(beanName));
+        output.writeInt(index(beanClassName));
+        output.writeInt(index(beanDefinition.getScope()));
+        output.writeByte(beanDefinition.getAutowireMode());
+        Boolean lazyInit = beanDefinition.getLazyInit();
+        output.writeByte(lazyInit == null ? LAZY_INIT_DEFAULT : lazyInit ? LAZY_INIT_TRUE : LAZY_INIT_FALSE);
+        output.writeInt(index(beanDefinition.getInitMethodName()));
+        output.writeInt(index(beanDefinition.getDestroyMethodName()));
+        output.writeInt(index(beanDefinition.getFactoryBeanName()));
+        Method factoryMethod = beanDefinition.getFactoryMethod();
+        if (factoryMethod == null) {
+            output.writeInt(NULL_INDEX);
+        } else {
+            output.writeInt(index(factoryMethod.getDeclaringClass().getName()));
+            output.writeInt(index(factoryMethod.getName()));
+            Class<?>[] parameterTypes = factoryMethod.getParameterTypes();
+            output.writeInt(parameterTypes.length);
+            for (Class<?> parameterType : parameterTypes) {
+                output.writeInt(index(parameterType.getName()));
+            }
+        }
+
+        PropertyValues propertyValues = beanDefinition.getPropertyValues();
+        if (propertyValues == null) {
+            output.writeInt(NULL_INDEX);
+        } else {
+            output.writeInt(propertyValues.getPropertyValues().size());
+            for (PropertyValue propertyValue : propertyValues) {
+                output.writeInt(index(propertyValue.getName()));
+                writeValue(output, beanName, propertyValue.getValue());
+            }
+        }
+        ConstructorArgumentValues constructorArgumentValues = beanDefinition.getConstructorArgumentValues();
+        if (constructorArgumentValues == null) {
+            output.writeInt(NULL_INDEX);
+        } else {
+            output.writeInt(constructorArgumentValues.getArgumentCount());
+            for (Map.Entry<Integer, Object> entry : constructorArgumentValues.getArgumentsValues().entrySet()) {
+                output.writeInt(entry.getKey());
+                writeValue(output, beanName, entry.getValue());
+            }
+        }
+    }
+
+    private void writeValue(DataOutputStream output, String beanName, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(VALUE_STRING);
+            output.writeInt(index((String) value));
+        } else if (value instanceof RuntimeBeanReference) {
+            output.writeByte(VALUE_REFERENCE);
+            output.writeInt(index(((RuntimeBeanReference) value).getBeanName()));
+        } else if (value instanceof Integer) {
+            output.writeByte(VALUE_INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(VALUE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(VALUE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            output.writeByte(VALUE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else {
+            throw new BeansException("Bean [" + beanName + "] has a value of type [" + value.getClass().getName()
+                    + "] which cannot be written to a snapshot");
+        }
+    }
+
+    private int index(String value) {
+        if (value == null) {
+            return NULL_INDEX;
+        }
+        Integer index = this.strings.get(value);
+        if (index == null) {
+            index = this.strings.size();
+            this.strings.put(value, index);
+        }
+        return index;
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+}
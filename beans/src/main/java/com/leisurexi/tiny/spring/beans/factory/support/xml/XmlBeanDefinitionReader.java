@@ -9,21 +9,34 @@ import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
 import com.leisurexi.tiny.spring.beans.factory.support.AbstractBeanDefinitionReader;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.leisurexi.tiny.spring.beans.factory.support.SimpleBeanDefinitionRegistry;
+import com.leisurexi.tiny.spring.beans.io.PathMatchingResourcePatternResolver;
+import com.leisurexi.tiny.spring.beans.io.Resource;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
 import lombok.extern.slf4j.Slf4j;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.*;
 
 /**
- * 从 XML 文件读取 Bean 配置实现
+ * 从 XML 文件读取 Bean 配置实现。
+ * <p>
+ * 使用 StAX 流式解析，读完一个 bean 节点就注册一个 bean 定义，内存占用只和单个 bean 节点的大小有关，
+ * 和文件大小无关。自定义命名空间的节点交给 {@link NamespaceHandler} 处理时，才会为该节点构建 DOM 元素。
+ * 解析时不感知命名空间，{@code context:component-scan} 这样没有声明前缀的节点名也可以使用
  *
  * @author: leisurexi
  * @date: 2020-04-04 7:11 下午
@@ -34,6 +47,11 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 
     private NamespaceHandler[] namespaceHandlers;
 
+    /**
+     * 创建 XMLStreamReader 的工厂，第一次加载时创建
+     */
+    private XMLInputFactory inputFactory;
+
     public XmlBeanDefinitionReader(BeanDefinitionRegistry registry) {
         super(registry);
     }
@@ -43,211 +61,440 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
         this.namespaceHandlers = namespaceHandlers;
     }
 
+    /**
+     * 加载指定路径的配置文件，路径可以是 {@code classpath*:config/**}{@code /*.xml} 这样的模式，
+     * 匹配的文件按顺序依次加载
+     */
     @Override
     public int loadBeanDefinitions(String location) throws BeansException {
-        InputStream inputStream;
+        if (!PathMatchingResourcePatternResolver.isPatternLocation(location)) {
+            return loadBeanDefinitions(getResourceLoader().getResource(location));
+        }
+        int count = 0;
+        for (Resource resource : getResourceLoader().getResources(location)) {
+            count += loadBeanDefinitions(resource);
+        }
+        return count;
+    }
+
+    /**
+     * 并行解析多个配置文件，每个文件先注册到各自的 {@link SimpleBeanDefinitionRegistry}，
+     * 全部解析完后按文件的顺序注册，注册顺序以及重复 bean 的检测结果都和串行加载一致。
+     * 解析期间 {@link NamespaceHandler} 只能看到当前文件中的 bean 定义
+     *
+     * @param locations 文件路径
+     * @return 此次加载 bean 的数量
+     * @since 0.0.6
+     */
+    public int loadBeanDefinitions(String... locations) throws BeansException {
+        if (locations.length == 1) {
+            return loadBeanDefinitions(locations[0]);
+        }
+        // 公共线程池中线程的上下文类加载器不一定是调用方的，组件扫描依赖它
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<CompletableFuture<SimpleBeanDefinitionRegistry>> futures = new ArrayList<>(locations.length);
+        for (String location : locations) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Thread thread = Thread.currentThread();
+                ClassLoader original = thread.getContextClassLoader();
+                thread.setContextClassLoader(classLoader);
+                try {
+                    SimpleBeanDefinitionRegistry buffer = new SimpleBeanDefinitionRegistry();
+                    XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(buffer, namespaceHandlers);
+                    reader.setApplicationStartup(getApplicationStartup());
+                    reader.loadBeanDefinitions(location);
+                    return buffer;
+                } finally {
+                    thread.setContextClassLoader(original);
+                }
+            }));
+        }
+        int count = 0;
         try {
-            inputStream = getResourceLoader().getResource(location).getInputStream();
-        } catch (IOException e) {
-            throw new BeansException(e);
+            for (CompletableFuture<SimpleBeanDefinitionRegistry> future : futures) {
+                count += future.join().registerTo(getBeanRegistry());
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new BeansException("Failed to load bean definitions", cause);
+        }
+        return count;
+    }
+
+    /**
+     * 从资源中读取并注册 bean definition，每个资源的加载记录为一个启动步骤
+     *
+     * @param resource XML 资源
+     * @return 此次加载 bean 的数量
+     * @since 0.0.6
+     */
+    public int loadBeanDefinitions(Resource resource) throws BeansException {
+        StartupStep step = getApplicationStartup().start("beans.load-bean-definitions")
+                .tag("resource", resource.toString());
+        try {
+            InputStream inputStream;
+            try {
+                inputStream = resource.getInputStream();
+            } catch (IOException e) {
+                throw new BeansException(e);
+            }
+            int count = doLoadBeanDefinitions(inputStream);
+            step.tag("beanCount", String.valueOf(count));
+            return count;
+        } finally {
+            step.end();
         }
-        return doLoadBeanDefinitions(inputStream);
     }
 
     /**
-     * 将输入流构建成 Document 然后解析并注册 bean definition
+     * 流式解析输入流，边读边注册 bean definition
      *
      * @param inputStream 输入流
      * @return 此次加载 bean 的数量
      */
     protected int doLoadBeanDefinitions(InputStream inputStream) {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder documentBuilder;
+        XMLStreamReader reader = null;
         try {
-            documentBuilder = factory.newDocumentBuilder();
-            Document document = documentBuilder.parse(inputStream);
+            reader = getInputFactory().createXMLStreamReader(inputStream);
             // 解析并注册 bean definition
-            return registerBeanDefinitions(document);
-        } catch (Exception e) {
+            return registerBeanDefinitions(reader);
+        } catch (XMLStreamException e) {
             throw new BeansException(e);
         } finally {
+            // 关闭失败只记录日志，不能在 finally 中抛出异常覆盖解析或者注册时的异常
+            try {
+                if (reader != null) {
+                    reader.close();
+                }
+            } catch (XMLStreamException e) {
+                log.warn("Could not close XML stream reader", e);
+            }
             try {
                 inputStream.close();
             } catch (IOException e) {
-                throw new BeansException(e);
+                log.warn("Could not close XML input stream", e);
             }
         }
     }
 
+    private XMLInputFactory getInputFactory() {
+        if (this.inputFactory == null) {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            this.inputFactory = factory;
+        }
+        return this.inputFactory;
+    }
+
     /**
      * 注册 BeanDefinition
      *
-     * @param document
+     * @param reader 位于文档开头的 XMLStreamReader
+     * @return 此文档中注册的 bean 数量，不受其它线程同时向注册中心注册 bean 的影响
      */
-    protected int registerBeanDefinitions(Document document) {
-        Element element = document.getDocumentElement();
-        int countBefore = getBeanRegistry().getBeanDefinitionCount();
-        parseBeanDefinitions(element);
-        return getBeanRegistry().getBeanDefinitionCount() - countBefore;
+    protected int registerBeanDefinitions(XMLStreamReader reader) throws XMLStreamException {
+        if (reader.nextTag() != XMLStreamReader.START_ELEMENT) {
+            throw new BeansException("XML document has no root element");
+        }
+        return parseBeanDefinitions(reader);
     }
 
     /**
-     * 解析 XML 节点中的内容，并转换为 BeanDefinition
+     * 解析根节点下的内容，并转换为 BeanDefinition
      *
-     * @param root 根节点
+     * @param reader 位于根节点开始标签的 XMLStreamReader
+     * @return 解析并注册的 bean 数量，包括 {@link NamespaceHandler} 注册的
      */
-    protected void parseBeanDefinitions(Element root) {
-        NodeList childNodes = root.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++) {
-            Node node = childNodes.item(i);
-            if (node instanceof Element) {
-                Element element = Element.class.cast(node);
-                if (element.getNodeName().equals("bean")) {
-                    processBeanDefinition(element);
-                } else {
-                    parseCustomElement(registry, element);
-                }
+    protected int parseBeanDefinitions(XMLStreamReader reader) throws XMLStreamException {
+        // 根节点 beans 上的默认配置，bean 节点没有指定时使用
+        String defaultLazyInit = reader.getAttributeValue(null, "default-lazy-init");
+        Document document = null;
+        int count = 0;
+        CountingBeanDefinitionRegistry countingRegistry = null;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamReader.END_ELEMENT) {
+                // 根节点结束
+                break;
+            }
+            if (event != XMLStreamReader.START_ELEMENT) {
+                continue;
             }
+            String nodeName = getNodeName(reader);
+            if (nodeName.equals("bean")) {
+                // 每个 bean 节点注册一个 bean 定义，注册失败时直接抛出异常
+                processBeanDefinition(reader, defaultLazyInit);
+                count++;
+                continue;
+            }
+            NamespaceHandler namespaceHandler = findNamespaceHandler(nodeName);
+            if (namespaceHandler == null) {
+                skipElement(reader);
+                continue;
+            }
+            if (document == null) {
+                document = newDocument();
+                countingRegistry = new CountingBeanDefinitionRegistry(registry);
+            }
+            namespaceHandler.parse(countingRegistry, readElement(reader, document));
         }
+        return countingRegistry != null ? count + countingRegistry.count : count;
     }
 
     /**
-     * 处理自定义命名空间
+     * 寻找节点名和命名空间一样的 {@link NamespaceHandler}
      *
-     * @param registry bean 注册中心
-     * @param element  节点
-     * @since 0.0.4
+     * @param nodeName 节点名
+     * @since 0.0.6
      */
-    private void parseCustomElement(BeanDefinitionRegistry registry, Element element) {
-        // 遍历 namespaceHandlers 寻找命名空间和节点命名空间开头一样的，然后去处理该节点
+    private NamespaceHandler findNamespaceHandler(String nodeName) {
         if (namespaceHandlers != null) {
             for (NamespaceHandler namespaceHandler : namespaceHandlers) {
-                if (element.getNodeName().equals(namespaceHandler.namespace())) {
-                    namespaceHandler.parse(registry, element);
+                if (nodeName.equals(namespaceHandler.namespace())) {
+                    return namespaceHandler;
                 }
             }
         }
+        return null;
     }
 
     /**
      * 解析 XML 节点 id 和 class 节点值，并为 beanDefinition 设置
      *
-     * @param element 节点
+     * @param reader          位于 bean 节点开始标签的 XMLStreamReader，处理完后位于结束标签
+     * @param defaultLazyInit 根节点上的 default-lazy-init
      * @since 0.0.2
      */
-    protected void processBeanDefinition(Element element) {
-        String id = element.getAttribute("id");
+    protected void processBeanDefinition(XMLStreamReader reader, String defaultLazyInit) throws XMLStreamException {
+        String id = reader.getAttributeValue(null, "id");
         if (Strings.isNullOrEmpty(id)) {
             throw new IllegalStateException("id attribute must bo not bull");
         }
-        String className = element.getAttribute("class");
+        String className = reader.getAttributeValue(null, "class");
         if (Strings.isNullOrEmpty(className)) {
             throw new IllegalStateException("className attribute must bo not bull");
         }
-        String scope = element.getAttribute("scope");
+        String scope = reader.getAttributeValue(null, "scope");
         if (Strings.isNullOrEmpty(scope)) {
             scope = "singleton";
         }
-        String autowire = element.getAttribute("autowire");
+        String autowire = reader.getAttributeValue(null, "autowire");
         if (Strings.isNullOrEmpty(autowire)) {
             autowire = "no";
         }
         int autowireMode = AUTOWIRE_NO;
-        if (autowire != null) {
-            if (!"no".equals(autowire) && !"byName".equals(autowire) && !"byType".equals(autowire) && !"constructor".equals(autowire)) {
-                throw new IllegalArgumentException("Attribute autowire only support 'no' or 'byName' or 'byType' or 'constructor'");
-            }
-            switch (autowire) {
-                case "byName":
-                    autowireMode = AUTOWIRE_BY_NAME;
-                    break;
-                case "byType":
-                    autowireMode = AUTOWIRE_BY_TYPE;
-                    break;
-                case "constructor":
-                    autowireMode = AUTOWIRE_CONSTRUCTOR;
-                    break;
-            }
+        if (!"no".equals(autowire) && !"byName".equals(autowire) && !"byType".equals(autowire) && !"constructor".equals(autowire)) {
+            throw new IllegalArgumentException("Attribute autowire only support 'no' or 'byName' or 'byType' or 'constructor'");
+        }
+        switch (autowire) {
+            case "byName":
+                autowireMode = AUTOWIRE_BY_NAME;
+                break;
+            case "byType":
+                autowireMode = AUTOWIRE_BY_TYPE;
+                break;
+            case "constructor":
+                autowireMode = AUTOWIRE_CONSTRUCTOR;
+                break;
         }
 
         // bean 初始化方法名称
-        String initMethodName = element.getAttribute("init-method");
+        String initMethodName = Strings.nullToEmpty(reader.getAttributeValue(null, "init-method"));
+
+        // bean 销毁方法名称
+        String destroyMethodName = Strings.nullToEmpty(reader.getAttributeValue(null, "destroy-method"));
+
+        // bean 是否延迟初始化，没有指定时使用根节点 beans 上的 default-lazy-init
+        String lazyInit = reader.getAttributeValue(null, "lazy-init");
+        if (Strings.isNullOrEmpty(lazyInit) || "default".equals(lazyInit)) {
+            lazyInit = defaultLazyInit;
+        }
 
         BeanDefinition beanDefinition = new BeanDefinition();
         beanDefinition.setBeanClassName(className);
         beanDefinition.setScope(scope);
         beanDefinition.setAutowireMode(autowireMode);
         beanDefinition.setInitMethodName(initMethodName);
+        beanDefinition.setDestroyMethodName(destroyMethodName);
+        if (!Strings.isNullOrEmpty(lazyInit) && !"default".equals(lazyInit)) {
+            if (!"true".equals(lazyInit) && !"false".equals(lazyInit)) {
+                throw new IllegalArgumentException("Attribute lazy-init only support 'true' or 'false' or 'default'");
+            }
+            beanDefinition.setLazyInit(Boolean.valueOf(lazyInit));
+        }
         try {
             beanDefinition.setBeanClass(Class.forName(className));
         } catch (ClassNotFoundException e) {
             throw new BeansException(e);
         }
-        processProperty(element, beanDefinition);
-        processConstructorArgs(element, beanDefinition);
+        PropertyValues propertyValues = new PropertyValues();
+        ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
+        // bean 节点下任意层级的 property 和 constructor-arg 节点都会被解析
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                depth++;
+                String nodeName = getNodeName(reader);
+                if (nodeName.equals("property")) {
+                    processProperty(reader, propertyValues);
+                } else if (nodeName.equals("constructor-arg")) {
+                    processConstructorArg(reader, constructorArgumentValues);
+                }
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                depth--;
+            }
+        }
+        beanDefinition.setPropertyValues(propertyValues);
+        beanDefinition.setConstructorArgumentValues(constructorArgumentValues);
         getBeanRegistry().registryBeanDefinition(id, beanDefinition);
         log.debug("加载 Bean: [{}]，具体信息: [{}]", id, beanDefinition);
     }
 
     /**
-     * 解析 XML 节点 constructor-arg 节点值，并为 beanDefinition 设置
+     * 解析 XML 节点 constructor-arg 节点值
      *
-     * @param element        节点
-     * @param beanDefinition bean 定义元信息
+     * @param reader                    位于 constructor-arg 节点开始标签的 XMLStreamReader
+     * @param constructorArgumentValues 构造器参数
      */
-    private void processConstructorArgs(Element element, BeanDefinition beanDefinition) {
-        NodeList constructorArgsNode = element.getElementsByTagName("constructor-arg");
-        ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
-        for (int i = 0; i < constructorArgsNode.getLength(); i++) {
-            Node node = constructorArgsNode.item(i);
-            if (node instanceof Element) {
-                Element constructorArgsEle = Element.class.cast(node);
-                Integer index = Integer.valueOf(constructorArgsEle.getAttribute("index"));
-                String value = constructorArgsEle.getAttribute("value");
-                String refName = constructorArgsEle.getAttribute("ref");
-                if (!Strings.isNullOrEmpty(value) && !Strings.isNullOrEmpty(refName)) {
-                    throw new IllegalArgumentException("Only allowed to contain either 'ref' attribute or 'value' attribute");
-                }
-                if (!Strings.isNullOrEmpty(value)) {
-                    constructorArgumentValues.addIndexArgumentValue(index, value);
-                } else {
-                    constructorArgumentValues.addIndexArgumentValue(index, new RuntimeBeanReference(refName));
-                }
-            }
+    private void processConstructorArg(XMLStreamReader reader, ConstructorArgumentValues constructorArgumentValues) {
+        Integer index = Integer.valueOf(Strings.nullToEmpty(reader.getAttributeValue(null, "index")));
+        String value = reader.getAttributeValue(null, "value");
+        String refName = reader.getAttributeValue(null, "ref");
+        if (!Strings.isNullOrEmpty(value) && !Strings.isNullOrEmpty(refName)) {
+            throw new IllegalArgumentException("Only allowed to contain either 'ref' attribute or 'value' attribute");
+        }
+        if (!Strings.isNullOrEmpty(value)) {
+            constructorArgumentValues.addIndexArgumentValue(index, value);
+        } else {
+            constructorArgumentValues.addIndexArgumentValue(index, new RuntimeBeanReference(Strings.nullToEmpty(refName)));
         }
-        beanDefinition.setConstructorArgumentValues(constructorArgumentValues);
     }
 
     /**
-     * 解析 XML 节点 property 节点值，并为 beanDefinition 设置
+     * 解析 XML 节点 property 节点值
      *
-     * @param element        节点
-     * @param beanDefinition bean 定义元信息
+     * @param reader         位于 property 节点开始标签的 XMLStreamReader
+     * @param propertyValues 属性值
      * @since 0.0.3
      */
-    private void processProperty(Element element, BeanDefinition beanDefinition) {
-        NodeList propertyNode = element.getElementsByTagName("property");
-        PropertyValues propertyValues = new PropertyValues();
-        for (int i = 0; i < propertyNode.getLength(); i++) {
-            Node node = propertyNode.item(i);
-            if (node instanceof Element) {
-                Element propertyEle = Element.class.cast(node);
-                String name = propertyEle.getAttribute("name");
-                String value = propertyEle.getAttribute("value");
-                String refName = propertyEle.getAttribute("ref");
-                PropertyValue propertyValue;
-                if (!Strings.isNullOrEmpty(value) && !Strings.isNullOrEmpty(refName)) {
-                    throw new IllegalArgumentException("Only allowed to contain either 'ref' attribute or 'value' attribute");
-                }
-                if (!Strings.isNullOrEmpty(value)) {
-                    propertyValue = new PropertyValue(name, value);
-                } else {
-                    propertyValue = new PropertyValue(name, new RuntimeBeanReference(refName));
-                }
-                propertyValues.addPropertyValues(propertyValue);
+    private void processProperty(XMLStreamReader reader, PropertyValues propertyValues) {
+        String name = Strings.nullToEmpty(reader.getAttributeValue(null, "name"));
+        String value = reader.getAttributeValue(null, "value");
+        String refName = reader.getAttributeValue(null, "ref");
+        PropertyValue propertyValue;
+        if (!Strings.isNullOrEmpty(value) && !Strings.isNullOrEmpty(refName)) {
+            throw new IllegalArgumentException("Only allowed to contain either 'ref' attribute or 'value' attribute");
+        }
+        if (!Strings.isNullOrEmpty(value)) {
+            propertyValue = new PropertyValue(name, value);
+        } else {
+            propertyValue = new PropertyValue(name, new RuntimeBeanReference(Strings.nullToEmpty(refName)));
+        }
+        propertyValues.addPropertyValues(propertyValue);
+    }
+
+    /**
+     * 把当前节点以及它的子节点读取成 DOM 元素，交给 {@link NamespaceHandler} 处理
+     *
+     * @param reader   位于节点开始标签的 XMLStreamReader，处理完后位于结束标签
+     * @param document 用来创建元素的文档
+     * @since 0.0.6
+     */
+    private Element readElement(XMLStreamReader reader, Document document) throws XMLStreamException {
+        Element element = document.createElement(getNodeName(reader));
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(getAttributeName(reader, i), reader.getAttributeValue(i));
+        }
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                element.appendChild(readElement(reader, document));
+            } else if (event == XMLStreamReader.CHARACTERS || event == XMLStreamReader.CDATA) {
+                element.appendChild(document.createTextNode(reader.getText()));
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                return element;
             }
         }
-        beanDefinition.setPropertyValues(propertyValues);
+    }
+
+    /**
+     * 跳过当前节点以及它的子节点
+     */
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private Document newDocument() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new BeansException(e);
+        }
+    }
+
+    /**
+     * 带前缀的节点名，和 DOM 中的 {@link Element#getNodeName()} 一致
+     */
+    private static String getNodeName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return Strings.isNullOrEmpty(prefix) ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    private static String getAttributeName(XMLStreamReader reader, int index) {
+        String prefix = reader.getAttributePrefix(index);
+        return Strings.isNullOrEmpty(prefix) ? reader.getAttributeLocalName(index) : prefix + ":" + reader.getAttributeLocalName(index);
+    }
+
+    /**
+     * 记录 {@link NamespaceHandler} 注册了多少个 bean 定义，其它操作直接交给实际的注册中心
+     *
+     * @since 0.0.6
+     */
+    private static final class CountingBeanDefinitionRegistry implements BeanDefinitionRegistry {
+
+        private final BeanDefinitionRegistry delegate;
+
+        private int count;
+
+        CountingBeanDefinitionRegistry(BeanDefinitionRegistry delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void registryBeanDefinition(String beanName, BeanDefinition beanDefinition) throws BeansException {
+            this.delegate.registryBeanDefinition(beanName, beanDefinition);
+            this.count++;
+        }
+
+        @Override
+        public boolean containsBeanDefinition(String beanName) {
+            return this.delegate.containsBeanDefinition(beanName);
+        }
+
+        @Override
+        public int getBeanDefinitionCount() {
+            return this.delegate.getBeanDefinitionCount();
+        }
+
+        @Override
+        public List<String> getBeanDefinitionNames() {
+            return this.delegate.getBeanDefinitionNames();
+        }
     }
 
 }
@@ -0,0 +1,65 @@
+package com.leisurexi.tiny.spring.beans.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 内存中的字节数组资源，读取时不复制数组
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:20
+ * @since 0.0.6
+ */
+public class ByteArrayResource implements Resource {
+
+    private final byte[] byteArray;
+
+    private final String description;
+
+    public ByteArrayResource(byte[] byteArray) {
+        this(byteArray, "resource loaded from byte array");
+    }
+
+    public ByteArrayResource(byte[] byteArray, String description) {
+        this.byteArray = byteArray;
+        this.description = description;
+    }
+
+    public byte[] getByteArray() {
+        return this.byteArray;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(this.byteArray);
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        return ByteBuffer.wrap(this.byteArray).asReadOnlyBuffer();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof ByteArrayResource
+                && Arrays.equals(this.byteArray, ((ByteArrayResource) other).byteArray));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.byteArray);
+    }
+
+    @Override
+    public String toString() {
+        return "Byte array resource [" + this.description + "]";
+    }
+
+}
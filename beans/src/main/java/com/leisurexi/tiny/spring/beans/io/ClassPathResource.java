@@ -0,0 +1,83 @@
+package com.leisurexi.tiny.spring.beans.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+
+/**
+ * 类路径中的资源，通过类加载器定位。目录中的资源按文件读取，jar 包中的资源按 {@link UrlResource} 读取
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:20
+ * @since 0.0.6
+ */
+public class ClassPathResource implements Resource {
+
+    private final String path;
+
+    private final ClassLoader classLoader;
+
+    public ClassPathResource(String path, ClassLoader classLoader) {
+        this.path = path.startsWith("/") ? path.substring(1) : path;
+        this.classLoader = classLoader;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * 资源的 URL，不存在时返回 {@code null}
+     */
+    public URL getURL() {
+        return this.classLoader != null ? this.classLoader.getResource(this.path) : ClassLoader.getSystemResource(this.path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return resolve().getInputStream();
+    }
+
+    @Override
+    public boolean exists() {
+        return getURL() != null;
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() throws IOException {
+        return resolve().getByteBuffer();
+    }
+
+    private UrlResource resolve() throws FileNotFoundException {
+        URL url = getURL();
+        if (url == null) {
+            throw new FileNotFoundException(this + " cannot be opened because it does not exist");
+        }
+        return new UrlResource(url);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ClassPathResource)) {
+            return false;
+        }
+        ClassPathResource that = (ClassPathResource) other;
+        return this.path.equals(that.path) && this.classLoader == that.classLoader;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Class path resource [" + this.path + "]";
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.leisurexi.tiny.spring.beans.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 文件系统中的资源，通过 {@link FileChannel} 读取。
+ * <p>
+ * 不小于 {@link #MAPPING_THRESHOLD} 的文件会被内存映射，读取时直接访问页缓存，
+ * 不需要再复制到 Java 堆中；小文件映射的开销比复制还大，一次读入堆内的缓冲区
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:20
+ * @since 0.0.6
+ */
+public class FileSystemResource implements Resource {
+
+    /**
+     * 超过这个大小的文件使用内存映射读取
+     */
+    static final long MAPPING_THRESHOLD = 256 * 1024;
+
+    private final Path path;
+
+    public FileSystemResource(Path path) {
+        this.path = path.normalize();
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < MAPPING_THRESHOLD) {
+                return Channels.newInputStream(channel);
+            }
+            // 映射建立后就不再依赖 channel，关闭了也可以继续读取
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            channel.close();
+            return new ByteBufferInputStream(buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.isRegularFile(this.path);
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() throws IOException {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAPPING_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // 读满为止
+            }
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof FileSystemResource && this.path.equals(((FileSystemResource) other).path));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "File [" + this.path + "]";
+    }
+
+    /**
+     * 读取内存映射缓冲区的输入流
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + count);
+            return count;
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.leisurexi.tiny.spring.beans.io;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.util.AntPathMatcher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 支持 Ant 风格通配符的资源解析，比如 {@code classpath*:config/**}{@code /*.xml}：
+ * <ul>
+ *     <li>{@code classpath*:} 前缀从类路径中所有同名的根目录查找，包括每个 jar 包</li>
+ *     <li>{@code classpath:} 前缀或者没有前缀时只查找类加载器找到的第一个根目录</li>
+ * </ul>
+ * 通配符之前的部分作为根目录，多个根目录并行遍历；目录用 {@link Files#walk} 遍历，
+ * jar 包遍历条目且不使用 {@link JarURLConnection} 的缓存。结果按根目录的顺序排列，
+ * 同一个根目录下按路径排序，保证加载顺序是确定的
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:40
+ * @see AntPathMatcher
+ * @since 0.0.6
+ */
+@Slf4j
+public class PathMatchingResourcePatternResolver extends ResourceLoader {
+
+    /**
+     * 查找类路径中所有同名资源的前缀
+     */
+    public static final String CLASSPATH_ALL_URL_PREFIX = "classpath*:";
+
+    public PathMatchingResourcePatternResolver() {
+        super();
+    }
+
+    public PathMatchingResourcePatternResolver(ClassLoader classLoader) {
+        super(classLoader);
+    }
+
+    /**
+     * 是否需要通过 {@link #getResources(String)} 解析成多个资源
+     */
+    public static boolean isPatternLocation(String location) {
+        return location.startsWith(CLASSPATH_ALL_URL_PREFIX) || AntPathMatcher.isPattern(stripClassPathPrefix(location));
+    }
+
+    /**
+     * 解析路径对应的所有资源，没有通配符也没有 {@code classpath*:} 前缀时等同于 {@link #getResource(String)}
+     *
+     * @param locationPattern 资源路径，可以包含通配符
+     * @return 匹配的资源，没有匹配时返回空数组
+     */
+    public Resource[] getResources(String locationPattern) {
+        boolean all = locationPattern.startsWith(CLASSPATH_ALL_URL_PREFIX);
+        String path = all ? locationPattern.substring(CLASSPATH_ALL_URL_PREFIX.length()) : stripClassPathPrefix(locationPattern);
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        if (!AntPathMatcher.isPattern(path)) {
+            if (!all) {
+                return new Resource[]{getResource(locationPattern)};
+            }
+            return findRootUrls(path, true).stream().map(UrlResource::new).toArray(Resource[]::new);
+        }
+        String rootDir = determineRootDir(path);
+        String subPattern = path.substring(rootDir.length());
+        List<URL> rootUrls = findRootUrls(rootDir, all);
+        try {
+            // 每个根目录各自排序，再按根目录的顺序拼接
+            List<List<Resource>> matches = rootUrls.parallelStream()
+                    .map(rootUrl -> findMatchingResources(rootUrl, subPattern))
+                    .collect(Collectors.toList());
+            return matches.stream().flatMap(List::stream).toArray(Resource[]::new);
+        } catch (UncheckedIOException e) {
+            throw new BeansException("I/O failure while resolving resource pattern [" + locationPattern + "]", e.getCause());
+        }
+    }
+
+    private List<URL> findRootUrls(String rootDir, boolean all) {
+        ClassLoader classLoader = getClassLoader();
+        try {
+            if (all) {
+                return Collections.list(classLoader != null
+                        ? classLoader.getResources(rootDir) : ClassLoader.getSystemResources(rootDir));
+            }
+            URL url = classLoader != null ? classLoader.getResource(rootDir) : ClassLoader.getSystemResource(rootDir);
+            return url != null ? Collections.singletonList(url) : Collections.emptyList();
+        } catch (IOException e) {
+            throw new BeansException("Failed to find class path roots for [" + rootDir + "]", e);
+        }
+    }
+
+    private List<Resource> findMatchingResources(URL rootUrl, String subPattern) {
+        try {
+            if ("file".equals(rootUrl.getProtocol())) {
+                return findDirectoryResources(UrlResource.toPath(rootUrl), subPattern);
+            }
+            if ("jar".equals(rootUrl.getProtocol())) {
+                return findJarResources(rootUrl, subPattern);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.debug("Skipping unsupported resource root [{}]", rootUrl);
+        return Collections.emptyList();
+    }
+
+    private List<Resource> findDirectoryResources(Path rootDir, String subPattern) throws IOException {
+        if (!Files.isDirectory(rootDir)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.walk(rootDir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(file -> AntPathMatcher.match(subPattern, toRelativePath(rootDir, file)))
+                    .sorted()
+                    .map(FileSystemResource::new)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<Resource> findJarResources(URL rootUrl, String subPattern) throws IOException {
+        URLConnection connection = rootUrl.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            log.debug("Skipping unsupported jar location [{}]", rootUrl);
+            return Collections.emptyList();
+        }
+        JarURLConnection jarConnection = (JarURLConnection) connection;
+        jarConnection.setUseCaches(false);
+        String rootEntryPath = jarConnection.getEntryName() == null ? "" : jarConnection.getEntryName();
+        if (!rootEntryPath.isEmpty() && !rootEntryPath.endsWith("/")) {
+            rootEntryPath += "/";
+        }
+        String jarFileUrl = jarConnection.getJarFileURL().toExternalForm();
+        List<String> entryNames = new ArrayList<>();
+        try (JarFile jarFile = jarConnection.getJarFile()) {
+            for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements(); ) {
+                JarEntry entry = entries.nextElement();
+                String entryName = entry.getName();
+                if (!entry.isDirectory() && entryName.startsWith(rootEntryPath)
+                        && AntPathMatcher.match(subPattern, entryName.substring(rootEntryPath.length()))) {
+                    entryNames.add(entryName);
+                }
+            }
+        }
+        Collections.sort(entryNames);
+        List<Resource> resources = new ArrayList<>(entryNames.size());
+        for (String entryName : entryNames) {
+            resources.add(new UrlResource(new URL("jar:" + jarFileUrl + "!/" + entryName)));
+        }
+        return resources;
+    }
+
+    /**
+     * 通配符所在段之前的目录，比如 {@code config/**}{@code /*.xml} 的根目录是 {@code config/}
+     */
+    static String determineRootDir(String path) {
+        int prefixEnd = path.indexOf(':') + 1;
+        int rootDirEnd = path.length();
+        while (rootDirEnd > prefixEnd && AntPathMatcher.isPattern(path.substring(prefixEnd, rootDirEnd))) {
+            rootDirEnd = path.lastIndexOf('/', rootDirEnd - 2) + 1;
+        }
+        return path.substring(0, rootDirEnd);
+    }
+
+    private static String stripClassPathPrefix(String location) {
+        return location.startsWith(CLASSPATH_URL_PREFIX) ? location.substring(CLASSPATH_URL_PREFIX.length()) : location;
+    }
+
+    private static String toRelativePath(Path rootDir, Path file) {
+        return rootDir.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+}
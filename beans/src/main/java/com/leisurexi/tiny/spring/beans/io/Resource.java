@@ -1,7 +1,9 @@
 package com.leisurexi.tiny.spring.beans.io;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * 定位资源接口
@@ -14,4 +16,36 @@ public interface Resource {
 
     InputStream getInputStream() throws IOException;
 
+    /**
+     * 资源是否存在，默认尝试打开一次输入流
+     *
+     * @since 0.0.6
+     */
+    default boolean exists() {
+        try {
+            getInputStream().close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 读取资源的全部内容，返回的缓冲区是只读的。默认从输入流复制，
+     * 文件系统中的资源会直接通过 {@link java.nio.channels.FileChannel} 读取或内存映射
+     *
+     * @since 0.0.6
+     */
+    default ByteBuffer getByteBuffer() throws IOException {
+        try (InputStream inputStream = getInputStream()) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return ByteBuffer.wrap(outputStream.toByteArray()).asReadOnlyBuffer();
+        }
+    }
+
 }
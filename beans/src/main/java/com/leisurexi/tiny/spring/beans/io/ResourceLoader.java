@@ -1,16 +1,58 @@
 package com.leisurexi.tiny.spring.beans.io;
 
+import java.net.MalformedURLException;
 import java.net.URL;
 
 /**
+ * 根据路径加载资源：
+ * <ul>
+ *     <li>{@code classpath:} 前缀或者没有前缀的路径从类路径加载</li>
+ *     <li>{@code file:} 等 URL 按 URL 加载，文件直接通过 {@link FileSystemResource} 读取</li>
+ * </ul>
+ *
  * @author: leisurexi
  * @date: 2020-04-04 7:08 下午
  * @since 0.0.1
  */
 public class ResourceLoader {
 
+    /**
+     * 类路径资源的前缀
+     *
+     * @since 0.0.6
+     */
+    public static final String CLASSPATH_URL_PREFIX = "classpath:";
+
+    private final ClassLoader classLoader;
+
+    public ResourceLoader() {
+        this.classLoader = this.getClass().getClassLoader();
+    }
+
+    /**
+     * @since 0.0.6
+     */
+    public ResourceLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @since 0.0.6
+     */
+    public ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
     public Resource getResource(String location) {
-        URL resource = this.getClass().getClassLoader().getResource(location);
-        return new UrlResource(resource);
+        if (location.startsWith(CLASSPATH_URL_PREFIX)) {
+            return new ClassPathResource(location.substring(CLASSPATH_URL_PREFIX.length()), this.classLoader);
+        }
+        try {
+            URL url = new URL(location);
+            return "file".equals(url.getProtocol()) ? new FileSystemResource(UrlResource.toPath(url)) : new UrlResource(url);
+        } catch (MalformedURLException e) {
+            return new ClassPathResource(location, this.classLoader);
+        }
     }
+
 }
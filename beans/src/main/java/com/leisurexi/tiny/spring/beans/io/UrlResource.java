@@ -1,28 +1,104 @@
 package com.leisurexi.tiny.spring.beans.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
+ * URL 资源。{@code file:} 协议的资源交给 {@link FileSystemResource} 读取；
+ * jar 包中的资源不使用 {@link JarURLConnection} 的缓存，读取结束后 jar 包随输入流一起关闭，
+ * 不会一直占用文件句柄，也不会读到替换前的 jar 包内容
+ *
  * @author: leisurexi
  * @date: 2020-04-04 7:06 下午
  * @since 0.0.1
  */
 public class UrlResource implements Resource {
 
+    private static final String FILE_PROTOCOL = "file";
+
     private final URL url;
 
     public UrlResource(URL url) {
         this.url = url;
     }
 
+    /**
+     * @since 0.0.6
+     */
+    public URL getURL() {
+        return this.url;
+    }
+
     @Override
     public InputStream getInputStream() throws IOException {
+        if (FILE_PROTOCOL.equals(url.getProtocol())) {
+            return new FileSystemResource(toPath(url)).getInputStream();
+        }
         URLConnection connection = url.openConnection();
+        if (connection instanceof JarURLConnection) {
+            connection.setUseCaches(false);
+        }
         connection.connect();
         return connection.getInputStream();
     }
 
+    @Override
+    public boolean exists() {
+        if (FILE_PROTOCOL.equals(url.getProtocol())) {
+            return new FileSystemResource(toPath(url)).exists();
+        }
+        return Resource.super.exists();
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() throws IOException {
+        if (FILE_PROTOCOL.equals(url.getProtocol())) {
+            return new FileSystemResource(toPath(url)).getByteBuffer();
+        }
+        return Resource.super.getByteBuffer();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof UrlResource && this.url.toString().equals(((UrlResource) other).url.toString()));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.url.toString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "URL [" + this.url + "]";
+    }
+
+    /**
+     * {@code file:} 协议的 URL 转换为文件路径
+     *
+     * @since 0.0.6
+     */
+    static Path toPath(URL url) {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            try {
+                return new File(URLDecoder.decode(url.getFile(), StandardCharsets.UTF_8.name())).toPath();
+            } catch (UnsupportedEncodingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+/**
+ * 记录容器启动过程中的各个步骤，步骤可以嵌套，用来分析启动耗时花在了哪里。
+ * 默认实现 {@link #DEFAULT} 什么也不做；需要分析时使用 {@link BufferingApplicationStartup}
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 22:00
+ * @see StartupStep
+ * @since 0.0.6
+ */
+public interface ApplicationStartup {
+
+    /**
+     * 什么也不记录的默认实现
+     */
+    ApplicationStartup DEFAULT = new DefaultApplicationStartup();
+
+    /**
+     * 开始一个步骤，当前线程上还没有结束的步骤是它的父步骤
+     *
+     * @param name 步骤名称，比如 {@code beans.create}
+     * @return 开始的步骤，调用方负责调用 {@link StartupStep#end()}
+     */
+    StartupStep start(String name);
+
+}
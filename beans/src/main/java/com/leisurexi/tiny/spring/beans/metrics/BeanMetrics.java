@@ -0,0 +1,66 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+/**
+ * bean 工厂运行期指标的记录接口，覆盖 {@code getBean} 的调用次数、单例缓存的命中和未命中、
+ * 原型 bean 的创建、自定义作用域的查找以及每个 bean 的创建耗时。
+ * <p>
+ * 默认实现 {@link #NOOP} 什么也不做；需要统计时使用 {@link BeanMetricsRegistry}。
+ * 这些方法在 {@code getBean} 的热路径上调用，实现需要是线程安全的，并且尽量避免竞争。
+ * 每次成功的 {@code getBean} 调用只会触发缓存命中、缓存未命中、原型创建和作用域查找中的一个，
+ * 它们同时计为一次 {@code getBean} 调用；没有 bean 定义的名称不会被记录
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:40
+ * @see com.leisurexi.tiny.spring.beans.factory.AbstractBeanFactory#setBeanMetrics(BeanMetrics)
+ * @since 0.0.6
+ */
+public interface BeanMetrics {
+
+    /**
+     * 什么也不记录的默认实现
+     */
+    BeanMetrics NOOP = new NoOpBeanMetrics();
+
+    /**
+     * 是否在记录，为 {@code false} 时调用方可以跳过计时
+     */
+    boolean isEnabled();
+
+    /**
+     * 单例 bean 在缓存中找到了，包括提前曝光的 bean，同时计为一次 {@code getBean} 调用
+     *
+     * @param beanName bean 的名称
+     */
+    void singletonCacheHit(String beanName);
+
+    /**
+     * 单例 bean 不在缓存中，需要创建或者等待其它线程创建，同时计为一次 {@code getBean} 调用
+     *
+     * @param beanName bean 的名称
+     */
+    void singletonCacheMiss(String beanName);
+
+    /**
+     * 创建了一个原型 bean 的实例，同时计为一次 {@code getBean} 调用
+     *
+     * @param beanName bean 的名称
+     */
+    void prototypeCreated(String beanName);
+
+    /**
+     * 从自定义作用域中获取了一次 bean，同时计为一次 {@code getBean} 调用
+     *
+     * @param beanName  bean 的名称
+     * @param scopeName 作用域的名称
+     */
+    void scopedLookup(String beanName, String scopeName);
+
+    /**
+     * 创建了一个 bean 的实例，耗时包括创建它的依赖的时间
+     *
+     * @param beanName      bean 的名称
+     * @param durationNanos 创建耗时，单位纳秒
+     */
+    void beanCreated(String beanName, long durationNanos);
+
+}
@@ -0,0 +1,175 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按 bean 统计的指标，计数器使用 {@link LongAdder}，创建耗时使用 {@link LatencyHistogram}，
+ * 记录时没有锁，多线程在 tight loop 中获取同一个 bean 时竞争也很小。
+ * <p>
+ * 每个 bean 的指标在第一次记录时创建，bean 工厂只会为有 bean 定义的名称记录指标，指标的数量不会超过 bean 的数量。
+ * 每个事件只查找一次指标，同时累加 {@code getBean} 的调用次数，通过 {@link #getBeanStatistics()} 获取快照。
+ * {@link #getMostRequestedBeans(int)} 可以找出被频繁查找的 bean，
+ * {@link #getMostCreatedPrototypes(int)} 可以找出频繁创建、给堆带来压力的原型 bean
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:40
+ * @since 0.0.6
+ */
+public class BeanMetricsRegistry implements BeanMetrics {
+
+    private final Map<String, BeanMeters> meters = new ConcurrentHashMap<>(256);
+
+    /**
+     * 开始统计的时间，用来计算每秒创建的原型 bean 数量
+     */
+    private volatile long startNanos = System.nanoTime();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void singletonCacheHit(String beanName) {
+        BeanMeters beanMeters = meters(beanName);
+        beanMeters.requests.increment();
+        beanMeters.singletonCacheHits.increment();
+    }
+
+    @Override
+    public void singletonCacheMiss(String beanName) {
+        BeanMeters beanMeters = meters(beanName);
+        beanMeters.requests.increment();
+        beanMeters.singletonCacheMisses.increment();
+    }
+
+    @Override
+    public void prototypeCreated(String beanName) {
+        BeanMeters beanMeters = meters(beanName);
+        beanMeters.requests.increment();
+        beanMeters.prototypeCreations.increment();
+    }
+
+    @Override
+    public void scopedLookup(String beanName, String scopeName) {
+        BeanMeters beanMeters = meters(beanName);
+        beanMeters.requests.increment();
+        beanMeters.scopedLookups.increment();
+    }
+
+    @Override
+    public void beanCreated(String beanName, long durationNanos) {
+        meters(beanName).creationTime.record(durationNanos);
+    }
+
+    private BeanMeters meters(String beanName) {
+        // 先 get 再 computeIfAbsent，已经存在时不会进入 computeIfAbsent 的加锁路径
+        BeanMeters beanMeters = this.meters.get(beanName);
+        if (beanMeters == null) {
+            beanMeters = this.meters.computeIfAbsent(beanName, name -> new BeanMeters());
+        }
+        return beanMeters;
+    }
+
+    /**
+     * 每个 bean 的指标快照，按 bean 的名称排序
+     */
+    public Map<String, BeanStatistics> getBeanStatistics() {
+        double elapsedSeconds = getElapsedSeconds();
+        Map<String, BeanStatistics> statistics = new TreeMap<>();
+        for (Map.Entry<String, BeanMeters> entry : this.meters.entrySet()) {
+            statistics.put(entry.getKey(), entry.getValue().snapshot(entry.getKey(), elapsedSeconds));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * 指定 bean 的指标快照，没有记录过时返回 {@code null}
+     *
+     * @param beanName bean 的名称
+     */
+    public BeanStatistics getBeanStatistics(String beanName) {
+        BeanMeters beanMeters = this.meters.get(beanName);
+        return beanMeters != null ? beanMeters.snapshot(beanName, getElapsedSeconds()) : null;
+    }
+
+    /**
+     * {@code getBean} 调用次数最多的 bean
+     *
+     * @param limit 最多返回多少个
+     */
+    public List<BeanStatistics> getMostRequestedBeans(int limit) {
+        return top(Comparator.comparingLong(BeanStatistics::getRequestCount), limit);
+    }
+
+    /**
+     * 创建次数最多的原型 bean
+     *
+     * @param limit 最多返回多少个
+     */
+    public List<BeanStatistics> getMostCreatedPrototypes(int limit) {
+        return top(Comparator.comparingLong(BeanStatistics::getPrototypeCreationCount), limit);
+    }
+
+    private List<BeanStatistics> top(Comparator<BeanStatistics> comparator, int limit) {
+        List<BeanStatistics> statistics = new ArrayList<>(getBeanStatistics().values());
+        statistics.sort(comparator.reversed());
+        return statistics.subList(0, Math.min(limit, statistics.size()));
+    }
+
+    /**
+     * 从开始统计到现在，平均每秒创建的原型 bean 数量
+     */
+    public double getPrototypeCreationsPerSecond() {
+        long total = 0;
+        for (BeanMeters beanMeters : this.meters.values()) {
+            total += beanMeters.prototypeCreations.sum();
+        }
+        return total / getElapsedSeconds();
+    }
+
+    /**
+     * 清空所有的指标，重新开始统计
+     */
+    public void reset() {
+        this.meters.clear();
+        this.startNanos = System.nanoTime();
+    }
+
+    private double getElapsedSeconds() {
+        // 避免刚开始统计时除以 0
+        return Math.max(System.nanoTime() - this.startNanos, 1L) / 1_000_000_000.0;
+    }
+
+    /**
+     * 一个 bean 的计数器和创建耗时
+     */
+    private static final class BeanMeters {
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder singletonCacheHits = new LongAdder();
+
+        private final LongAdder singletonCacheMisses = new LongAdder();
+
+        private final LongAdder prototypeCreations = new LongAdder();
+
+        private final LongAdder scopedLookups = new LongAdder();
+
+        private final LatencyHistogram creationTime = new LatencyHistogram();
+
+        BeanStatistics snapshot(String beanName, double elapsedSeconds) {
+            return new BeanStatistics(beanName, this.requests.sum(), this.singletonCacheHits.sum(),
+                    this.singletonCacheMisses.sum(), this.prototypeCreations.sum(), this.scopedLookups.sum(),
+                    this.creationTime.snapshot(), elapsedSeconds);
+        }
+    }
+
+}
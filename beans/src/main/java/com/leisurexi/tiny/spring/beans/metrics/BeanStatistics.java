@@ -0,0 +1,91 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+/**
+ * 一个 bean 的指标快照
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:40
+ * @see BeanMetricsRegistry#getBeanStatistics()
+ * @since 0.0.6
+ */
+public final class BeanStatistics {
+
+    private final String beanName;
+
+    private final long requestCount;
+
+    private final long singletonCacheHitCount;
+
+    private final long singletonCacheMissCount;
+
+    private final long prototypeCreationCount;
+
+    private final long scopedLookupCount;
+
+    private final LatencyHistogram.Snapshot creationTime;
+
+    private final double elapsedSeconds;
+
+    BeanStatistics(String beanName, long requestCount, long singletonCacheHitCount, long singletonCacheMissCount,
+                   long prototypeCreationCount, long scopedLookupCount, LatencyHistogram.Snapshot creationTime,
+                   double elapsedSeconds) {
+        this.beanName = beanName;
+        this.requestCount = requestCount;
+        this.singletonCacheHitCount = singletonCacheHitCount;
+        this.singletonCacheMissCount = singletonCacheMissCount;
+        this.prototypeCreationCount = prototypeCreationCount;
+        this.scopedLookupCount = scopedLookupCount;
+        this.creationTime = creationTime;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public String getBeanName() {
+        return this.beanName;
+    }
+
+    /**
+     * {@code getBean} 的调用次数
+     */
+    public long getRequestCount() {
+        return this.requestCount;
+    }
+
+    public long getSingletonCacheHitCount() {
+        return this.singletonCacheHitCount;
+    }
+
+    public long getSingletonCacheMissCount() {
+        return this.singletonCacheMissCount;
+    }
+
+    public long getPrototypeCreationCount() {
+        return this.prototypeCreationCount;
+    }
+
+    /**
+     * 从开始统计到获取快照时，平均每秒创建的原型实例数量
+     */
+    public double getPrototypeCreationsPerSecond() {
+        return this.prototypeCreationCount / this.elapsedSeconds;
+    }
+
+    public long getScopedLookupCount() {
+        return this.scopedLookupCount;
+    }
+
+    /**
+     * 创建耗时的分布
+     */
+    public LatencyHistogram.Snapshot getCreationTime() {
+        return this.creationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanStatistics{beanName='" + this.beanName + "', requests=" + this.requestCount
+                + ", singletonCacheHits=" + this.singletonCacheHitCount + ", singletonCacheMisses=" + this.singletonCacheMissCount
+                + ", prototypeCreations=" + this.prototypeCreationCount + ", scopedLookups=" + this.scopedLookupCount
+                + ", creationTime=" + this.creationTime + '}';
+    }
+
+}
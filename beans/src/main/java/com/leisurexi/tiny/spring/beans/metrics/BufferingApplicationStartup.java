@@ -0,0 +1,267 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 把结束的步骤保存在固定容量的缓冲区中，可以导出为 JSON。
+ * <p>
+ * 每个线程上还没有结束的最后一个步骤是新步骤的父步骤，并行创建 bean 时每个线程各自形成一棵步骤树。
+ * 缓冲区满了之后新结束的步骤会被丢弃，通过 {@link #getDroppedStepCount()} 可以知道丢弃了多少。
+ * 导出的 JSON 是一个数组，按步骤开始的顺序排列：
+ * <pre>
+ * [{"id":1,"parentId":null,"name":"context.refresh","thread":"main","startNanos":0,"durationNanos":1200,"tags":{}}]
+ * </pre>
+ * {@code startNanos} 是相对于创建本对象时的纳秒数
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 22:10
+ * @since 0.0.6
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+    private final int capacity;
+
+    private final AtomicReferenceArray<BufferedStartupStep> buffer;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong droppedStepCount = new AtomicLong();
+
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    /**
+     * 每个线程上当前还没有结束的步骤
+     */
+    private final ThreadLocal<BufferedStartupStep> currentStep = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @param capacity 最多保存多少个结束的步骤
+     */
+    public BufferingApplicationStartup(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        BufferedStartupStep parent = this.currentStep.get();
+        BufferedStartupStep step = new BufferedStartupStep(name, this.idGenerator.incrementAndGet(), parent);
+        this.currentStep.set(step);
+        return step;
+    }
+
+    private void record(BufferedStartupStep step) {
+        // 结束的步骤不一定是当前线程上最后开始的步骤，恢复成它的父步骤
+        if (step.parent != null) {
+            this.currentStep.set(step.parent);
+        } else {
+            this.currentStep.remove();
+        }
+        int index = this.size.getAndIncrement();
+        if (index < this.capacity) {
+            this.buffer.set(index, step);
+        } else {
+            this.size.decrementAndGet();
+            this.droppedStepCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 已经结束的步骤，按开始的顺序排列
+     */
+    public List<StartupStep> getBufferedSteps() {
+        int count = Math.min(this.size.get(), this.capacity);
+        List<StartupStep> steps = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BufferedStartupStep step = this.buffer.get(i);
+            // 下标已经分配但是还没有写入的步骤
+            if (step != null) {
+                steps.add(step);
+            }
+        }
+        steps.sort(Comparator.comparingLong(StartupStep::getId));
+        return steps;
+    }
+
+    /**
+     * 缓冲区满了之后丢弃的步骤数量
+     */
+    public long getDroppedStepCount() {
+        return this.droppedStepCount.get();
+    }
+
+    /**
+     * 以 JSON 格式输出已经结束的步骤
+     *
+     * @param writer 输出的目标，不会被关闭
+     */
+    public void writeJson(Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (StartupStep startupStep : getBufferedSteps()) {
+            BufferedStartupStep step = (BufferedStartupStep) startupStep;
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writer.write("{\"id\":");
+            writer.write(Long.toString(step.id));
+            writer.write(",\"parentId\":");
+            writer.write(step.parent != null ? Long.toString(step.parent.id) : "null");
+            writer.write(",\"name\":");
+            writeString(writer, step.name);
+            writer.write(",\"thread\":");
+            writeString(writer, step.threadName);
+            writer.write(",\"startNanos\":");
+            writer.write(Long.toString(step.startNanos - this.startNanos));
+            writer.write(",\"durationNanos\":");
+            writer.write(Long.toString(step.endNanos - step.startNanos));
+            writer.write(",\"tags\":{");
+            boolean firstTag = true;
+            for (Map.Entry<String, String> tag : step.tags.entrySet()) {
+                if (!firstTag) {
+                    writer.write(',');
+                }
+                firstTag = false;
+                writeString(writer, tag.getKey());
+                writer.write(':');
+                writeString(writer, tag.getValue());
+            }
+            writer.write("}}");
+        }
+        writer.write(']');
+    }
+
+    /**
+     * 以 JSON 格式返回已经结束的步骤
+     */
+    public String toJson() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeJson(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * 缓冲的步骤，只会被开始它的线程修改
+     */
+    private class BufferedStartupStep implements StartupStep {
+
+        private final String name;
+
+        private final long id;
+
+        private final BufferedStartupStep parent;
+
+        private final String threadName = Thread.currentThread().getName();
+
+        private final Map<String, String> tags = new LinkedHashMap<>(4);
+
+        private final long startNanos = System.nanoTime();
+
+        private long endNanos;
+
+        private boolean ended;
+
+        BufferedStartupStep(String name, long id, BufferedStartupStep parent) {
+            this.name = name;
+            this.id = id;
+            this.parent = parent;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public long getId() {
+            return this.id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return this.parent != null ? this.parent.id : null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            if (this.ended) {
+                throw new IllegalStateException("StartupStep [" + this.name + "] has already ended");
+            }
+            this.tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Map<String, String> getTags() {
+            return Collections.unmodifiableMap(this.tags);
+        }
+
+        @Override
+        public void end() {
+            if (this.ended) {
+                return;
+            }
+            this.ended = true;
+            this.endNanos = System.nanoTime();
+            record(this);
+        }
+    }
+
+}
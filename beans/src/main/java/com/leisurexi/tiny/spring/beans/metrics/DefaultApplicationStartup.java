@@ -0,0 +1,54 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 什么也不记录的默认实现，所有的步骤都是同一个无状态的实例，开始和结束步骤都没有内存分配
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 22:00
+ * @since 0.0.6
+ */
+class DefaultApplicationStartup implements ApplicationStartup {
+
+    private static final DefaultStartupStep DEFAULT_STARTUP_STEP = new DefaultStartupStep();
+
+    @Override
+    public StartupStep start(String name) {
+        return DEFAULT_STARTUP_STEP;
+    }
+
+    static class DefaultStartupStep implements StartupStep {
+
+        @Override
+        public String getName() {
+            return "default";
+        }
+
+        @Override
+        public long getId() {
+            return 0L;
+        }
+
+        @Override
+        public Long getParentId() {
+            return null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public Map<String, String> getTags() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+
+}
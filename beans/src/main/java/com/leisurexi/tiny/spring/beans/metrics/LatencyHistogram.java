@@ -0,0 +1,164 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的耗时直方图，记录的值单位为纳秒。
+ * <p>
+ * 桶按对数线性划分：每个 2 的幂区间再均分成 {@value #SUB_BUCKET_COUNT} 个子桶，相对误差不超过 25%。
+ * 超过 2^{@value #MAX_EXPONENT} 纳秒（约 18 分钟）的值记在最后一个桶中。
+ * 记录时只对一个桶做原子自增，总和以及最大值使用 {@link LongAdder} 和 {@link LongAccumulator}，
+ * 多线程同时记录时竞争很小。快照不是原子的，记录的同时获取快照可能少算正在记录的值
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:40
+ * @since 0.0.6
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 40;
+
+    private static final long MAX_TRACKABLE_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 记录一个耗时
+     *
+     * @param nanos 耗时，单位纳秒，负数按 0 记录
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        this.buckets.incrementAndGet(bucketIndex(value));
+        this.totalNanos.add(value);
+        this.maxNanos.accumulate(value);
+    }
+
+    /**
+     * 当前记录的值的快照
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, this.totalNanos.sum(), this.maxNanos.get());
+    }
+
+    static int bucketIndex(long value) {
+        long v = Math.min(value, MAX_TRACKABLE_VALUE);
+        if (v < SUB_BUCKET_COUNT) {
+            return (int) v;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int subBucket = (int) (v >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 桶中最大的值
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+
+    /**
+     * 直方图的只读快照
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private final long totalNanos;
+
+        private final long maxNanos;
+
+        Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * 记录的值的个数
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * 记录的值的总和，单位纳秒
+         */
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        /**
+         * 记录的最大值，单位纳秒
+         */
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        /**
+         * 平均值，单位纳秒，没有记录时为 0
+         */
+        public double getMeanNanos() {
+            return this.count == 0 ? 0.0 : (double) this.totalNanos / this.count;
+        }
+
+        /**
+         * 指定百分位的值，返回所在桶的上界，不会超过记录的最大值
+         *
+         * @param percentile 百分位，范围为 [0, 100]
+         * @return 单位纳秒，没有记录时为 0
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            }
+            if (this.count == 0) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * this.count));
+            long seen = 0;
+            for (int i = 0; i < this.counts.length; i++) {
+                seen += this.counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), this.maxNanos);
+                }
+            }
+            return this.maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{count=" + this.count + ", meanNanos=" + (long) getMeanNanos()
+                    + ", p99Nanos=" + getValueAtPercentile(99) + ", maxNanos=" + this.maxNanos + '}';
+        }
+    }
+
+}
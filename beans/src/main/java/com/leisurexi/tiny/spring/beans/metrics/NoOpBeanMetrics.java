@@ -0,0 +1,37 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+/**
+ * 什么也不记录的默认实现，所有方法都是空的，调用可以被 JIT 完全内联消除
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:40
+ * @since 0.0.6
+ */
+class NoOpBeanMetrics implements BeanMetrics {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void singletonCacheHit(String beanName) {
+    }
+
+    @Override
+    public void singletonCacheMiss(String beanName) {
+    }
+
+    @Override
+    public void prototypeCreated(String beanName) {
+    }
+
+    @Override
+    public void scopedLookup(String beanName, String scopeName) {
+    }
+
+    @Override
+    public void beanCreated(String beanName, long durationNanos) {
+    }
+
+}
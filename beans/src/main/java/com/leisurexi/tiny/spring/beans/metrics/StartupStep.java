@@ -0,0 +1,49 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+import java.util.Map;
+
+/**
+ * 启动过程中的一个步骤，从 {@link ApplicationStartup#start(String)} 开始，到 {@link #end()} 结束。
+ * 标签用来记录步骤的上下文，比如 bean 的名称和类型
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 22:00
+ * @since 0.0.6
+ */
+public interface StartupStep {
+
+    /**
+     * 步骤名称
+     */
+    String getName();
+
+    /**
+     * 步骤的唯一 id
+     */
+    long getId();
+
+    /**
+     * 父步骤的 id，没有父步骤时为 {@code null}
+     */
+    Long getParentId();
+
+    /**
+     * 添加一个标签
+     *
+     * @param key   标签名
+     * @param value 标签值
+     * @return 当前步骤
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * 只读的标签，按添加的顺序排列
+     */
+    Map<String, String> getTags();
+
+    /**
+     * 结束当前步骤，必须在开始步骤的线程上调用
+     */
+    void end();
+
+}
@@ -0,0 +1,29 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 一次 {@code BeanFactoryPostProcessor} 的调用
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Name("tinyspring.BeanFactoryPostProcessor")
+@Label("Bean Factory Post Processor")
+@Description("Invocation of a BeanFactoryPostProcessor")
+class BeanFactoryPostProcessorEvent extends ContainerEvent {
+
+    @Label("Post Processor")
+    String postProcessor;
+
+    @Override
+    void tag(String key, String value) {
+        if ("postProcessor".equals(key)) {
+            this.postProcessor = value;
+        }
+    }
+
+}
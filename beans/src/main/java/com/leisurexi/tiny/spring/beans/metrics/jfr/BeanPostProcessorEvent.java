@@ -0,0 +1,45 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 一次 {@code BeanPostProcessor} 的调用
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Name("tinyspring.BeanPostProcessor")
+@Label("Bean Post Processor")
+@Description("Invocation of a BeanPostProcessor callback for a bean")
+class BeanPostProcessorEvent extends ContainerEvent {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Post Processor")
+    String postProcessor;
+
+    @Override
+    void tag(String key, String value) {
+        switch (key) {
+            case "phase":
+                this.phase = value;
+                break;
+            case "beanName":
+                this.beanName = value;
+                break;
+            case "postProcessor":
+                this.postProcessor = value;
+                break;
+            default:
+                break;
+        }
+    }
+
+}
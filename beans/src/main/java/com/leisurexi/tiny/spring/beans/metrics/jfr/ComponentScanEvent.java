@@ -0,0 +1,46 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 一个包路径的组件扫描
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Name("tinyspring.ComponentScan")
+@Label("Component Scan")
+@Description("Scan of a base package for components")
+class ComponentScanEvent extends ContainerEvent {
+
+    @Label("Base Package")
+    String basePackage;
+
+    @Label("Indexed")
+    @Description("Whether the components were read from the candidate components index")
+    boolean indexed;
+
+    @Label("Component Count")
+    int componentCount;
+
+    @Override
+    void tag(String key, String value) {
+        switch (key) {
+            case "basePackage":
+                this.basePackage = value;
+                break;
+            case "indexed":
+                this.indexed = Boolean.parseBoolean(value);
+                break;
+            case "componentCount":
+                this.componentCount = Integer.parseInt(value);
+                break;
+            default:
+                break;
+        }
+    }
+
+}
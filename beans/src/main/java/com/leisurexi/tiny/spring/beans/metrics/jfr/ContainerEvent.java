@@ -0,0 +1,33 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 容器事件的父类，记录步骤的 id 和父步骤的 id，子类把步骤的标签映射成各自的字段
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Category("Tiny Spring")
+@StackTrace(false)
+abstract class ContainerEvent extends Event {
+
+    @Label("Step Id")
+    long stepId;
+
+    @Label("Parent Step Id")
+    long parentStepId;
+
+    /**
+     * 把步骤的标签写入对应的字段，没有对应字段的标签会被忽略
+     *
+     * @param key   标签名
+     * @param value 标签值
+     */
+    abstract void tag(String key, String value);
+
+}
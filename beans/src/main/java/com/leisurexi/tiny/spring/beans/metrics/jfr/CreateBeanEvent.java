@@ -0,0 +1,45 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 一次 {@code createBean} 调用，包括实例化、属性填充和初始化
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Name("tinyspring.CreateBean")
+@Label("Create Bean")
+@Description("Creation of a bean instance, including instantiation, population and initialization")
+class CreateBeanEvent extends ContainerEvent {
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Bean Class")
+    String beanClass;
+
+    @Label("Scope")
+    String scope;
+
+    @Override
+    void tag(String key, String value) {
+        switch (key) {
+            case "beanName":
+                this.beanName = value;
+                break;
+            case "beanClass":
+                this.beanClass = value;
+                break;
+            case "scope":
+                this.scope = value;
+                break;
+            default:
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import com.leisurexi.tiny.spring.beans.metrics.ApplicationStartup;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
+import jdk.jfr.EventType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 把启动步骤记录为 JDK Flight Recorder 事件，每类步骤对应一个事件类型：
+ * <ul>
+ *     <li>{@code beans.create} -> {@code tinyspring.CreateBean}</li>
+ *     <li>{@code beans.resolve-dependency} -> {@code tinyspring.ResolveDependency}</li>
+ *     <li>{@code beans.post-process} -> {@code tinyspring.BeanPostProcessor}</li>
+ *     <li>{@code context.bean-factory.post-process} -> {@code tinyspring.BeanFactoryPostProcessor}</li>
+ *     <li>{@code context.component-scan} -> {@code tinyspring.ComponentScan}</li>
+ *     <li>{@code beans.load-bean-definitions} -> {@code tinyspring.LoadBeanDefinitions}</li>
+ *     <li>其它步骤 -> {@code tinyspring.StartupStep}</li>
+ * </ul>
+ * 事件类型通过标准的 JFR 配置开启和关闭，比如
+ * {@code -XX:StartFlightRecording:tinyspring.StartupStep#enabled=false}。
+ * 没有在录制或者事件类型被关闭时，返回的是共享的空步骤，不会创建事件对象；
+ * 栈信息默认不记录，需要时通过 {@code stackTrace=true} 开启。
+ * <p>
+ * 需要运行在带有 {@code jdk.jfr} 模块的 JDK 上（JDK 11+ 或 8u262+），
+ * 只有使用本类时才会加载 JFR 相关的类
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+public class FlightRecorderApplicationStartup implements ApplicationStartup {
+
+    private static final EventType CREATE_BEAN = EventType.getEventType(CreateBeanEvent.class);
+
+    private static final EventType RESOLVE_DEPENDENCY = EventType.getEventType(ResolveDependencyEvent.class);
+
+    private static final EventType BEAN_POST_PROCESSOR = EventType.getEventType(BeanPostProcessorEvent.class);
+
+    private static final EventType BEAN_FACTORY_POST_PROCESSOR = EventType.getEventType(BeanFactoryPostProcessorEvent.class);
+
+    private static final EventType COMPONENT_SCAN = EventType.getEventType(ComponentScanEvent.class);
+
+    private static final EventType LOAD_BEAN_DEFINITIONS = EventType.getEventType(LoadBeanDefinitionsEvent.class);
+
+    private static final EventType STARTUP_STEP = EventType.getEventType(StartupStepEvent.class);
+
+    /**
+     * 事件没有开启时返回的空步骤
+     */
+    private static final StartupStep DISABLED_STEP = ApplicationStartup.DEFAULT.start("disabled");
+
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    /**
+     * 每个线程上当前还没有结束的步骤，事件没有开启的步骤不会成为父步骤
+     */
+    private final ThreadLocal<FlightRecorderStartupStep> currentStep = new ThreadLocal<>();
+
+    @Override
+    public StartupStep start(String name) {
+        ContainerEvent event;
+        switch (name) {
+            case "beans.create":
+                if (!CREATE_BEAN.isEnabled()) {
+                    return DISABLED_STEP;
+                }
+                event = new CreateBeanEvent();
+                break;
+            case "beans.resolve-dependency":
+                if (!RESOLVE_DEPENDENCY.isEnabled()) {
+                    return DISABLED_STEP;
+                }
+                event = new ResolveDependencyEvent();
+                break;
+            case "beans.post-process":
+                if (!BEAN_POST_PROCESSOR.isEnabled()) {
+                    return DISABLED_STEP;
+                }
+                event = new BeanPostProcessorEvent();
+                break;
+            case "context.bean-factory.post-process":
+                if (!BEAN_FACTORY_POST_PROCESSOR.isEnabled()) {
+                    return DISABLED_STEP;
+                }
+                event = new BeanFactoryPostProcessorEvent();
+                break;
+            case "context.component-scan":
+                if (!COMPONENT_SCAN.isEnabled()) {
+                    return DISABLED_STEP;
+                }
+                event = new ComponentScanEvent();
+                break;
+            case "beans.load-bean-definitions":
+                if (!LOAD_BEAN_DEFINITIONS.isEnabled()) {
+                    return DISABLED_STEP;
+                }
+                event = new LoadBeanDefinitionsEvent();
+                break;
+            default:
+                if (!STARTUP_STEP.isEnabled()) {
+                    return DISABLED_STEP;
+                }
+                event = new StartupStepEvent(name);
+                break;
+        }
+        FlightRecorderStartupStep parent = this.currentStep.get();
+        FlightRecorderStartupStep step = new FlightRecorderStartupStep(this, name, this.idGenerator.incrementAndGet(), parent, event);
+        this.currentStep.set(step);
+        return step;
+    }
+
+    void stepEnded(FlightRecorderStartupStep step) {
+        // 结束的步骤不一定是当前线程上最后开始的步骤，恢复成它的父步骤
+        FlightRecorderStartupStep parent = step.getParent();
+        if (parent != null) {
+            this.currentStep.set(parent);
+        } else {
+            this.currentStep.remove();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 对应一个 JFR 事件的启动步骤，开始步骤时事件开始计时，结束步骤时提交事件
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+class FlightRecorderStartupStep implements StartupStep {
+
+    private final FlightRecorderApplicationStartup applicationStartup;
+
+    private final String name;
+
+    private final long id;
+
+    private final FlightRecorderStartupStep parent;
+
+    private final ContainerEvent event;
+
+    private final Map<String, String> tags = new LinkedHashMap<>(4);
+
+    FlightRecorderStartupStep(FlightRecorderApplicationStartup applicationStartup, String name, long id,
+                              FlightRecorderStartupStep parent, ContainerEvent event) {
+        this.applicationStartup = applicationStartup;
+        this.name = name;
+        this.id = id;
+        this.parent = parent;
+        this.event = event;
+        event.stepId = id;
+        event.parentStepId = parent != null ? parent.id : 0L;
+        event.begin();
+    }
+
+    FlightRecorderStartupStep getParent() {
+        return this.parent;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    @Override
+    public Long getParentId() {
+        return this.parent != null ? this.parent.id : null;
+    }
+
+    @Override
+    public StartupStep tag(String key, String value) {
+        this.tags.put(key, value);
+        if (value != null) {
+            this.event.tag(key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(this.tags);
+    }
+
+    @Override
+    public void end() {
+        this.event.commit();
+        this.applicationStartup.stepEnded(this);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 一个 XML 配置文件的加载
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Name("tinyspring.LoadBeanDefinitions")
+@Label("Load Bean Definitions")
+@Description("Parsing of an XML resource and registration of its bean definitions")
+class LoadBeanDefinitionsEvent extends ContainerEvent {
+
+    @Label("Resource")
+    String resource;
+
+    @Label("Bean Count")
+    int beanCount;
+
+    @Override
+    void tag(String key, String value) {
+        switch (key) {
+            case "resource":
+                this.resource = value;
+                break;
+            case "beanCount":
+                this.beanCount = Integer.parseInt(value);
+                break;
+            default:
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 一次 {@code resolveDependency} 调用，包括查找候选 bean 和获取选中的 bean
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Name("tinyspring.ResolveDependency")
+@Label("Resolve Dependency")
+@Description("Resolution of an autowired dependency, including finding the autowire candidates")
+class ResolveDependencyEvent extends ContainerEvent {
+
+    @Label("Bean Name")
+    @Description("Name of the bean that requests the dependency")
+    String beanName;
+
+    @Label("Dependency Type")
+    String dependencyType;
+
+    @Label("Parameter Name")
+    String parameterName;
+
+    @Override
+    void tag(String key, String value) {
+        switch (key) {
+            case "beanName":
+                this.beanName = value;
+                break;
+            case "dependencyType":
+                this.dependencyType = value;
+                break;
+            case "parameterName":
+                this.parameterName = value;
+                break;
+            default:
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 没有专门事件类型的启动步骤，比如 {@code context.refresh} 的各个阶段以及 {@code createBean} 的子阶段，
+ * 所有的标签以 {@code key=value} 的形式记录在一个字段中
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 23:00
+ * @since 0.0.6
+ */
+@Name("tinyspring.StartupStep")
+@Label("Startup Step")
+@Description("Any other container startup step")
+class StartupStepEvent extends ContainerEvent {
+
+    @Label("Name")
+    String name;
+
+    @Label("Tags")
+    String tags;
+
+    StartupStepEvent(String name) {
+        this.name = name;
+    }
+
+    @Override
+    void tag(String key, String value) {
+        String tag = key + '=' + value;
+        this.tags = this.tags == null ? tag : this.tags + ", " + tag;
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.leisurexi.tiny.spring.beans.util;
+
+/**
+ * Ant 风格的路径匹配，路径按 {@code /} 分段：
+ * <ul>
+ *     <li>{@code ?} 匹配一个字符</li>
+ *     <li>{@code *} 匹配段内的零个或多个字符</li>
+ *     <li>{@code **} 匹配零个或多个段</li>
+ * </ul>
+ * 例如 {@code config/**}{@code /*.xml} 匹配 {@code config} 目录以及子目录下所有的 xml 文件
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:10
+ * @since 0.0.6
+ */
+public final class AntPathMatcher {
+
+    private static final String SEPARATOR = "/";
+
+    private AntPathMatcher() {
+    }
+
+    /**
+     * 路径中是否包含通配符
+     */
+    public static boolean isPattern(String path) {
+        return path.indexOf('*') != -1 || path.indexOf('?') != -1;
+    }
+
+    /**
+     * 路径是否匹配给定的模式
+     *
+     * @param pattern 模式，比如 {@code config/**}{@code /*.xml}
+     * @param path    以 {@code /} 分隔的相对路径
+     */
+    public static boolean match(String pattern, String path) {
+        if (pattern.startsWith(SEPARATOR) != path.startsWith(SEPARATOR)) {
+            return false;
+        }
+        String[] patternSegments = tokenize(pattern);
+        String[] pathSegments = tokenize(path);
+        // matched[j] 表示模式的前 i 段能否匹配路径的前 j 段
+        boolean[] matched = new boolean[pathSegments.length + 1];
+        matched[0] = true;
+        for (String patternSegment : patternSegments) {
+            boolean[] next = new boolean[pathSegments.length + 1];
+            if ("**".equals(patternSegment)) {
+                boolean any = false;
+                for (int j = 0; j <= pathSegments.length; j++) {
+                    any |= matched[j];
+                    next[j] = any;
+                }
+            } else {
+                for (int j = 1; j <= pathSegments.length; j++) {
+                    next[j] = matched[j - 1] && matchSegment(patternSegment, pathSegments[j - 1]);
+                }
+            }
+            matched = next;
+        }
+        return matched[pathSegments.length];
+    }
+
+    /**
+     * 匹配一个路径段，{@code *} 失配时回溯到上一个 {@code *} 的位置
+     */
+    private static boolean matchSegment(String pattern, String segment) {
+        int p = 0;
+        int s = 0;
+        int starPattern = -1;
+        int starSegment = 0;
+        while (s < segment.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == segment.charAt(s))) {
+                p++;
+                s++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                starPattern = p++;
+                starSegment = s;
+            } else if (starPattern != -1) {
+                p = starPattern + 1;
+                s = ++starSegment;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    private static String[] tokenize(String path) {
+        return path.chars().allMatch(c -> c == '/') ? new String[0] : trim(path).split("/+");
+    }
+
+    private static String trim(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+}
@@ -1,13 +1,31 @@
 package com.leisurexi.tiny.spring.beans.util;
 
-import com.github.houbb.asm.tool.reflection.AsmMethods;
 import lombok.extern.slf4j.Slf4j;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * 获取构造器和方法的参数名称：
+ * 1.类使用 {@code -parameters} 编译时，直接通过 {@link Parameter#getName()} 获取
+ * 2.否则使用 ASM 读取 class 文件中的局部变量表，一次读取类中所有构造器和方法的参数名称，
+ * 每个 class 文件最多只解析一次
+ * <p>
+ * 结果按照 {@link Executable} 缓存，获取不到参数名称时返回 {@code null}
+ *
  * @author: leisurexi
  * @date: 2020-05-02 17:39
  * @since 0.0.3
@@ -15,6 +33,36 @@ import java.util.*;
 @Slf4j
 public class LocalVariableTableParameterNameDiscoverer {
 
+    /**
+     * 获取不到参数名称时缓存的占位值
+     */
+    private static final List<String> NO_PARAMETER_NAMES = Collections.unmodifiableList(new ArrayList<>(0));
+
+    /**
+     * 参数名称的缓存，按声明的类型分组，value 为 构造器或方法 -> 只读的参数名称列表。
+     * 使用 {@link ClassValue} 把缓存挂在类型上，不会阻止类型以及它的类加载器被卸载
+     *
+     * @since 0.0.6
+     */
+    private static final ClassValue<Map<Executable, List<String>>> PARAMETER_NAMES_CACHE = new ClassValue<Map<Executable, List<String>>>() {
+        @Override
+        protected Map<Executable, List<String>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(8);
+        }
+    };
+
+    /**
+     * 从 class 文件中读取的参数名称，value 为 方法名 + 描述符 -> 参数名称，同样不会阻止类型被卸载
+     *
+     * @since 0.0.6
+     */
+    private static final ClassValue<Map<String, String[]>> CLASS_PARAMETER_NAMES_CACHE = new ClassValue<Map<String, String[]>>() {
+        @Override
+        protected Map<String, String[]> computeValue(Class<?> type) {
+            return readParameterNames(type);
+        }
+    };
+
     /**
      * 获取构造器参数名称
      *
@@ -22,7 +70,7 @@ public class LocalVariableTableParameterNameDiscoverer {
      * @return 参数名称集合
      */
     public static List<String> getConstructorParamNames(Constructor<?> constructor) {
-        return AsmMethods.getParamNamesByAsm(constructor);
+        return getParameterNames(constructor);
     }
 
     /**
@@ -32,7 +80,127 @@ public class LocalVariableTableParameterNameDiscoverer {
      * @return 参数名称集合
      */
     public static List<String> getMethodParamNames(Method method) {
-        return AsmMethods.getParamNamesByAsm(method);
+        return getParameterNames(method);
+    }
+
+    /**
+     * 获取构造器或方法的参数名称
+     *
+     * @param executable 构造器或方法
+     * @return 只读的参数名称集合，获取不到时返回 {@code null}
+     * @since 0.0.6
+     */
+    public static List<String> getParameterNames(Executable executable) {
+        Map<Executable, List<String>> cache = PARAMETER_NAMES_CACHE.get(executable.getDeclaringClass());
+        List<String> parameterNames = cache.get(executable);
+        if (parameterNames == null) {
+            parameterNames = cache.computeIfAbsent(executable, LocalVariableTableParameterNameDiscoverer::resolveParameterNames);
+        }
+        return parameterNames != NO_PARAMETER_NAMES ? parameterNames : null;
+    }
+
+    private static List<String> resolveParameterNames(Executable executable) {
+        if (executable.getParameterCount() == 0) {
+            return Collections.emptyList();
+        }
+        // 使用 -parameters 编译的类，参数名称已经在 MethodParameters 属性中
+        Parameter[] parameters = executable.getParameters();
+        if (parameters[0].isNamePresent()) {
+            String[] names = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                names[i] = parameters[i].getName();
+            }
+            return Collections.unmodifiableList(Arrays.asList(names));
+        }
+        Map<String, String[]> classParameterNames = CLASS_PARAMETER_NAMES_CACHE.get(executable.getDeclaringClass());
+        String name = executable instanceof Constructor ? "<init>" : executable.getName();
+        String descriptor = executable instanceof Constructor
+                ? Type.getConstructorDescriptor((Constructor<?>) executable) : Type.getMethodDescriptor((Method) executable);
+        String[] names = classParameterNames.get(name + descriptor);
+        if (names == null) {
+            log.debug("No parameter names found for [{}], compile with -parameters or -g", executable);
+            return NO_PARAMETER_NAMES;
+        }
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * 读取类中所有构造器和方法的参数名称，没有局部变量表的方法不会出现在结果中
+     *
+     * @param clazz 类型
+     * @return 方法名 + 描述符 -> 参数名称
+     * @since 0.0.6
+     */
+    static Map<String, String[]> readParameterNames(Class<?> clazz) {
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        ClassLoader classLoader = clazz.getClassLoader();
+        try (InputStream inputStream = classLoader != null
+                ? classLoader.getResourceAsStream(resourceName) : ClassLoader.getSystemResourceAsStream(resourceName)) {
+            if (inputStream == null) {
+                log.debug("Cannot find class file for [{}]", clazz.getName());
+                return Collections.emptyMap();
+            }
+            ParameterNamesClassVisitor classVisitor = new ParameterNamesClassVisitor();
+            new ClassReader(inputStream).accept(classVisitor, ClassReader.SKIP_FRAMES);
+            return classVisitor.parameterNames;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to read class file for [{}]", clazz.getName(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 访问类中的每个方法，根据局部变量表的槽位找出参数名称
+     */
+    private static class ParameterNamesClassVisitor extends ClassVisitor {
+
+        private final Map<String, String[]> parameterNames = new HashMap<>();
+
+        ParameterNamesClassVisitor() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            Type[] argumentTypes = Type.getArgumentTypes(descriptor);
+            if (argumentTypes.length == 0 || "<clinit>".equals(name) || (access & Opcodes.ACC_BRIDGE) != 0) {
+                return null;
+            }
+            // 计算每个参数在局部变量表中的槽位，实例方法的 0 号槽位是 this，long 和 double 占两个槽位
+            int[] slots = new int[argumentTypes.length];
+            int slot = Modifier.isStatic(access) ? 0 : 1;
+            for (int i = 0; i < argumentTypes.length; i++) {
+                slots[i] = slot;
+                slot += argumentTypes[i].getSize();
+            }
+            String key = name + descriptor;
+            return new MethodVisitor(Opcodes.ASM9) {
+
+                private final String[] names = new String[argumentTypes.length];
+
+                @Override
+                public void visitLocalVariable(String variableName, String variableDescriptor, String variableSignature,
+                                               Label start, Label end, int index) {
+                    // 槽位可能被后面的局部变量复用，只记录第一次出现的名称
+                    for (int i = 0; i < slots.length; i++) {
+                        if (slots[i] == index && names[i] == null) {
+                            names[i] = variableName;
+                            return;
+                        }
+                    }
+                }
+
+                @Override
+                public void visitEnd() {
+                    for (String variableName : names) {
+                        if (variableName == null) {
+                            return;
+                        }
+                    }
+                    parameterNames.put(key, names);
+                }
+            };
+        }
     }
 
 }
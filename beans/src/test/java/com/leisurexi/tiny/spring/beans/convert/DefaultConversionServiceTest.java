@@ -0,0 +1,106 @@
+package com.leisurexi.tiny.spring.beans.convert;
+
+import com.leisurexi.tiny.spring.beans.domain.City;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 11:40
+ * @since 0.0.6
+ */
+@Slf4j
+public class DefaultConversionServiceTest {
+
+    private final DefaultConversionService conversionService = new DefaultConversionService();
+
+    @Test
+    public void convertTest() {
+        assertEquals(Long.valueOf(1L), conversionService.convert("1", long.class));
+        assertEquals(Integer.valueOf(8), conversionService.convert(8L, Integer.class));
+        assertEquals(new BigDecimal("1.5"), conversionService.convert("1.5", BigDecimal.class));
+        assertEquals(Boolean.TRUE, conversionService.convert("yes", boolean.class));
+        assertEquals(Character.valueOf('a'), conversionService.convert("a", char.class));
+        assertEquals(TimeUnit.SECONDS, conversionService.convert("SECONDS", TimeUnit.class));
+        assertEquals("SECONDS", conversionService.convert(TimeUnit.SECONDS, String.class));
+        assertNull(conversionService.convert(null, Long.class));
+        String value = "tiny-spring";
+        assertSame(value, conversionService.convert(value, CharSequence.class));
+    }
+
+    @Test
+    public void customConverterTest() {
+        assertFalse(conversionService.canConvert(String.class, City.class));
+        conversionService.addConverter(String.class, City.class, source -> {
+            City city = new City();
+            city.setName(source);
+            return city;
+        });
+        assertTrue(conversionService.canConvert(String.class, City.class));
+        assertEquals("上海", conversionService.convert("上海", City.class).getName());
+    }
+
+    @Test
+    public void bigIntegerTest() {
+        BigInteger large = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.TEN);
+        assertSame(large, conversionService.convert(large, BigInteger.class));
+        assertEquals(large, conversionService.convert(new BigDecimal(large), BigInteger.class));
+        assertEquals(new BigInteger("100000000000000000000"), conversionService.convert(1e20, BigInteger.class));
+        assertEquals(BigInteger.valueOf(42), conversionService.convert(42, BigInteger.class));
+    }
+
+    @Test(expected = BeansException.class)
+    public void lossyBigIntegerTest() {
+        // 小数部分不会被静默截断
+        conversionService.convert(new BigDecimal("1.5"), BigInteger.class);
+    }
+
+    @Test
+    public void narrowingTest() {
+        assertEquals(Byte.valueOf((byte) -128), conversionService.convert(-128L, Byte.class));
+        assertEquals(Short.valueOf((short) 300), conversionService.convert(300, short.class));
+        assertEquals(Integer.valueOf(3), conversionService.convert(3.0, Integer.class));
+        assertEquals(Long.valueOf(Long.MAX_VALUE), conversionService.convert(BigInteger.valueOf(Long.MAX_VALUE), Long.class));
+        assertEquals(Long.valueOf(5_000_000_000L), conversionService.convert(new BigDecimal("5000000000"), Long.class));
+    }
+
+    @Test(expected = BeansException.class)
+    public void overflowIntegerTest() {
+        // 超出范围的值不会被静默截断成其它的值
+        conversionService.convert(5_000_000_000L, Integer.class);
+    }
+
+    @Test(expected = BeansException.class)
+    public void overflowByteTest() {
+        conversionService.convert(128, Byte.class);
+    }
+
+    @Test(expected = BeansException.class)
+    public void overflowLongTest() {
+        conversionService.convert(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), Long.class);
+    }
+
+    @Test(expected = BeansException.class)
+    public void fractionalIntegerTest() {
+        // 小数部分不会被静默丢弃
+        conversionService.convert(3.7, Integer.class);
+    }
+
+    @Test(expected = BeansException.class)
+    public void noConverterTest() {
+        conversionService.convert(new Object(), Long.class);
+    }
+
+    @Test(expected = BeansException.class)
+    public void invalidValueTest() {
+        conversionService.convert("abc", Integer.class);
+    }
+
+}
@@ -2,13 +2,35 @@ package com.leisurexi.tiny.spring.beans.factory;
 
 import com.leisurexi.tiny.spring.beans.PropertyValue;
 import com.leisurexi.tiny.spring.beans.PropertyValues;
+import com.leisurexi.tiny.spring.beans.domain.City;
 import com.leisurexi.tiny.spring.beans.domain.User;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.config.ConstructorArgumentValues;
+import com.leisurexi.tiny.spring.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanCreationRecipe;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.beans.factory.support.MethodHandleInstantiationStrategy;
+import com.leisurexi.tiny.spring.beans.factory.support.SimpleInstantiationStrategy;
+import com.leisurexi.tiny.spring.beans.factory.support.SingletonDependencyGraph;
 import com.leisurexi.tiny.spring.beans.factory.support.xml.XmlBeanDefinitionReader;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author: leisurexi
@@ -41,4 +63,399 @@ public class BeanFactoryTest {
         log.info(String.valueOf(beanNames));
     }
 
+    @Test
+    public void beanNamesForSuperTypeTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("user", new BeanDefinition(User.class));
+        beanFactory.registryBeanDefinition("city", new BeanDefinition(City.class));
+        assertEquals(Arrays.asList("user"), beanFactory.beanNamesForType(InitializingBean.class));
+        assertEquals(Arrays.asList("city"), beanFactory.beanNamesForType(City.class));
+        assertEquals(Arrays.asList("user", "city"), beanFactory.beanNamesForType(Object.class));
+        assertTrue(beanFactory.beanNamesForType(Runnable.class).isEmpty());
+
+        // 查找过之后再注册的 bean 也要能被找到
+        beanFactory.registryBeanDefinition("user1", new BeanDefinition(User.class));
+        assertEquals(Arrays.asList("user", "user1"), beanFactory.beanNamesForType(InitializingBean.class));
+        assertEquals(Arrays.asList("user", "city", "user1"), beanFactory.beanNamesForType(Object.class));
+    }
+
+    @Test
+    public void concurrentSingletonCreationTest() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AtomicInteger instantiations = new AtomicInteger();
+        beanFactory.addBeanPostProcessor(new SlowInstantiationBeanProcessor(instantiations));
+        beanFactory.registryBeanDefinition("user", new BeanDefinition(User.class));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return beanFactory.getBean("user");
+            }));
+        }
+        start.countDown();
+        Object first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> future : futures) {
+            assertSame(first, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, instantiations.get());
+        executor.shutdown();
+    }
+
+    @Test
+    public void concurrentRegistrationTest() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        int threads = 8;
+        int beanCount = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                // 所有线程注册同一批 bean，每个名称只能有一个线程注册成功
+                for (int j = 0; j < beanCount; j++) {
+                    try {
+                        beanFactory.registryBeanDefinition("city" + j, new BeanDefinition(City.class));
+                    } catch (BeansException e) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(beanCount * (threads - 1), duplicates.get());
+        assertEquals(beanCount, beanFactory.getBeanDefinitionCount());
+        assertEquals(beanCount, new HashSet<>(beanFactory.getBeanDefinitionNames()).size());
+        assertEquals(beanCount, beanFactory.getBeanDefinitionNames().size());
+        assertEquals(beanCount, beanFactory.beanNamesForType(City.class).size());
+    }
+
+    @Test
+    public void concurrentCircularDependenceTest() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.addBeanPostProcessor(new SlowInstantiationBeanProcessor(new AtomicInteger()));
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.loadBeanDefinitions("META-INF/bean-circular-dependence.xml");
+
+        // 两个线程同时从循环依赖的两端开始创建，不能死锁，并且互相注入的是同一组实例
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Object> userFuture = executor.submit(() -> {
+            start.await();
+            return beanFactory.getBean("user");
+        });
+        Future<Object> cityFuture = executor.submit(() -> {
+            start.await();
+            return beanFactory.getBean("city");
+        });
+        start.countDown();
+        User user = (User) userFuture.get(5, TimeUnit.SECONDS);
+        City city = (City) cityFuture.get(5, TimeUnit.SECONDS);
+        assertSame(city, user.getCity());
+        assertSame(user, city.getUser());
+        executor.shutdown();
+    }
+
+    @Test
+    public void singletonDependencyGraphTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.loadBeanDefinitions("META-INF/bean-circular-dependence.xml");
+        BeanDefinition beanDefinition = new BeanDefinition(City.class);
+        beanDefinition.getPropertyValues().addPropertyValues(new PropertyValue("user", new RuntimeBeanReference("user")));
+        beanFactory.registryBeanDefinition("shanghai", beanDefinition);
+        beanFactory.registryBeanDefinition("beijing", new BeanDefinition(City.class));
+
+        // 循环依赖的 user 和 city 合并为一个分量，并且排在依赖它的 shanghai 前面
+        SingletonDependencyGraph graph = SingletonDependencyGraph.build(beanFactory, beanFactory.getBeanDefinitionNames());
+        List<List<String>> components = graph.getComponents();
+        assertEquals(Arrays.asList(Arrays.asList("user", "city"), Arrays.asList("shanghai"), Arrays.asList("beijing")), components);
+        assertEquals(0, graph.getComponentDependencies(0).length);
+        assertEquals(0, graph.getComponentDependencies(1)[0]);
+    }
+
+    @Test
+    public void parallelPreInstantiateSingletonsTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AtomicInteger instantiations = new AtomicInteger();
+        beanFactory.addBeanPostProcessor(new SlowInstantiationBeanProcessor(instantiations));
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.loadBeanDefinitions("META-INF/bean-circular-dependence.xml");
+        for (int i = 0; i < 16; i++) {
+            BeanDefinition beanDefinition = new BeanDefinition(City.class);
+            beanDefinition.getPropertyValues().addPropertyValues(new PropertyValue("user", new RuntimeBeanReference("user")));
+            beanFactory.registryBeanDefinition("city" + i, beanDefinition);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        beanFactory.setParallelPreInstantiation(true);
+        beanFactory.setPreInstantiationExecutor(executor);
+        beanFactory.preInstantiateSingletons();
+        executor.shutdown();
+
+        assertEquals(18, instantiations.get());
+        User user = beanFactory.getBean("user", User.class);
+        assertSame(user, beanFactory.getBean("city", City.class).getUser());
+        assertSame(user.getCity(), beanFactory.getBean("city"));
+        for (int i = 0; i < 16; i++) {
+            assertSame(user, beanFactory.getBean("city" + i, City.class).getUser());
+        }
+    }
+
+    @Test
+    public void lazyInitTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.loadBeanDefinitions("META-INF/bean-lazy-init.xml");
+        beanFactory.registryBeanDefinition("shanghai", new BeanDefinition(City.class));
+        beanFactory.setDefaultLazyInit(true);
+        beanFactory.preInstantiateSingletons();
+        // user 继承了 XML 中的 default-lazy-init，shanghai 使用 bean 工厂的默认设置，city 显式关闭了延迟初始化
+        assertFalse(beanFactory.containsSingleton("user"));
+        assertFalse(beanFactory.containsSingleton("shanghai"));
+        assertTrue(beanFactory.containsSingleton("city"));
+        assertSame(beanFactory.getBean("user"), beanFactory.getBean("user"));
+        assertTrue(beanFactory.containsSingleton("user"));
+    }
+
+    @Test
+    public void instantiationStrategyTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+        reader.loadBeanDefinitions("META-INF/bean-constructor.xml");
+        BeanDefinition prototype = new BeanDefinition(City.class);
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registryBeanDefinition("prototypeCity", prototype);
+
+        // 默认构造器和带参构造器创建一次之后，实例化器都缓存在 bean 定义中
+        assertNotSame(beanFactory.getBean("prototypeCity"), beanFactory.getBean("prototypeCity"));
+        assertNotNull(prototype.getInstantiator());
+        User user = beanFactory.getBean("user", User.class);
+        assertEquals("leisurexi", user.getName());
+        assertSame(beanFactory.getBean("city"), user.getCity());
+        assertNotNull(beanFactory.getBeanDefinition("user").getInstantiator());
+
+        // 切换为反射的实例化策略，结果保持一致
+        beanFactory.setInstantiationStrategy(new SimpleInstantiationStrategy());
+        assertNotSame(beanFactory.getBean("prototypeCity"), beanFactory.getBean("prototypeCity"));
+    }
+
+    @Test
+    public void instantiatorBeanClassChangeTest() {
+        BeanDefinition beanDefinition = new BeanDefinition(City.class);
+        MethodHandleInstantiationStrategy instantiationStrategy = new MethodHandleInstantiationStrategy();
+        assertTrue(instantiationStrategy.instantiate(beanDefinition, "bean") instanceof City);
+        // bean 定义指向了别的类型之后，不再使用缓存的实例化器
+        beanDefinition.setBeanClass(User.class);
+        assertTrue(instantiationStrategy.instantiate(beanDefinition, "bean") instanceof User);
+    }
+
+    @Test
+    public void propertyWriterPlanTest() {
+        BeanDefinition beanDefinition = new BeanDefinition(City.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanDefinition.getPropertyValues().addPropertyValues(new PropertyValue("id", "1"));
+        beanDefinition.getPropertyValues().addPropertyValues(new PropertyValue("name", "北京"));
+        beanDefinition.getPropertyValues().addPropertyValues(new PropertyValue("user", new RuntimeBeanReference("user")));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("city", beanDefinition);
+        beanFactory.registryBeanDefinition("user", new BeanDefinition(User.class));
+
+        City city = beanFactory.getBean("city", City.class);
+        assertEquals(Long.valueOf(1L), city.getId());
+        assertEquals("北京", city.getName());
+        assertSame(beanFactory.getBean("user"), city.getUser());
+        // 写入计划只在第一次创建时构建，之后的实例共用
+        Object plan = beanDefinition.getPropertyWriterPlan();
+        assertNotNull(plan);
+        assertEquals(Long.valueOf(1L), beanFactory.getBean("city", City.class).getId());
+        assertSame(plan, beanDefinition.getPropertyWriterPlan());
+    }
+
+    @Test
+    public void creationRecipeTest() {
+        BeanDefinition beanDefinition = new BeanDefinition(User.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanDefinition.setInitMethodName("init");
+        ConstructorArgumentValues argumentValues = new ConstructorArgumentValues();
+        argumentValues.addIndexArgumentValue(0, "1");
+        argumentValues.addIndexArgumentValue(1, "leisurexi");
+        argumentValues.addIndexArgumentValue(2, new RuntimeBeanReference("city"));
+        beanDefinition.setConstructorArgumentValues(argumentValues);
+        BeanDefinition cityDefinition = new BeanDefinition(City.class);
+        cityDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("user", beanDefinition);
+        beanFactory.registryBeanDefinition("city", cityDefinition);
+
+        User user = beanFactory.getBean("user", User.class);
+        assertEquals(Long.valueOf(1L), user.getId());
+        assertEquals("leisurexi", user.getName());
+        assertNotNull(user.getCity());
+        // 构造器和初始化方法只在第一次创建时解析，之后的实例按配方创建，引用的 bean 每次重新获取
+        BeanCreationRecipe recipe = beanDefinition.getCreationRecipe();
+        Object resolvedConstructor = recipe.getResolvedConstructor();
+        Object initMethod = recipe.getInitMethod();
+        assertNotNull(resolvedConstructor);
+        assertNotNull(initMethod);
+        User another = beanFactory.getBean("user", User.class);
+        assertEquals("leisurexi", another.getName());
+        assertNotSame(user.getCity(), another.getCity());
+        assertSame(recipe, beanDefinition.getCreationRecipe());
+        assertSame(resolvedConstructor, recipe.getResolvedConstructor());
+        assertSame(initMethod, recipe.getInitMethod());
+    }
+
+    @Test
+    public void autowirePrototypeTest() {
+        BeanDefinition beanDefinition = new BeanDefinition(User.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanDefinition.setAutowireMode(BeanDefinition.AUTOWIRE_BY_TYPE);
+        beanDefinition.getPropertyValues().addPropertyValues(new PropertyValue("name", "leisurexi"));
+        BeanDefinition cityDefinition = new BeanDefinition(City.class);
+        cityDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("user", beanDefinition);
+        beanFactory.registryBeanDefinition("city", cityDefinition);
+
+        User user = beanFactory.getBean("user", User.class);
+        User another = beanFactory.getBean("user", User.class);
+        assertEquals("leisurexi", another.getName());
+        assertNotNull(user.getCity());
+        // 自动注入的属性不会写回 bean 定义，原型 bean 每次都注入新的依赖
+        assertNotSame(user.getCity(), another.getCity());
+        assertEquals(1, beanDefinition.getPropertyValues().getPropertyValues().size());
+        assertNotNull(beanDefinition.getCreationRecipe().getAutowirePlan());
+    }
+
+    @Test
+    public void autowireConstructorTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(User.class);
+        beanDefinition.setAutowireMode(BeanDefinition.AUTOWIRE_CONSTRUCTOR);
+        beanFactory.registryBeanDefinition("user", beanDefinition);
+        beanFactory.registryBeanDefinition("city", new BeanDefinition(City.class));
+        beanFactory.registryBeanDefinition("city1", new BeanDefinition(City.class));
+
+        // User(Long, String, City) 的参数找不到候选 bean，直接跳过；User(City) 有两个候选 bean，按参数名匹配到 city
+        User user = beanFactory.getBean("user", User.class);
+        assertEquals(Long.valueOf(2L), user.getId());
+        assertSame(beanFactory.getBean("city"), user.getCity());
+    }
+
+    @Test
+    public void autowiredDependencyTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(User.class);
+        beanDefinition.setAutowireMode(BeanDefinition.AUTOWIRE_CONSTRUCTOR);
+        beanFactory.registryBeanDefinition("user", beanDefinition);
+        beanFactory.registryBeanDefinition("city", new BeanDefinition(City.class));
+        // city 已经在单例缓存中，自动注入时命中快速路径，依赖关系仍然要被记录
+        City city = beanFactory.getBean("city", City.class);
+        assertTrue(beanFactory.getDependenciesForBean("city").isEmpty());
+        assertSame(city, beanFactory.getBean("user", User.class).getCity());
+        assertEquals(Collections.singleton("city"), beanFactory.getDependenciesForBean("user"));
+    }
+
+    @Test
+    public void destroySingletonsTest() {
+        DESTROYED_BEANS.clear();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setDestroyTimeoutMillis(200);
+        // a 依赖 b，c 销毁时会卡住，d 同时实现了 DisposableBean 接口和 destroy-method
+        BeanDefinition a = new BeanDefinition(DisposableResource.class);
+        a.getPropertyValues().addPropertyValues(new PropertyValue("name", "a"));
+        a.getPropertyValues().addPropertyValues(new PropertyValue("dependency", new RuntimeBeanReference("b")));
+        BeanDefinition b = new BeanDefinition(DisposableResource.class);
+        b.getPropertyValues().addPropertyValues(new PropertyValue("name", "b"));
+        BeanDefinition c = new BeanDefinition(DisposableResource.class);
+        c.getPropertyValues().addPropertyValues(new PropertyValue("name", "c"));
+        c.getPropertyValues().addPropertyValues(new PropertyValue("destroyMillis", "5000"));
+        c.getPropertyValues().addPropertyValues(new PropertyValue("dependency", new RuntimeBeanReference("b")));
+        BeanDefinition d = new BeanDefinition(DisposableResource.class);
+        d.getPropertyValues().addPropertyValues(new PropertyValue("name", "d"));
+        d.setDestroyMethodName("close");
+        beanFactory.registryBeanDefinition("b", b);
+        beanFactory.registryBeanDefinition("a", a);
+        beanFactory.registryBeanDefinition("c", c);
+        beanFactory.registryBeanDefinition("d", d);
+        beanFactory.preInstantiateSingletons();
+        assertTrue(beanFactory.getDependenciesForBean("a").contains("b"));
+
+        long start = System.nanoTime();
+        beanFactory.destroySingletons();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // 卡住的 c 超时后不再等待，依赖它的 b 照常销毁，并且 b 总是在依赖它的 a 之后销毁
+        assertTrue("elapsed " + elapsedMillis + " ms", elapsedMillis < 3000);
+        assertFalse(DESTROYED_BEANS.contains("destroy:c"));
+        assertTrue(DESTROYED_BEANS.indexOf("destroy:a") < DESTROYED_BEANS.indexOf("destroy:b"));
+        assertTrue(DESTROYED_BEANS.contains("destroy:d"));
+        assertTrue(DESTROYED_BEANS.contains("close:d"));
+        assertFalse(beanFactory.containsSingleton("a"));
+        assertFalse(beanFactory.isDisposableBean("b"));
+    }
+
+    /**
+     * 实例化后停顿一会儿，放大并发创建时的竞争窗口
+     */
+    private static class SlowInstantiationBeanProcessor implements InstantiationAwareBeanPostProcessor {
+
+        private final AtomicInteger instantiations;
+
+        SlowInstantiationBeanProcessor(AtomicInteger instantiations) {
+            this.instantiations = instantiations;
+        }
+
+        @Override
+        public boolean postProcessAfterInstantiation(Object bean, String beanName) {
+            instantiations.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+
+        @Override
+        public PropertyValues postProcessProperties(PropertyValues pvs, Object bean, String beanName) {
+            return pvs;
+        }
+    }
+
+    private static final List<String> DESTROYED_BEANS = new CopyOnWriteArrayList<>();
+
+    /**
+     * 销毁时记录下自己的名称
+     */
+    public static class DisposableResource implements DisposableBean {
+
+        private String name;
+
+        private long destroyMillis;
+
+        private DisposableResource dependency;
+
+        @Override
+        public void destroy() throws Exception {
+            if (destroyMillis > 0) {
+                Thread.sleep(destroyMillis);
+            }
+            DESTROYED_BEANS.add("destroy:" + name);
+        }
+
+        public void close() {
+            DESTROYED_BEANS.add("close:" + name);
+        }
+    }
+
 }
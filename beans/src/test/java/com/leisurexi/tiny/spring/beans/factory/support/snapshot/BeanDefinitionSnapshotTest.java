@@ -0,0 +1,90 @@
+package com.leisurexi.tiny.spring.beans.factory.support.snapshot;
+
+import com.leisurexi.tiny.spring.beans.PropertyValue;
+import com.leisurexi.tiny.spring.beans.domain.City;
+import com.leisurexi.tiny.spring.beans.domain.User;
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.beans.factory.support.xml.XmlBeanDefinitionReader;
+import com.leisurexi.tiny.spring.beans.io.Resource;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 23:50
+ * @since 0.0.6
+ */
+public class BeanDefinitionSnapshotTest {
+
+    private static final String CONFIG_LOCATION = "META-INF/bean-constructor.xml";
+
+    @Test
+    public void writeAndLoadTest() throws Exception {
+        Path file = Files.createTempDirectory("snapshot").resolve("beans.snapshot");
+        DefaultListableBeanFactory source = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader xmlReader = new XmlBeanDefinitionReader(source);
+        xmlReader.loadBeanDefinitions(CONFIG_LOCATION);
+        BeanDefinition lazyCity = new BeanDefinition(City.class);
+        lazyCity.setLazyInit(true);
+        lazyCity.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        lazyCity.getPropertyValues().addPropertyValues(new PropertyValue("id", 2L));
+        source.registryBeanDefinition("lazyCity", lazyCity);
+        String fingerprint = BeanDefinitionSnapshot.fingerprint(xmlReader.getResourceLoader().getResource(CONFIG_LOCATION));
+        new BeanDefinitionSnapshotWriter().write(source, source.getBeanDefinitionNames(), file, fingerprint);
+
+        DefaultListableBeanFactory target = new DefaultListableBeanFactory();
+        assertEquals(3, new BeanDefinitionSnapshotReader(target, getClass().getClassLoader()).loadBeanDefinitions(file, fingerprint));
+        assertEquals(source.getBeanDefinitionNames(), target.getBeanDefinitionNames());
+        BeanDefinition user = target.getBeanDefinition("user");
+        assertSame(User.class, user.getBeanClass());
+        assertEquals("leisurexi", user.getConstructorArgumentValues().getArgumentValue(1));
+        assertEquals("city", ((RuntimeBeanReference) user.getConstructorArgumentValues().getArgumentValue(2)).getBeanName());
+        BeanDefinition city = target.getBeanDefinition("lazyCity");
+        assertTrue(city.isLazyInit());
+        assertTrue(city.isPrototype());
+        assertEquals(2L, city.getPropertyValues().getPropertyValues().get(0).getValue());
+        assertEquals(1, target.beanNamesForType(User.class).size());
+        assertEquals("北京", ((User) target.getBean("user")).getCity().getName());
+    }
+
+    @Test
+    public void staleSnapshotTest() throws Exception {
+        Path file = Files.createTempDirectory("snapshot").resolve("beans.snapshot");
+        DefaultListableBeanFactory source = new DefaultListableBeanFactory();
+        new XmlBeanDefinitionReader(source).loadBeanDefinitions(CONFIG_LOCATION);
+        new BeanDefinitionSnapshotWriter().write(source, source.getBeanDefinitionNames(), file, fingerprint("v1"));
+
+        // 配置文件的指纹变化后快照失效
+        DefaultListableBeanFactory target = new DefaultListableBeanFactory();
+        BeanDefinitionSnapshotReader reader = new BeanDefinitionSnapshotReader(target, getClass().getClassLoader());
+        assertEquals(-1, reader.loadBeanDefinitions(file, fingerprint("v2")));
+        assertEquals(0, target.getBeanDefinitionCount());
+
+        // 格式版本不一致时快照失效
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.seek(4);
+            randomAccessFile.writeShort(BeanDefinitionSnapshot.VERSION + 1);
+        }
+        assertEquals(-1, reader.loadBeanDefinitions(file, fingerprint("v1")));
+        assertFalse(target.containsBeanDefinition("user"));
+        assertEquals(-1, reader.loadBeanDefinitions(file.resolveSibling("missing.snapshot"), fingerprint("v1")));
+    }
+
+    private static String fingerprint(String content) {
+        Resource resource = () -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        return BeanDefinitionSnapshot.fingerprint(resource);
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.leisurexi.tiny.spring.beans.io;
+
+import com.leisurexi.tiny.spring.beans.util.AntPathMatcher;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 21:10
+ * @since 0.0.6
+ */
+public class PathMatchingResourcePatternResolverTest {
+
+    @Test
+    public void antPathMatcherTest() {
+        assertTrue(AntPathMatcher.match("**/*.xml", "bean-scope.xml"));
+        assertTrue(AntPathMatcher.match("**/*.xml", "a/b/bean-scope.xml"));
+        assertTrue(AntPathMatcher.match("a/**/b/*-?.xml", "a/b/c-1.xml"));
+        assertTrue(AntPathMatcher.match("a/**/b/*-?.xml", "a/x/y/b/c-1.xml"));
+        assertFalse(AntPathMatcher.match("a/*.xml", "a/b/c.xml"));
+        assertFalse(AntPathMatcher.match("a/*-?.xml", "a/c-12.xml"));
+        assertEquals("config/", PathMatchingResourcePatternResolver.determineRootDir("config/**/*.xml"));
+        assertEquals("", PathMatchingResourcePatternResolver.determineRootDir("*.xml"));
+    }
+
+    @Test
+    public void directoryAndJarTest() throws IOException {
+        Path directory = Files.createTempDirectory("resources");
+        Files.createDirectories(directory.resolve("config/sub"));
+        write(directory.resolve("config/b.xml"), "dir-b");
+        write(directory.resolve("config/sub/a.xml"), "dir-a");
+        write(directory.resolve("config/sub/a.txt"), "ignored");
+        Path jar = directory.resolve("config.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(jar))) {
+            outputStream.putNextEntry(new JarEntry("config/"));
+            outputStream.closeEntry();
+            putEntry(outputStream, "config/jar.xml", "jar");
+            putEntry(outputStream, "other/other.xml", "other");
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[]{directory.toUri().toURL(), jar.toUri().toURL()}, null)) {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+            // 目录和 jar 包中的资源都能找到，按根目录顺序排列，同一根目录下按路径排序
+            assertContents(resolver.getResources("classpath*:config/**/*.xml"), "dir-b", "dir-a", "jar");
+            // 只查找第一个根目录
+            assertContents(resolver.getResources("classpath:config/**/*.xml"), "dir-b", "dir-a");
+            assertContents(resolver.getResources("classpath*:config/jar.xml"), "jar");
+            assertEquals(0, resolver.getResources("classpath*:missing/*.xml").length);
+            assertTrue(resolver.getResource("config/b.xml").exists());
+            assertFalse(resolver.getResource("classpath:config/missing.xml").exists());
+        }
+    }
+
+    @Test
+    public void fileSystemResourceTest() throws IOException {
+        Path directory = Files.createTempDirectory("resources");
+        Path small = directory.resolve("small.xml");
+        write(small, "<beans/>");
+        FileSystemResource smallResource = new FileSystemResource(small);
+        assertEquals("<beans/>", read(smallResource));
+        assertEquals("<beans/>", StandardCharsets.UTF_8.decode(smallResource.getByteBuffer()).toString());
+        assertEquals(smallResource, new ResourceLoader().getResource(small.toUri().toString()));
+
+        // 大文件通过内存映射读取
+        byte[] content = new byte[(int) FileSystemResource.MAPPING_THRESHOLD + 1];
+        Arrays.fill(content, (byte) 'x');
+        Path large = directory.resolve("large.xml");
+        Files.write(large, content);
+        FileSystemResource largeResource = new FileSystemResource(large);
+        ByteBuffer buffer = largeResource.getByteBuffer();
+        assertTrue(buffer instanceof MappedByteBuffer);
+        assertEquals(content.length, buffer.remaining());
+        try (InputStream inputStream = largeResource.getInputStream()) {
+            assertArrayEquals(content, readAll(inputStream));
+        }
+        assertFalse(new FileSystemResource(directory.resolve("missing.xml")).exists());
+    }
+
+    @Test
+    public void byteArrayResourceTest() throws IOException {
+        byte[] content = "<beans/>".getBytes(StandardCharsets.UTF_8);
+        ByteArrayResource resource = new ByteArrayResource(content);
+        assertEquals("<beans/>", read(resource));
+        assertTrue(resource.getByteBuffer().isReadOnly());
+        assertEquals(content.length, resource.getByteBuffer().remaining());
+    }
+
+    private static void assertContents(Resource[] resources, String... expected) throws IOException {
+        String[] contents = new String[resources.length];
+        for (int i = 0; i < resources.length; i++) {
+            contents[i] = read(resources[i]);
+        }
+        assertArrayEquals(expected, contents);
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return new String(readAll(inputStream), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putEntry(JarOutputStream outputStream, String name, String content) throws IOException {
+        outputStream.putNextEntry(new JarEntry(name));
+        outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        outputStream.closeEntry();
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+import com.leisurexi.tiny.spring.beans.domain.City;
+import com.leisurexi.tiny.spring.beans.domain.User;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.beans.scope.ThreadLocalScope;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 23:50
+ * @since 0.0.6
+ */
+public class BeanMetricsRegistryTest {
+
+    @Test
+    public void getBeanMetricsTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("city", new BeanDefinition(City.class));
+        BeanDefinition prototype = new BeanDefinition(City.class);
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registryBeanDefinition("prototypeCity", prototype);
+        BeanDefinition threadLocal = new BeanDefinition(User.class);
+        threadLocal.setScope("thread-local");
+        beanFactory.registryBeanDefinition("threadLocalUser", threadLocal);
+        beanFactory.registerScope(new ThreadLocalScope());
+
+        // 默认不记录
+        beanFactory.getBean("city");
+        BeanMetricsRegistry registry = new BeanMetricsRegistry();
+        beanFactory.setBeanMetrics(registry);
+        for (int i = 0; i < 3; i++) {
+            beanFactory.getBean("city");
+            beanFactory.getBean("prototypeCity");
+            beanFactory.getBean("threadLocalUser");
+        }
+        // 切换回默认实现后停止记录
+        beanFactory.setBeanMetrics(BeanMetrics.NOOP);
+        beanFactory.getBean("prototypeCity");
+
+        BeanStatistics city = registry.getBeanStatistics("city");
+        assertEquals(3, city.getRequestCount());
+        assertEquals(3, city.getSingletonCacheHitCount());
+        assertEquals(0, city.getSingletonCacheMissCount());
+        assertEquals(0, city.getCreationTime().getCount());
+
+        BeanStatistics prototypeCity = registry.getBeanStatistics("prototypeCity");
+        assertEquals(3, prototypeCity.getRequestCount());
+        assertEquals(3, prototypeCity.getPrototypeCreationCount());
+        assertEquals(3, prototypeCity.getCreationTime().getCount());
+        assertTrue(prototypeCity.getCreationTime().getValueAtPercentile(50) <= prototypeCity.getCreationTime().getMaxNanos());
+        assertTrue(prototypeCity.getPrototypeCreationsPerSecond() > 0);
+
+        BeanStatistics threadLocalUser = registry.getBeanStatistics("threadLocalUser");
+        assertEquals(3, threadLocalUser.getScopedLookupCount());
+        // 同一个线程只创建一次
+        assertEquals(1, threadLocalUser.getCreationTime().getCount());
+
+        assertEquals(3, registry.getMostRequestedBeans(5).size());
+        assertEquals("prototypeCity", registry.getMostCreatedPrototypes(1).get(0).getBeanName());
+        registry.reset();
+        assertNull(registry.getBeanStatistics("city"));
+    }
+
+    @Test
+    public void singletonCacheMissTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("city", new BeanDefinition(City.class));
+        BeanMetricsRegistry registry = new BeanMetricsRegistry();
+        beanFactory.setBeanMetrics(registry);
+        beanFactory.getBean("city");
+        beanFactory.getBean("city");
+
+        BeanStatistics city = registry.getBeanStatistics("city");
+        assertEquals(2, city.getRequestCount());
+        assertEquals(1, city.getSingletonCacheMissCount());
+        assertEquals(1, city.getSingletonCacheHitCount());
+        assertEquals(1, city.getCreationTime().getCount());
+    }
+
+    @Test
+    public void unknownBeanNotRecordedTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanMetricsRegistry registry = new BeanMetricsRegistry();
+        beanFactory.setBeanMetrics(registry);
+        // 没有 bean 定义的名称不创建指标，任意名称的查找不会让指标无限增长
+        for (int i = 0; i < 3; i++) {
+            try {
+                beanFactory.getBean("missing" + i);
+                fail("no such bean definition expected");
+            } catch (BeansException expected) {
+            }
+        }
+        assertTrue(registry.getBeanStatistics().isEmpty());
+    }
+
+    @Test
+    public void latencyHistogramTest() {
+        // 每个值都落在上界不小于它自身、下一个桶的上界大于它的桶中
+        for (long value : new long[]{0, 1, 3, 4, 7, 8, 9, 15, 16, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index < LatencyHistogram.BUCKET_COUNT);
+            if (index < LatencyHistogram.BUCKET_COUNT - 1) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index) >= value);
+                assertTrue(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < value);
+            }
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50_500.0, snapshot.getMeanNanos(), 0.0);
+        assertEquals(100_000, snapshot.getMaxNanos());
+        assertEquals(100_000, snapshot.getValueAtPercentile(100));
+        // 相对误差不超过 25%
+        long median = snapshot.getValueAtPercentile(50);
+        assertTrue(String.valueOf(median), median >= 50_000 && median <= 62_500);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.leisurexi.tiny.spring.beans.metrics;
+
+import com.leisurexi.tiny.spring.beans.domain.City;
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.BeanPostProcessor;
+import com.leisurexi.tiny.spring.beans.factory.support.xml.XmlBeanDefinitionReader;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 22:30
+ * @since 0.0.6
+ */
+public class BufferingApplicationStartupTest {
+
+    @Test
+    public void defaultStartupTest() {
+        StartupStep step = ApplicationStartup.DEFAULT.start("test").tag("key", "value");
+        assertSame(step, ApplicationStartup.DEFAULT.start("other"));
+        assertTrue(step.getTags().isEmpty());
+        step.end();
+    }
+
+    @Test
+    public void nestedStepTest() {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+        StartupStep parent = applicationStartup.start("parent");
+        StartupStep child = applicationStartup.start("child").tag("name", "a\"b\n");
+        child.end();
+        parent.end();
+        // 缓冲区满了之后丢弃新的步骤
+        applicationStartup.start("dropped").end();
+
+        List<StartupStep> steps = applicationStartup.getBufferedSteps();
+        assertEquals(2, steps.size());
+        assertEquals("parent", steps.get(0).getName());
+        assertNull(steps.get(0).getParentId());
+        assertEquals(Long.valueOf(parent.getId()), steps.get(1).getParentId());
+        assertEquals(1, applicationStartup.getDroppedStepCount());
+        String json = applicationStartup.toJson();
+        assertTrue(json, json.startsWith("[{\"id\":1,\"parentId\":null,\"name\":\"parent\""));
+        assertTrue(json, json.contains("\"tags\":{\"name\":\"a\\\"b\\n\"}"));
+    }
+
+    @Test
+    public void createBeanStepsTest() {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setApplicationStartup(applicationStartup);
+        beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+        });
+        new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("META-INF/bean-constructor.xml");
+        beanFactory.getBean("city");
+
+        List<StartupStep> steps = applicationStartup.getBufferedSteps();
+        // 读取器默认使用 bean 工厂的 applicationStartup，加载配置文件是第一个步骤
+        assertEquals("beans.load-bean-definitions", steps.get(0).getName());
+        assertEquals("2", steps.get(0).getTags().get("beanCount"));
+        StartupStep createStep = steps.get(1);
+        assertEquals("beans.create", createStep.getName());
+        assertEquals("city", createStep.getTags().get("beanName"));
+        assertEquals(City.class.getName(), createStep.getTags().get("beanClass"));
+        Map<String, StartupStep> children = steps.stream()
+                .filter(step -> Long.valueOf(createStep.getId()).equals(step.getParentId()))
+                .filter(step -> !"beans.post-process".equals(step.getName()))
+                .collect(Collectors.toMap(StartupStep::getName, Function.identity()));
+        assertEquals(4, children.size());
+        assertTrue(children.containsKey("beans.create.before-instantiation"));
+        assertTrue(children.containsKey("beans.create.instantiate"));
+        assertTrue(children.containsKey("beans.create.populate"));
+        StartupStep initializeStep = children.get("beans.create.initialize");
+        // 每次调用后置处理器都是初始化阶段的子步骤
+        List<String> phases = steps.stream()
+                .filter(step -> Long.valueOf(initializeStep.getId()).equals(step.getParentId()))
+                .map(step -> step.getTags().get("phase"))
+                .collect(Collectors.toList());
+        assertEquals(2, phases.size());
+        assertTrue(phases.contains("before-initialization"));
+        assertTrue(phases.contains("after-initialization"));
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.leisurexi.tiny.spring.beans.metrics.jfr;
+
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.support.xml.XmlBeanDefinitionReader;
+import com.leisurexi.tiny.spring.beans.metrics.ApplicationStartup;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 23:20
+ * @since 0.0.6
+ */
+public class FlightRecorderApplicationStartupTest {
+
+    @Test
+    public void disabledTest() {
+        // 没有在录制时返回共享的空步骤
+        FlightRecorderApplicationStartup applicationStartup = new FlightRecorderApplicationStartup();
+        StartupStep step = applicationStartup.start("beans.create");
+        assertSame(ApplicationStartup.DEFAULT.start("beans.create"), step);
+        step.end();
+    }
+
+    @Test
+    public void recordingTest() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("tinyspring.CreateBean");
+            recording.enable("tinyspring.ResolveDependency");
+            recording.enable("tinyspring.LoadBeanDefinitions");
+            recording.disable("tinyspring.StartupStep");
+            recording.start();
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.setApplicationStartup(new FlightRecorderApplicationStartup());
+            new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("META-INF/bean-autowire-by-type.xml");
+            beanFactory.getBean("user");
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        RecordedEvent loadEvent = findEvent(events, "tinyspring.LoadBeanDefinitions");
+        assertTrue(loadEvent.getString("resource").contains("bean-autowire-by-type.xml"));
+        assertEquals(3, loadEvent.getInt("beanCount"));
+
+        RecordedEvent createEvent = events.stream()
+                .filter(event -> "tinyspring.CreateBean".equals(event.getEventType().getName()))
+                .filter(event -> "user".equals(event.getString("beanName")))
+                .findFirst().orElseThrow(AssertionError::new);
+        assertEquals("singleton", createEvent.getString("scope"));
+        assertFalse(createEvent.getDuration().isNegative());
+
+        // 依赖解析是创建 user 的子步骤
+        RecordedEvent resolveEvent = findEvent(events, "tinyspring.ResolveDependency");
+        assertEquals("user", resolveEvent.getString("beanName"));
+        assertEquals(createEvent.getLong("stepId"), resolveEvent.getLong("parentStepId"));
+
+        // 关闭的事件类型不会被记录
+        assertTrue(events.stream().noneMatch(event -> "tinyspring.StartupStep".equals(event.getEventType().getName())));
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("tiny-spring", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("tinyspring."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent findEvent(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> name.equals(event.getEventType().getName()))
+                .findFirst().orElseThrow(() -> new AssertionError("No " + name + " event"));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.leisurexi.tiny.spring.beans.util;
+
+import com.leisurexi.tiny.spring.beans.domain.City;
+import com.leisurexi.tiny.spring.beans.domain.User;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 19:50
+ * @since 0.0.6
+ */
+public class LocalVariableTableParameterNameDiscovererTest {
+
+    @Test
+    public void getParameterNamesTest() throws Exception {
+        Constructor<User> constructor = User.class.getConstructor(Long.class, String.class, City.class);
+        assertEquals(Arrays.asList("id", "name", "city"), LocalVariableTableParameterNameDiscoverer.getConstructorParamNames(constructor));
+        // 结果按构造器缓存，之后的调用返回同一个实例
+        assertSame(LocalVariableTableParameterNameDiscoverer.getConstructorParamNames(constructor),
+                LocalVariableTableParameterNameDiscoverer.getConstructorParamNames(User.class.getConstructor(Long.class, String.class, City.class)));
+        Method method = User.class.getMethod("setName", String.class);
+        assertEquals(Arrays.asList("name"), LocalVariableTableParameterNameDiscoverer.getMethodParamNames(method));
+    }
+
+    @Test
+    public void classLoaderNotRetainedTest() throws Exception {
+        WeakReference<ClassLoader> classLoaderReference = discoverInIsolatedClassLoader();
+        // 缓存不应该阻止类加载器被回收
+        for (int i = 0; i < 20 && classLoaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull(classLoaderReference.get());
+    }
+
+    private static WeakReference<ClassLoader> discoverInIsolatedClassLoader() throws Exception {
+        // 测试类以及它们依赖的主代码都由新的类加载器加载
+        URL testClasses = User.class.getProtectionDomain().getCodeSource().getLocation();
+        URL mainClasses = LocalVariableTableParameterNameDiscoverer.class.getProtectionDomain().getCodeSource().getLocation();
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{testClasses, mainClasses}, ClassLoader.getSystemClassLoader().getParent());
+        Class<?> userClass = Class.forName(User.class.getName(), false, classLoader);
+        Class<?> cityClass = Class.forName(City.class.getName(), false, classLoader);
+        assertEquals(Arrays.asList("id", "name", "city"), LocalVariableTableParameterNameDiscoverer.getConstructorParamNames(
+                userClass.getConstructor(Long.class, String.class, cityClass)));
+        classLoader.close();
+        return new WeakReference<>(classLoader);
+    }
+
+    @Test
+    public void readParameterNamesTest() {
+        // 一次读取类中所有构造器和方法的参数名称
+        Map<String, String[]> parameterNames = LocalVariableTableParameterNameDiscoverer.readParameterNames(User.class);
+        assertArrayEquals(new String[]{"id", "name", "city"},
+                parameterNames.get("<init>(Ljava/lang/Long;Ljava/lang/String;Lcom/leisurexi/tiny/spring/beans/domain/City;)V"));
+        assertArrayEquals(new String[]{"city"}, parameterNames.get("<init>(Lcom/leisurexi/tiny/spring/beans/domain/City;)V"));
+        assertArrayEquals(new String[]{"name"}, parameterNames.get("setName(Ljava/lang/String;)V"));
+    }
+
+}
@@ -1,12 +1,30 @@
 package com.leisurexi.tiny.spring.beans.xml;
 
+import com.leisurexi.tiny.spring.beans.PropertyValue;
 import com.leisurexi.tiny.spring.beans.beanprocessor.MyInstantiationAwareBeanProcessor;
+import com.leisurexi.tiny.spring.beans.domain.City;
 import com.leisurexi.tiny.spring.beans.domain.User;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.leisurexi.tiny.spring.beans.factory.support.xml.NamespaceHandler;
 import com.leisurexi.tiny.spring.beans.factory.support.xml.XmlBeanDefinitionReader;
 import com.leisurexi.tiny.spring.beans.scope.ThreadLocalScope;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
+import org.w3c.dom.Element;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author: leisurexi
@@ -119,4 +137,131 @@ public class XmlBeanDefinitionReaderTest {
         log.info("user: [{}]", user);
     }
 
+    @Test
+    public void streamingResourceTest() {
+        String xml = "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n" +
+                "<beans default-lazy-init=\"true\">\n" +
+                "    <!-- 注释和未知的节点会被跳过 -->\n" +
+                "    <unknown:element><bean id=\"ignored\" class=\"java.lang.Object\"/></unknown:element>\n" +
+                "    <bean id=\"user\" class=\"com.leisurexi.tiny.spring.beans.domain.User\" lazy-init=\"false\">\n" +
+                "        <property name=\"id\" value=\"1\"/>\n" +
+                "        <property name=\"city\" ref=\"city\"/>\n" +
+                "    </bean>\n" +
+                "    <bean id=\"lazyUser\" class=\"com.leisurexi.tiny.spring.beans.domain.User\"/>\n" +
+                "    <test:city id=\"city\" name=\"北京\"><test:description>首都</test:description></test:city>\n" +
+                "</beans>";
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory, new CityNamespaceHandler());
+        int count = beanDefinitionReader.loadBeanDefinitions(() -> new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, count);
+        assertFalse(beanFactory.containsBeanDefinition("ignored"));
+        assertFalse(beanFactory.getBeanDefinition("user").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("lazyUser").isLazyInit());
+        User user = (User) beanFactory.getBean("user");
+        assertSame(beanFactory.getBean("city"), user.getCity());
+        assertEquals("北京", user.getCity().getName());
+    }
+
+    @Test
+    public void closeFailureTest() {
+        String xml = "<beans><bean id=\"user\" class=\"com.leisurexi.tiny.spring.beans.domain.MissingUser\"/></beans>";
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory);
+        // 关闭输入流失败不能覆盖解析时的异常
+        try {
+            beanDefinitionReader.loadBeanDefinitions(() -> new FailingCloseInputStream(xml));
+            fail("class not found expected");
+        } catch (BeansException e) {
+            assertTrue(e.getCause() instanceof ClassNotFoundException);
+        }
+        // 解析成功时关闭失败也不影响加载结果
+        String validXml = "<beans><bean id=\"city\" class=\"com.leisurexi.tiny.spring.beans.domain.City\"/></beans>";
+        assertEquals(1, beanDefinitionReader.loadBeanDefinitions(() -> new FailingCloseInputStream(validXml)));
+    }
+
+    @Test
+    public void concurrentRegistrationCountTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory() {
+            @Override
+            public void registryBeanDefinition(String beanName, BeanDefinition beanDefinition) {
+                super.registryBeanDefinition(beanName, beanDefinition);
+                if ("city".equals(beanName)) {
+                    // 模拟加载期间其它线程向同一个注册中心注册了 bean
+                    super.registryBeanDefinition("other", new BeanDefinition(City.class));
+                }
+            }
+        };
+        String xml = "<beans><bean id=\"city\" class=\"com.leisurexi.tiny.spring.beans.domain.City\"/>" +
+                "<test:city id=\"namespaceCity\" name=\"北京\"><test:description>首都</test:description></test:city></beans>";
+        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory, new CityNamespaceHandler());
+        // 只统计这个文件中的 bean，不包括其它线程注册的
+        assertEquals(2, beanDefinitionReader.loadBeanDefinitions(() -> new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(3, beanFactory.getBeanDefinitionCount());
+    }
+
+    @Test
+    public void loadMultipleLocationsTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory);
+        int count = beanDefinitionReader.loadBeanDefinitions("META-INF/bean-scope.xml", "META-INF/bean-autowire-by-type.xml");
+        assertEquals(4, count);
+        // 并行解析，但是按文件的顺序注册
+        assertEquals(Arrays.asList("thread-local-user", "user", "city", "city1"), beanFactory.getBeanDefinitionNames());
+
+        // 不同文件中的同名 bean 仍然会被检测出来
+        DefaultListableBeanFactory duplicateBeanFactory = new DefaultListableBeanFactory();
+        try {
+            new XmlBeanDefinitionReader(duplicateBeanFactory).loadBeanDefinitions("META-INF/bean-constructor.xml", "META-INF/bean-properties.xml");
+            fail("duplicate bean definition expected");
+        } catch (BeansException e) {
+            assertTrue(e.getMessage().startsWith("[user] already existing definition"));
+        }
+    }
+
+    @Test
+    public void loadPatternLocationTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory);
+        int count = beanDefinitionReader.loadBeanDefinitions("classpath*:META-INF/**/bean-*-by-?ame.xml");
+        assertEquals(2, count);
+        assertEquals(Arrays.asList("user", "city"), beanFactory.getBeanDefinitionNames());
+        // 没有匹配的文件时不加载任何 bean
+        assertEquals(0, beanDefinitionReader.loadBeanDefinitions("classpath*:META-INF/missing/*.xml"));
+    }
+
+    /**
+     * 关闭时总是失败的输入流
+     */
+    private static class FailingCloseInputStream extends ByteArrayInputStream {
+
+        FailingCloseInputStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() throws IOException {
+            throw new IOException("close failed");
+        }
+    }
+
+    /**
+     * 把 test:city 节点解析成 City 的 bean 定义，节点包含属性和子节点
+     */
+    private static class CityNamespaceHandler implements NamespaceHandler {
+
+        @Override
+        public String namespace() {
+            return "test:city";
+        }
+
+        @Override
+        public void parse(BeanDefinitionRegistry registry, Element element) {
+            assertEquals("首都", element.getElementsByTagName("test:description").item(0).getTextContent());
+            BeanDefinition beanDefinition = new BeanDefinition(City.class);
+            beanDefinition.getPropertyValues().addPropertyValues(
+                    new PropertyValue("name", element.getAttribute("name")));
+            registry.registryBeanDefinition(element.getAttribute("id"), beanDefinition);
+        }
+    }
+
 }
@@ -0,0 +1,70 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.BeanPostProcessor;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.benchmark.domain.ConstructorService;
+import com.leisurexi.tiny.spring.benchmark.domain.PropertyService;
+import com.leisurexi.tiny.spring.benchmark.domain.Repository;
+import com.leisurexi.tiny.spring.context.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 依赖注入的基准测试，每次调用创建一个原型 bean 并注入单例依赖：
+ * <ul>
+ *     <li>byType：按类型自动注入属性</li>
+ *     <li>constructor：构造器自动注入</li>
+ *     <li>annotation：通过 {@code @Autowired} 注入字段</li>
+ * </ul>
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:40
+ * @since 0.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutowireBenchmark {
+
+    @Param({"byType", "constructor", "annotation"})
+    private String mode;
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("repository", new BeanDefinition(Repository.class));
+        BeanDefinition beanDefinition;
+        switch (mode) {
+            case "byType":
+                beanDefinition = new BeanDefinition(PropertyService.class);
+                beanDefinition.setAutowireMode(BeanDefinition.AUTOWIRE_BY_TYPE);
+                break;
+            case "constructor":
+                beanDefinition = new BeanDefinition(ConstructorService.class);
+                beanDefinition.setAutowireMode(BeanDefinition.AUTOWIRE_CONSTRUCTOR);
+                break;
+            default:
+                beanDefinition = new BeanDefinition(PropertyService.class);
+                beanFactory.registryBeanDefinition("autowiredAnnotationProcessor", new BeanDefinition(AutowiredAnnotationBeanPostProcessor.class));
+                beanFactory.addBeanPostProcessor(beanFactory.getBean("autowiredAnnotationProcessor", BeanPostProcessor.class));
+                break;
+        }
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registryBeanDefinition("service", beanDefinition);
+        beanFactory.getBean("repository");
+    }
+
+    @Benchmark
+    public Object autowire() {
+        return beanFactory.getBean("service");
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 对比两次 JMH 运行的 JSON 结果，按基准测试方法和参数一一对应，输出制表符分隔的结果：
+ * 方法、参数、模式、单位、之前的得分、之后的得分以及变化的百分比。
+ * 吞吐量模式得分越高越好，其余模式得分越低越好，变化的百分比统一为正数表示变好
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:50
+ * @since 0.0.6
+ */
+public final class BenchmarkResultComparator {
+
+    private BenchmarkResultComparator() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkResultComparator <before.json> <after.json>");
+            System.exit(1);
+        }
+        Map<String, JSONObject> before = readResults(new File(args[0]));
+        Map<String, JSONObject> after = readResults(new File(args[1]));
+        System.out.println("benchmark\tparams\tmode\tunit\tbefore\tafter\timprovement");
+        for (Map.Entry<String, JSONObject> entry : after.entrySet()) {
+            JSONObject current = entry.getValue();
+            JSONObject previous = before.get(entry.getKey());
+            double score = score(current);
+            String mode = current.getStr("mode");
+            StringBuilder line = new StringBuilder()
+                    .append(current.getStr("benchmark")).append('\t')
+                    .append(params(current)).append('\t')
+                    .append(mode).append('\t')
+                    .append(current.getJSONObject("primaryMetric").getStr("scoreUnit")).append('\t');
+            if (previous == null) {
+                line.append('-').append('\t').append(format(score)).append('\t').append('-');
+            } else {
+                double previousScore = score(previous);
+                double change = (score - previousScore) / previousScore * 100;
+                // 吞吐量越高越好，其余模式耗时越低越好
+                double improvement = "thrpt".equals(mode) ? change : -change;
+                line.append(format(previousScore)).append('\t').append(format(score)).append('\t')
+                        .append(String.format("%+.2f%%", improvement));
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * 读取 JMH 的 JSON 结果，key 为方法、参数和模式
+     */
+    static Map<String, JSONObject> readResults(File file) {
+        JSONArray results = JSONUtil.readJSONArray(file, StandardCharsets.UTF_8);
+        Map<String, JSONObject> resultMap = new LinkedHashMap<>();
+        for (JSONObject result : results.jsonIter()) {
+            resultMap.put(result.getStr("benchmark") + "|" + params(result) + "|" + result.getStr("mode"), result);
+        }
+        return resultMap;
+    }
+
+    private static String params(JSONObject result) {
+        JSONObject params = result.getJSONObject("params");
+        if (params == null) {
+            return "";
+        }
+        Map<String, Object> sorted = new TreeMap<>(params);
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return builder.toString();
+    }
+
+    private static double score(JSONObject result) {
+        return result.getJSONObject("primaryMetric").getDouble("score");
+    }
+
+    private static String format(double score) {
+        return String.format("%.3f", score);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * benchmarks.jar 的入口，参数原样交给 JMH。没有指定结果格式时以 JSON 格式把结果写入
+ * {@value #DEFAULT_RESULT_FILE}，不同版本的结果可以用 {@link BenchmarkResultComparator} 对比，例如：
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar GetBean -rff before.json
+ * java -jar benchmarks/target/benchmarks.jar GetBean -rff after.json
+ * java -cp benchmarks/target/benchmarks.jar com.leisurexi.tiny.spring.benchmark.BenchmarkResultComparator before.json after.json
+ * </pre>
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:50
+ * @since 0.0.6
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add(DEFAULT_RESULT_FILE);
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.leisurexi.tiny.spring.benchmark.domain.Service;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 基准测试的公共方法
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 10:22
+ * @since 0.0.6
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * beans 模块自带的 logback.xml 是 DEBUG 级别，基准测试时调高日志级别，
+     * 避免把控制台输出的耗时也算进去
+     */
+    public static void quietLogging() {
+        Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.WARN);
+    }
+
+    /**
+     * 生成包含指定数量 {@link Service} 的 XML 配置，每个 bean 有一个字面量属性，
+     * 并引用编号为它一半的 bean，整个依赖图是一棵二叉树
+     *
+     * @param beanCount bean 的数量
+     * @return XML 配置内容
+     */
+    public static String serviceConfig(int beanCount) {
+        StringBuilder builder = new StringBuilder(beanCount * 200);
+        builder.append("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n<beans>\n");
+        for (int i = 0; i < beanCount; i++) {
+            builder.append("    <bean id=\"service").append(i).append("\" class=\"").append(Service.class.getName()).append("\">\n");
+            builder.append("        <property name=\"initTokens\" value=\"0\"/>\n");
+            if (i > 0) {
+                builder.append("        <property name=\"dependency\" ref=\"service").append(i / 2).append("\"/>\n");
+            }
+            builder.append("    </bean>\n");
+        }
+        builder.append("</beans>\n");
+        return builder.toString();
+    }
+
+}
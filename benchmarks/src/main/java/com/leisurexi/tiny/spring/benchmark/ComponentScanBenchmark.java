@@ -0,0 +1,43 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.context.annotation.ClassPathCandidateComponentScanner;
+import com.leisurexi.tiny.spring.context.annotation.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 组件扫描的基准测试，不使用扫描结果缓存，每次都用 ASM 读取包路径下所有的 class 文件。
+ * {@code com.leisurexi.tiny.spring} 包含了 beans 和 context 模块所有的类，接近真实应用的规模
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:40
+ * @since 0.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentScanBenchmark {
+
+    @Param({"com.leisurexi.tiny.spring.benchmark.domain", "com.leisurexi.tiny.spring"})
+    private String basePackage;
+
+    private ClassPathCandidateComponentScanner scanner;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        scanner = new ClassPathCandidateComponentScanner(getClass().getClassLoader());
+        scanner.addIncludeAnnotationType(Component.class);
+    }
+
+    @Benchmark
+    public Set<String> scan() {
+        return scanner.findCandidateClassNames(basePackage);
+    }
+
+}
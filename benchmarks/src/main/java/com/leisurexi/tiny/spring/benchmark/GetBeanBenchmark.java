@@ -0,0 +1,88 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.beans.PropertyValue;
+import com.leisurexi.tiny.spring.beans.PropertyValues;
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.benchmark.domain.Service;
+import com.leisurexi.tiny.spring.benchmark.domain.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 依赖查找的基准测试，衡量 {@code getBean} 命中单例缓存、创建原型 bean、从自定义作用域获取
+ * 以及按类型查找时每次调用的耗时。加上 {@code -prof gc} 参数运行可以看到每次调用的内存分配情况，
+ * 在修改前后的版本上分别运行即可对比。
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 10:25
+ * @since 0.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetBeanBenchmark {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        BeanDefinition beanDefinition = new BeanDefinition(User.class);
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValues(new PropertyValue("id", 1L));
+        propertyValues.addPropertyValues(new PropertyValue("name", "leisurexi"));
+        beanDefinition.setPropertyValues(propertyValues);
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registryBeanDefinition("user", beanDefinition);
+        // 提前创建好单例，基准测试只衡量命中缓存的路径
+        beanFactory.getBean("user");
+
+        BeanDefinition prototypeDefinition = new BeanDefinition(User.class);
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        prototypeDefinition.setPropertyValues(propertyValues);
+        beanFactory.registryBeanDefinition("prototypeUser", prototypeDefinition);
+
+        beanFactory.registerScope(new MapScope());
+        BeanDefinition scopedDefinition = new BeanDefinition(Service.class);
+        scopedDefinition.setScope(MapScope.SCOPE_NAME);
+        PropertyValues scopedPropertyValues = new PropertyValues();
+        scopedPropertyValues.addPropertyValues(new PropertyValue("initTokens", 0L));
+        scopedDefinition.setPropertyValues(scopedPropertyValues);
+        beanFactory.registryBeanDefinition("scopedService", scopedDefinition);
+        beanFactory.getBean("scopedService");
+    }
+
+    @Benchmark
+    public Object singletonByName() {
+        return beanFactory.getBean("user");
+    }
+
+    @Benchmark
+    public User singletonByNameAndType() {
+        return beanFactory.getBean("user", User.class);
+    }
+
+    /**
+     * 按类型查找，只有一个 {@link Service} 类型的 bean
+     */
+    @Benchmark
+    public Service singletonByType() {
+        return beanFactory.getBean(Service.class);
+    }
+
+    @Benchmark
+    public Object prototype() {
+        return beanFactory.getBean("prototypeUser");
+    }
+
+    @Benchmark
+    public Object customScope() {
+        return beanFactory.getBean("scopedService");
+    }
+
+}
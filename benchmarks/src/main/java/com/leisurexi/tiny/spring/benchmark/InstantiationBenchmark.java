@@ -0,0 +1,58 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.beans.factory.support.InstantiationStrategy;
+import com.leisurexi.tiny.spring.beans.factory.support.MethodHandleInstantiationStrategy;
+import com.leisurexi.tiny.spring.beans.factory.support.SimpleInstantiationStrategy;
+import com.leisurexi.tiny.spring.benchmark.domain.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实例化策略的基准测试，对比反射和 MethodHandle 两种实例化策略创建原型 bean 的耗时
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 14:40
+ * @since 0.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationBenchmark {
+
+    @Param({"reflection", "methodHandle"})
+    private String strategy;
+
+    private DefaultListableBeanFactory beanFactory;
+
+    private InstantiationStrategy instantiationStrategy;
+
+    private BeanDefinition beanDefinition;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        instantiationStrategy = "reflection".equals(strategy) ? new SimpleInstantiationStrategy() : new MethodHandleInstantiationStrategy();
+        beanDefinition = new BeanDefinition(User.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setInstantiationStrategy(instantiationStrategy);
+        beanFactory.registryBeanDefinition("user", beanDefinition);
+    }
+
+    @Benchmark
+    public Object instantiate() {
+        return instantiationStrategy.instantiate(beanDefinition, "user");
+    }
+
+    @Benchmark
+    public Object prototypeGetBean() {
+        return beanFactory.getBean("user");
+    }
+
+}
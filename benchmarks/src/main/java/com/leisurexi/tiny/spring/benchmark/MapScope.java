@@ -0,0 +1,36 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.beans.factory.ObjectFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.Scope;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基准测试使用的自定义作用域，bean 保存在 map 中，衡量自定义作用域本身之外的查找开销
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:30
+ * @since 0.0.6
+ */
+public class MapScope implements Scope {
+
+    public static final String SCOPE_NAME = "map";
+
+    private final Map<String, Object> beans = new ConcurrentHashMap<>();
+
+    @Override
+    public String scopeName() {
+        return SCOPE_NAME;
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        Object bean = beans.get(name);
+        if (bean == null) {
+            bean = beans.computeIfAbsent(name, key -> objectFactory.getObject());
+        }
+        return bean;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.beans.PropertyValue;
+import com.leisurexi.tiny.spring.beans.PropertyValues;
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.RuntimeBeanReference;
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.benchmark.domain.Service;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 提前初始化单例 bean 的基准测试，对比串行和按依赖图并行两种方式的启动耗时。
+ * 每个 bean 依赖编号为它一半的 bean，整个依赖图是一棵二叉树，同一层的 bean 互不依赖
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 12:55
+ * @since 0.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PreInstantiateSingletonsBenchmark {
+
+    @Param({"5000"})
+    private int beanCount;
+
+    /**
+     * 每个 bean 初始化时消耗的 CPU，单位见 {@link org.openjdk.jmh.infra.Blackhole#consumeCPU(long)}
+     */
+    @Param({"0", "10000"})
+    private long initTokens;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setParallelPreInstantiation(parallel);
+        for (int i = 0; i < beanCount; i++) {
+            BeanDefinition beanDefinition = new BeanDefinition(Service.class);
+            PropertyValues propertyValues = new PropertyValues();
+            propertyValues.addPropertyValues(new PropertyValue("initTokens", initTokens));
+            if (i > 0) {
+                propertyValues.addPropertyValues(new PropertyValue("dependency", new RuntimeBeanReference("service" + (i / 2))));
+            }
+            beanDefinition.setPropertyValues(propertyValues);
+            beanFactory.registryBeanDefinition("service" + i, beanDefinition);
+        }
+    }
+
+    @Benchmark
+    public DefaultListableBeanFactory preInstantiateSingletons() {
+        beanFactory.preInstantiateSingletons();
+        return beanFactory;
+    }
+
+}
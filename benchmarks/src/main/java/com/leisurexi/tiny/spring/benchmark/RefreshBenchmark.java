@@ -0,0 +1,63 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.context.support.ClassPathXmlApplicationContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上下文完整启动的基准测试，包括读取磁盘上的 XML、注册注解处理器、调用后置处理器以及提前初始化所有单例 bean。
+ * 依赖关系和 {@link PreInstantiateSingletonsBenchmark} 相同，每个 bean 依赖编号为它一半的 bean
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:40
+ * @since 0.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class RefreshBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int beanCount;
+
+    private Path configFile;
+
+    private ClassPathXmlApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void writeConfig() throws IOException {
+        BenchmarkSupport.quietLogging();
+        configFile = Files.createTempFile("refresh-benchmark", ".xml");
+        Files.write(configFile, BenchmarkSupport.serviceConfig(beanCount).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Setup(Level.Invocation)
+    public void createContext() {
+        context = new ClassPathXmlApplicationContext(new String[]{configFile.toUri().toString()}, false);
+    }
+
+    @Benchmark
+    public ClassPathXmlApplicationContext refresh() {
+        context.refresh();
+        return context;
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeContext() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteConfig() throws IOException {
+        Files.deleteIfExists(configFile);
+    }
+
+}
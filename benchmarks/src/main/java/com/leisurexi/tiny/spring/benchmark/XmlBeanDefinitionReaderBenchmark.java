@@ -0,0 +1,45 @@
+package com.leisurexi.tiny.spring.benchmark;
+
+import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.support.xml.XmlBeanDefinitionReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读取 XML 配置的基准测试，配置文件是生成的，每个 bean 有一个字面量属性和一个引用属性，
+ * 文件只在内存中，不包含磁盘 IO 的耗时
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 22:40
+ * @since 0.0.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class XmlBeanDefinitionReaderBenchmark {
+
+    @Param({"50000"})
+    private int beanCount;
+
+    private byte[] xml;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        xml = BenchmarkSupport.serviceConfig(beanCount).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public DefaultListableBeanFactory loadBeanDefinitions() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions(() -> new ByteArrayInputStream(xml));
+        return beanFactory;
+    }
+
+}
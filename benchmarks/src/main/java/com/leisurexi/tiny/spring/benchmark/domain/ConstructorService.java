@@ -0,0 +1,21 @@
+package com.leisurexi.tiny.spring.benchmark.domain;
+
+import lombok.Getter;
+
+/**
+ * 通过构造器注入依赖的服务
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:30
+ * @since 0.0.6
+ */
+@Getter
+public class ConstructorService {
+
+    private final Repository repository;
+
+    public ConstructorService(Repository repository) {
+        this.repository = repository;
+    }
+
+}
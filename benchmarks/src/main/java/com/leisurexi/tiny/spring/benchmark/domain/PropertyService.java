@@ -0,0 +1,21 @@
+package com.leisurexi.tiny.spring.benchmark.domain;
+
+import com.leisurexi.tiny.spring.context.annotation.Autowired;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 通过属性注入依赖的服务，既可以按名称、类型自动注入，也可以通过 {@link Autowired} 注入
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:30
+ * @since 0.0.6
+ */
+@Getter
+@Setter
+public class PropertyService {
+
+    @Autowired
+    private Repository repository;
+
+}
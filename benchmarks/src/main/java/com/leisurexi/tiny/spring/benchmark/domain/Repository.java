@@ -0,0 +1,12 @@
+package com.leisurexi.tiny.spring.benchmark.domain;
+
+/**
+ * 基准测试中被注入的依赖
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:30
+ * @since 0.0.6
+ */
+public class Repository {
+
+}
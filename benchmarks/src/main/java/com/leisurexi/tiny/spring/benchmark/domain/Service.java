@@ -0,0 +1,28 @@
+package com.leisurexi.tiny.spring.benchmark.domain;
+
+import com.leisurexi.tiny.spring.beans.factory.InitializingBean;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 基准测试使用的服务，初始化时消耗一定的 CPU，模拟真实 bean 的初始化开销
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 12:50
+ * @since 0.0.6
+ */
+@Getter
+@Setter
+public class Service implements InitializingBean {
+
+    private Long initTokens;
+
+    private Service dependency;
+
+    @Override
+    public void afterPropertiesSet() {
+        Blackhole.consumeCPU(initTokens);
+    }
+
+}
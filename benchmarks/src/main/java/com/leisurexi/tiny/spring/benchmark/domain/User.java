@@ -0,0 +1,18 @@
+package com.leisurexi.tiny.spring.benchmark.domain;
+
+import lombok.Data;
+
+/**
+ * 基准测试使用的简单实体
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 10:20
+ * @since 0.0.6
+ */
+@Data
+public class User {
+
+    private Long id;
+    private String name;
+
+}
@@ -0,0 +1,15 @@
+package com.leisurexi.tiny.spring.benchmark.domain.scan;
+
+import com.leisurexi.tiny.spring.context.annotation.Component;
+
+/**
+ * 组件扫描基准测试使用的组件
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:30
+ * @since 0.0.6
+ */
+@Component
+public class ScannedRepository {
+
+}
@@ -0,0 +1,21 @@
+package com.leisurexi.tiny.spring.benchmark.domain.scan;
+
+import com.leisurexi.tiny.spring.context.annotation.Autowired;
+import com.leisurexi.tiny.spring.context.annotation.Component;
+import lombok.Getter;
+
+/**
+ * 组件扫描基准测试使用的组件
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:30
+ * @since 0.0.6
+ */
+@Getter
+@Component
+public class ScannedService {
+
+    @Autowired
+    private ScannedRepository scannedRepository;
+
+}
@@ -0,0 +1,147 @@
+package com.leisurexi.tiny.spring.context.index.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 编译期生成组件索引的注解处理器，把直接或者通过元注解（比如 {@code @Service}）标注了 {@code @Component}
+ * 的类写入 {@value #COMPONENTS_RESOURCE_LOCATION}，运行时读取索引代替类路径扫描。
+ * 通过元注解标注的类在索引中也记录为 {@code @Component}，和类路径扫描的结果保持一致。
+ * <p>
+ * 每行一个组件，格式为 {@code 类的全限定名=注解的全限定名}。增量编译时会合并已有的索引，
+ * 已经不存在的类在运行时会被忽略
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:40
+ * @since 0.0.6
+ */
+@SupportedAnnotationTypes("*")
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+    /**
+     * 组件索引文件的位置
+     */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/tiny-spring.components";
+
+    static final String COMPONENT_ANNOTATION = "com.leisurexi.tiny.spring.context.annotation.Component";
+
+    /**
+     * 收集到的组件，key 为类的全限定名，value 为注解的全限定名，按类名排序保证输出稳定
+     */
+    private final Map<String, String> components = new TreeMap<>();
+
+    /**
+     * 注解类型是否直接或者间接地被 @Component 标注，key 为注解的全限定名
+     */
+    private final Map<String, Boolean> stereotypes = new HashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            if (!isStereotype(annotation)) {
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                // 和类路径扫描保持一致，只收集类，注解类型本身不是组件
+                if (element.getKind() == ElementKind.CLASS) {
+                    String className = this.processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+                    this.components.put(className, COMPONENT_ANNOTATION);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !this.components.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * 注解是否为 @Component 本身，或者直接或间接地被 @Component 标注，结果按注解缓存
+     */
+    private boolean isStereotype(TypeElement annotation) {
+        return this.stereotypes.computeIfAbsent(annotation.getQualifiedName().toString(),
+                name -> isStereotype(annotation, new HashSet<>()));
+    }
+
+    /**
+     * @param annotation 注解类型
+     * @param visited    已经检查过的注解，避免注解之间互相标注时无限递归
+     */
+    private boolean isStereotype(TypeElement annotation, Set<String> visited) {
+        String name = annotation.getQualifiedName().toString();
+        if (COMPONENT_ANNOTATION.equals(name)) {
+            return true;
+        }
+        if (name.startsWith("java.") || !visited.add(name)) {
+            return false;
+        }
+        for (AnnotationMirror mirror : annotation.getAnnotationMirrors()) {
+            if (isStereotype((TypeElement) mirror.getAnnotationType().asElement(), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 合并已有的索引并写入 class 输出目录
+     */
+    private void writeIndex() {
+        Filer filer = this.processingEnv.getFiler();
+        Map<String, String> merged = new TreeMap<>(readExistingIndex(filer));
+        merged.putAll(this.components);
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : merged.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + COMPONENTS_RESOURCE_LOCATION + ": " + e);
+        }
+    }
+
+    private Map<String, String> readExistingIndex(Filer filer) {
+        Map<String, String> existing = new TreeMap<>();
+        try {
+            FileObject file = filer.getResource(StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf('=');
+                    if (separator > 0) {
+                        existing.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 第一次编译，还没有索引文件
+        }
+        return existing;
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.leisurexi.tiny.spring.context.index.processor;
+
+import com.leisurexi.tiny.spring.context.annotation.AnnotationConfigUtils;
+import com.leisurexi.tiny.spring.context.annotation.Component;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 21:10
+ * @since 0.0.6
+ */
+public class CandidateComponentsIndexerTest {
+
+    private static final String COMPONENT = Component.class.getName();
+
+    @Test
+    public void writeIndexTest() throws Exception {
+        File sources = Files.createTempDirectory("sources").toFile();
+        File classes = Files.createTempDirectory("classes").toFile();
+        File fooService = writeSource(sources, "FooService",
+                "@" + COMPONENT + " public class FooService { @" + COMPONENT + " public static class Inner {} }");
+        File plain = writeSource(sources, "Plain", "public class Plain {}");
+        compile(classes, fooService, plain);
+
+        assertEquals(Arrays.asList("demo.FooService=" + COMPONENT, "demo.FooService$Inner=" + COMPONENT), readIndex(classes));
+
+        // 增量编译时合并已有的索引
+        File barService = writeSource(sources, "BarService", "@" + COMPONENT + "(\"bar\") public class BarService {}");
+        compile(classes, barService);
+        List<String> index = readIndex(classes);
+        assertEquals(3, index.size());
+        assertEquals("demo.BarService=" + COMPONENT, index.get(0));
+        assertFalse(index.contains("demo.Plain=" + COMPONENT));
+    }
+
+    @Test
+    public void metaAnnotatedComponentTest() throws Exception {
+        File sources = Files.createTempDirectory("sources").toFile();
+        File classes = Files.createTempDirectory("classes").toFile();
+        File service = writeSource(sources, "Service",
+                "@" + COMPONENT + " @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Service {}");
+        // 间接通过 @Service 标注了 @Component 的注解
+        File repository = writeSource(sources, "Repository", "@Service public @interface Repository {}");
+        File orderService = writeSource(sources, "OrderService", "@Service public class OrderService {}");
+        File orderRepository = writeSource(sources, "OrderRepository", "@Repository public class OrderRepository {}");
+        File plain = writeSource(sources, "Plain", "@Deprecated public class Plain {}");
+        compile(classes, service, repository, orderService, orderRepository, plain);
+
+        // 注解类型本身不是组件，通过元注解标注的类记录为 @Component
+        assertEquals(Arrays.asList("demo.OrderRepository=" + COMPONENT, "demo.OrderService=" + COMPONENT), readIndex(classes));
+    }
+
+    @Test
+    public void scanWithAndWithoutIndexTest() throws Exception {
+        File sources = Files.createTempDirectory("sources").toFile();
+        File classes = Files.createTempDirectory("classes").toFile();
+        File service = writeSource(sources, "Service",
+                "@" + COMPONENT + " @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Service {}");
+        File orderService = writeSource(sources, "OrderService", "@Service public class OrderService {}");
+        File fooService = writeSource(sources, "FooService", "@" + COMPONENT + " public class FooService {}");
+        File plain = writeSource(sources, "Plain", "public class Plain {}");
+        compile(classes, service, orderService, fooService, plain);
+
+        Map<String, String> indexed = scan(classes);
+        assertEquals(new HashSet<>(Arrays.asList("fooService", "orderService")), indexed.keySet());
+        // 删除索引后走类路径扫描，结果和使用索引时一致
+        Files.delete(new File(classes, CandidateComponentsIndexer.COMPONENTS_RESOURCE_LOCATION).toPath());
+        assertEquals(indexed, scan(classes));
+    }
+
+    /**
+     * 用新的类加载器扫描组件，返回 beanName -> 类名
+     */
+    private Map<String, String> scan(File classes) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader()));
+        try {
+            Map<String, String> result = new TreeMap<>();
+            AnnotationConfigUtils.scanComponent("demo")
+                    .forEach((beanName, beanDefinition) -> result.put(beanName, beanDefinition.getBeanClassName()));
+            return result;
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private File writeSource(File sources, String className, String body) throws IOException {
+        File file = new File(sources, className + ".java");
+        Files.write(file.toPath(), ("package demo; " + body).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private void compile(File classes, File... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        // 编译时需要 @Component 注解以及注解处理器本身
+        String classpath = locationOf(Component.class) + File.pathSeparator + locationOf(CandidateComponentsIndexer.class);
+        String[] args = new String[6 + sources.length];
+        args[0] = "-classpath";
+        args[1] = classpath;
+        args[2] = "-d";
+        args[3] = classes.getPath();
+        args[4] = "-processor";
+        args[5] = CandidateComponentsIndexer.class.getName();
+        for (int i = 0; i < sources.length; i++) {
+            args[6 + i] = sources[i].getPath();
+        }
+        assertEquals(0, compiler.run(null, null, null, args));
+    }
+
+    private String locationOf(Class<?> clazz) throws Exception {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    }
+
+    private List<String> readIndex(File classes) throws IOException {
+        return Files.readAllLines(new File(classes, CandidateComponentsIndexer.COMPONENTS_RESOURCE_LOCATION).toPath(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -13,11 +13,19 @@ import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
  * @date: 2020-05-31 19:14
  * @since 0.0.4
  */
-public interface ApplicationContext extends BeanFactory {
+public interface ApplicationContext extends BeanFactory, AutoCloseable {
 
     /**
      * 获取底层 IoC 容器，BeanFactory
      */
     DefaultListableBeanFactory getBeanFactory();
 
+    /**
+     * 关闭上下文，销毁所有的单例 bean，重复调用没有影响
+     *
+     * @since 0.0.6
+     */
+    @Override
+    void close();
+
 }
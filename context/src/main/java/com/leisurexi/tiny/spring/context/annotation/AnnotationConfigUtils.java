@@ -1,19 +1,28 @@
 package com.leisurexi.tiny.spring.context.annotation;
 
-import cn.hutool.core.util.ClassUtil;
 import com.google.common.base.Strings;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.leisurexi.tiny.spring.beans.metrics.ApplicationStartup;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
+import com.leisurexi.tiny.spring.context.index.CandidateComponentsIndex;
+import com.leisurexi.tiny.spring.context.index.CandidateComponentsIndexLoader;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 /**
  * @author: leisurexi
  * @date: 2020-06-01 22:28
  * @since JDK 1.8
  */
+@Slf4j
 public class AnnotationConfigUtils {
 
     public static final String CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME =
@@ -39,20 +48,94 @@ public class AnnotationConfigUtils {
     }
 
     /**
-     * 扫描组件并注册进返回 bean 定义元信息
+     * 扫描组件并注册进返回 bean 定义元信息。类路径下存在编译期生成的组件索引时直接读取索引，
+     * 只加载索引中的类；否则用 ASM 读取包路径下所有的 class 文件，只加载直接或者通过元注解标注了
+     * {@link Component} 的类，扫描结果会被缓存
      *
      * @param basePackages 包路径
+     * @see CandidateComponentsIndexLoader
+     * @see ClassPathCandidateComponentScanner
+     * @see ScanResultCache
      */
     public static Map<String, BeanDefinition> scanComponent(String... basePackages) {
-        Map<String, BeanDefinition> beanDefinitionMap = new HashMap<>();
+        return scanComponent(ApplicationStartup.DEFAULT, basePackages);
+    }
+
+    /**
+     * 扫描组件并注册进返回 bean 定义元信息，每个包路径的扫描记录为一个启动步骤
+     *
+     * @param applicationStartup 记录启动步骤
+     * @param basePackages       包路径
+     * @see #scanComponent(String...)
+     * @since 0.0.6
+     */
+    public static Map<String, BeanDefinition> scanComponent(ApplicationStartup applicationStartup, String... basePackages) {
+        return scanComponent(applicationStartup, false, basePackages);
+    }
+
+    /**
+     * 扫描组件并注册进返回 bean 定义元信息，每个包路径的扫描记录为一个启动步骤
+     *
+     * @param applicationStartup 记录启动步骤
+     * @param checkFingerprint   缓存的扫描结果是否也要和当前类路径的指纹一致才会被使用，
+     *                           扫描结果会被持久化时（比如写入 bean 定义快照）需要设置为 {@code true}
+     * @param basePackages       包路径
+     * @see ClassPathCandidateComponentScanner#setCheckFingerprint(boolean)
+     * @since 0.0.6
+     */
+    public static Map<String, BeanDefinition> scanComponent(ApplicationStartup applicationStartup, boolean checkFingerprint,
+                                                            String... basePackages) {
+        Map<String, BeanDefinition> beanDefinitionMap = new LinkedHashMap<>();
+        ClassLoader classLoader = getDefaultClassLoader();
+        CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(classLoader);
+        ClassPathCandidateComponentScanner scanner;
+        if (index == null) {
+            scanner = new ClassPathCandidateComponentScanner(classLoader);
+            scanner.addIncludeAnnotationType(Component.class);
+            scanner.setScanResultCache(ScanResultCache.getSharedInstance());
+            scanner.setCheckFingerprint(checkFingerprint);
+        } else {
+            scanner = null;
+        }
+        // 获取路径下，所有标注了 @Component 注解的类，多个包路径并行扫描
+        Function<String, Set<Class<?>>> finder = basePackage -> {
+            StartupStep step = applicationStartup.start("context.component-scan")
+                    .tag("basePackage", basePackage)
+                    .tag("indexed", String.valueOf(index != null));
+            try {
+                Set<Class<?>> classes = index != null
+                        ? findIndexedComponents(index, basePackage, classLoader)
+                        : scanner.findCandidateComponents(basePackage);
+                step.tag("componentCount", String.valueOf(classes.size()));
+                return classes;
+            } finally {
+                step.end();
+            }
+        };
+        List<CompletableFuture<Set<Class<?>>>> futures = new ArrayList<>(basePackages.length);
         for (String basePackage : basePackages) {
-            // 获取路径下，所有标注了 @Component 注解的类
-            Set<Class<?>> classes = ClassUtil.scanPackageByAnnotation(basePackage, Component.class);
+            futures.add(basePackages.length > 1
+                    ? CompletableFuture.supplyAsync(() -> finder.apply(basePackage))
+                    : CompletableFuture.completedFuture(finder.apply(basePackage)));
+        }
+        // 按包路径的顺序生成 bean 定义，注册顺序和重复 beanName 的检测结果都是确定的
+        for (CompletableFuture<Set<Class<?>>> future : futures) {
+            Set<Class<?>> classes;
+            try {
+                classes = future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new BeansException("Failed to scan components", cause);
+            }
             for (Class<?> clazz : classes) {
                 BeanDefinition beanDefinition = new BeanDefinition();
                 beanDefinition.setBeanClass(clazz);
                 beanDefinition.setBeanClassName(clazz.getName());
-                String beanName = clazz.getAnnotation(Component.class).value();
+                Component component = clazz.getAnnotation(Component.class);
+                String beanName = component != null ? component.value() : null;
                 // 如果没有显示指定 beanName，那么就把类型首字母转成小写当做 beanName
                 if (Strings.isNullOrEmpty(beanName)) {
                     beanName = initialsConvertLowerCase(clazz.getSimpleName());
@@ -62,6 +145,7 @@ public class AnnotationConfigUtils {
                 if (scope != null && !Strings.isNullOrEmpty(scope.value())) {
                     beanDefinition.setScope(scope.value());
                 }
+                processLazyAnnotation(clazz, beanDefinition);
                 if (beanDefinitionMap.containsKey(beanName)) {
                     throw new IllegalStateException(beanName + " already has bean definition, please check bean name");
                 }
@@ -71,20 +155,85 @@ public class AnnotationConfigUtils {
         return beanDefinitionMap;
     }
 
+    /**
+     * 从组件索引中找到包路径下的组件，索引中已经不存在或者不再标注 @Component 的类会被忽略
+     *
+     * @since 0.0.6
+     */
+    private static Set<Class<?>> findIndexedComponents(CandidateComponentsIndex index, String basePackage, ClassLoader classLoader) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String className : index.getCandidateTypes(basePackage, Component.class.getName())) {
+            try {
+                Class<?> clazz = Class.forName(className, false, classLoader);
+                if (isComponent(clazz)) {
+                    classes.add(clazz);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.debug("Ignoring stale component index entry [{}]", className);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 类上是否直接或者通过元注解标注了 {@link Component}
+     *
+     * @since 0.0.6
+     */
+    static boolean isComponent(Class<?> clazz) {
+        return clazz.isAnnotationPresent(Component.class) || hasMetaAnnotation(clazz, Component.class, new HashSet<>());
+    }
+
+    private static boolean hasMetaAnnotation(AnnotatedElement element, Class<? extends Annotation> metaAnnotationType,
+                                             Set<Class<?>> visited) {
+        for (Annotation annotation : element.getAnnotations()) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.getName().startsWith("java.") || !visited.add(annotationType)) {
+                continue;
+            }
+            if (annotationType.isAnnotationPresent(metaAnnotationType)
+                    || hasMetaAnnotation(annotationType, metaAnnotationType, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ClassLoader getDefaultClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : AnnotationConfigUtils.class.getClassLoader();
+    }
+
     /**
      * 把指定的类封装成 bean 的定义元信息
      *
      * @since 0.0.5
      */
     public static Map<String, BeanDefinition> registerClass(Class<?>... classes) {
-        Map<String, BeanDefinition> beanDefinitionMap = new HashMap<>();
+        Map<String, BeanDefinition> beanDefinitionMap = new LinkedHashMap<>();
         for (Class<?> clazz : classes) {
             String beanName = initialsConvertLowerCase(clazz.getSimpleName());
-            beanDefinitionMap.put(beanName, new BeanDefinition(clazz));
+            BeanDefinition beanDefinition = new BeanDefinition(clazz);
+            processLazyAnnotation(clazz, beanDefinition);
+            beanDefinitionMap.put(beanName, beanDefinition);
         }
         return beanDefinitionMap;
     }
 
+    /**
+     * 根据 {@link Lazy} 注解设置 bean 是否延迟初始化，没有标注时保持不变
+     *
+     * @param element        类或者方法
+     * @param beanDefinition bean 的定义元信息
+     * @since 0.0.6
+     */
+    static void processLazyAnnotation(AnnotatedElement element, BeanDefinition beanDefinition) {
+        Lazy lazy = element.getAnnotation(Lazy.class);
+        if (lazy != null) {
+            beanDefinition.setLazyInit(lazy.value());
+        }
+    }
+
     /**
      * 首字母转换为小写
      */
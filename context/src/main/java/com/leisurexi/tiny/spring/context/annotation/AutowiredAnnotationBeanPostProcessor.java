@@ -1,15 +1,12 @@
 package com.leisurexi.tiny.spring.context.annotation;
 
-import cn.hutool.core.util.ReflectUtil;
 import com.leisurexi.tiny.spring.beans.PropertyValues;
 import com.leisurexi.tiny.spring.beans.factory.AbstractAutowireCapableBeanFactory;
 import com.leisurexi.tiny.spring.beans.factory.BeanFactoryAware;
-import com.leisurexi.tiny.spring.beans.factory.config.DependencyDescriptor;
 import com.leisurexi.tiny.spring.beans.factory.config.InstantiationAwareBeanPostProcessor;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link Autowired} 注解的后置处理器
@@ -22,6 +19,13 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
 
     private AbstractAutowireCapableBeanFactory beanFactory;
 
+    /**
+     * 依赖注入元信息的缓存，key 为 bean 的类型
+     *
+     * @since 0.0.6
+     */
+    private final Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(256);
+
     /**
      * 重写 bean 的属性后置属性，在此处判断哪些属性标注了 {@link Autowired} 注解，
      * 并未这些属性找到合适类型的 bean 进行赋值
@@ -33,32 +37,22 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
      */
     @Override
     public PropertyValues postProcessProperties(PropertyValues pvs, Object bean, String beanName) {
-        // 获取所有需要依赖注入的字段
-        List<Field> autowiringFields = findAutowiringFields(bean.getClass());
-        for (Field field : autowiringFields) {
-            DependencyDescriptor desc = new DependencyDescriptor(bean.getClass(), field.getType(), field.getName());
-            Object value = beanFactory.resolveDependency(desc, beanName);
-            ReflectUtil.setFieldValue(bean, field, value);
-        }
+        findAutowiringMetadata(bean.getClass()).inject(bean, beanName, beanFactory);
         return pvs;
     }
 
     /**
-     * 找出需要依赖注入的字段
+     * 找出需要依赖注入的字段，每个类型只解析一次
      *
      * @param clazz 当前初始化的 bean 的类型
-     * @return 需要注入的字段集合
+     * @return 需要注入的字段元信息
      */
-    private List<Field> findAutowiringFields(Class<?> clazz) {
-        Field[] fields = clazz.getDeclaredFields();
-        List<Field> autowiringFields = new ArrayList<>(fields.length);
-        // 遍历该类所有字段，找到标注了 @Autowired 注解的字段并添加进 fields 中
-        for (Field field : fields) {
-            if (field.isAnnotationPresent(Autowired.class)) {
-                autowiringFields.add(field);
-            }
+    private InjectionMetadata findAutowiringMetadata(Class<?> clazz) {
+        InjectionMetadata metadata = injectionMetadataCache.get(clazz);
+        if (metadata == null) {
+            metadata = injectionMetadataCache.computeIfAbsent(clazz, InjectionMetadata::forClass);
         }
-        return autowiringFields;
+        return metadata;
     }
 
     @Override
@@ -22,4 +22,11 @@ public @interface Bean {
      */
     String initMethod() default "";
 
+    /**
+     * 销毁方法名称，容器关闭时调用
+     *
+     * @since 0.0.6
+     */
+    String destroyMethod() default "";
+
 }
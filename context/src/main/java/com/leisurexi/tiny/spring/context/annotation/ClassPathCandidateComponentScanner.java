@@ -0,0 +1,230 @@
+package com.leisurexi.tiny.spring.context.annotation;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.context.type.classreading.MetadataReader;
+import com.leisurexi.tiny.spring.context.type.classreading.MetadataReaderFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 扫描包路径下的候选组件。先用 ASM 读取 class 文件判断是否标注了指定的注解（包括元注解），
+ * 只有匹配的类才会被加载，其余的类不会进入 Metaspace。
+ * <p>
+ * 目录和 jar 包中的 class 文件会被并行读取，结果按类名排序，保证注册顺序是确定的。
+ * 设置了 {@link ScanResultCache} 时，扫描结果会被缓存，同一个包不会重复扫描
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:40
+ * @see MetadataReaderFactory
+ * @since 0.0.6
+ */
+@Slf4j
+public class ClassPathCandidateComponentScanner {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final MetadataReaderFactory metadataReaderFactory;
+
+    /**
+     * 候选组件需要标注的注解，满足其中一个即可
+     */
+    private final Set<String> includeAnnotationTypes = new LinkedHashSet<>();
+
+    /**
+     * 扫描结果的缓存，为 {@code null} 时每次都重新扫描
+     */
+    private ScanResultCache scanResultCache;
+
+    /**
+     * 是否每次都计算类路径的指纹并校验缓存的扫描结果，设置了缓存文件时总会校验
+     */
+    private boolean checkFingerprint;
+
+    public ClassPathCandidateComponentScanner(ClassLoader classLoader) {
+        this.metadataReaderFactory = new MetadataReaderFactory(classLoader);
+    }
+
+    /**
+     * 添加候选组件需要标注的注解
+     */
+    public void addIncludeAnnotationType(Class<?> annotationType) {
+        this.includeAnnotationTypes.add(annotationType.getName());
+    }
+
+    public void setScanResultCache(ScanResultCache scanResultCache) {
+        this.scanResultCache = scanResultCache;
+    }
+
+    /**
+     * 设置为 {@code true} 时，内存缓存中的扫描结果也要和当前类路径的指纹一致才会被使用，
+     * 同一个类加载器下目录中新增、删除或修改的类能被重新扫描到，代价是每次都要读取 class 文件的属性
+     */
+    public void setCheckFingerprint(boolean checkFingerprint) {
+        this.checkFingerprint = checkFingerprint;
+    }
+
+    /**
+     * 找到包路径下所有的候选组件并加载
+     *
+     * @param basePackage 包路径
+     * @return 按类名排序的候选组件
+     */
+    public Set<Class<?>> findCandidateComponents(String basePackage) {
+        Set<Class<?>> candidates = new LinkedHashSet<>();
+        ClassLoader classLoader = this.metadataReaderFactory.getClassLoader();
+        for (String className : findCandidateClassNames(basePackage)) {
+            try {
+                candidates.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new BeansException("Failed to load candidate component class [" + className + "]", e);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 找到包路径下所有候选组件的类名，不会加载任何类
+     *
+     * @param basePackage 包路径
+     * @return 排好序的只读类名集合
+     */
+    public SortedSet<String> findCandidateClassNames(String basePackage) {
+        ClassLoader classLoader = this.metadataReaderFactory.getClassLoader();
+        String cacheKey = String.join(",", this.includeAnnotationTypes) + "|" + basePackage;
+        boolean checkFingerprint = this.scanResultCache != null
+                && (this.checkFingerprint || this.scanResultCache.getCacheFile() != null);
+        if (this.scanResultCache != null && !checkFingerprint) {
+            SortedSet<String> cached = this.scanResultCache.get(classLoader, cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String packagePath = basePackage.replace('.', '/');
+        Set<String> classNames = ConcurrentHashMap.newKeySet();
+        try {
+            List<URL> urls = Collections.list(classLoader.getResources(packagePath));
+            String fingerprint = null;
+            if (checkFingerprint) {
+                fingerprint = ScanResultCache.fingerprint(urls, packagePath);
+                SortedSet<String> cached = this.scanResultCache.get(classLoader, cacheKey, fingerprint);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            for (URL url : urls) {
+                if ("file".equals(url.getProtocol())) {
+                    scanDirectory(toPath(url), classNames);
+                } else if ("jar".equals(url.getProtocol())) {
+                    scanJar(url, packagePath, classNames);
+                } else {
+                    log.debug("Skipping unsupported classpath location [{}]", url);
+                }
+            }
+            if (this.scanResultCache != null) {
+                return this.scanResultCache.put(classLoader, cacheKey, fingerprint, new TreeSet<>(classNames));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new BeansException("I/O failure during classpath scanning of package [" + basePackage + "]", e);
+        }
+        return Collections.unmodifiableSortedSet(new TreeSet<>(classNames));
+    }
+
+    private void scanDirectory(Path directory, Set<String> classNames) throws IOException {
+        // 先收集文件列表再并行读取，Files.walk 本身的流无法很好地拆分
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            classFiles = paths.filter(path -> path.toString().endsWith(CLASS_FILE_SUFFIX)).collect(Collectors.toList());
+        }
+        classFiles.parallelStream().forEach(path -> {
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                match(inputStream, path, classNames);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void scanJar(URL url, String packagePath, Set<String> classNames) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            log.debug("Skipping unsupported jar location [{}]", url);
+            return;
+        }
+        JarURLConnection jarConnection = (JarURLConnection) connection;
+        // 不使用 JarURLConnection 的缓存，扫描结束后关闭 jar 包
+        jarConnection.setUseCaches(false);
+        String prefix = packagePath + "/";
+        try (JarFile jarFile = jarConnection.getJarFile()) {
+            List<JarEntry> entries = new ArrayList<>();
+            for (Enumeration<JarEntry> enumeration = jarFile.entries(); enumeration.hasMoreElements(); ) {
+                JarEntry entry = enumeration.nextElement();
+                if (entry.getName().startsWith(prefix) && entry.getName().endsWith(CLASS_FILE_SUFFIX)) {
+                    entries.add(entry);
+                }
+            }
+            entries.parallelStream().forEach(entry -> {
+                try (InputStream inputStream = jarFile.getInputStream(entry)) {
+                    match(inputStream, entry.getName(), classNames);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void match(InputStream inputStream, Object location, Set<String> classNames) throws IOException {
+        MetadataReader metadataReader;
+        try {
+            metadataReader = this.metadataReaderFactory.getMetadataReader(inputStream);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring unreadable class file [{}]", location, e);
+            return;
+        }
+        if (isCandidateComponent(metadataReader)) {
+            classNames.add(metadataReader.getClassName());
+        }
+    }
+
+    /**
+     * 只有标注了指定注解的具体类才是候选组件，接口、抽象类以及注解本身都会被排除
+     */
+    protected boolean isCandidateComponent(MetadataReader metadataReader) {
+        if (!metadataReader.isConcrete()) {
+            return false;
+        }
+        for (String annotationType : this.includeAnnotationTypes) {
+            if (this.metadataReaderFactory.hasAnnotationOrMetaAnnotation(metadataReader, annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return new File(URLDecoder.decode(url.getFile(), StandardCharsets.UTF_8.name())).toPath();
+        }
+    }
+
+}
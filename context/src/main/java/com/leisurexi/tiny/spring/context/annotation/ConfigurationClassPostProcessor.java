@@ -29,7 +29,8 @@ public class ConfigurationClassPostProcessor implements BeanFactoryPostProcessor
                     ComponentScan componentScan = (ComponentScan) beanClass.getAnnotation(ComponentScan.class);
                     String[] basePackages = componentScan.basePackages();
                     if (basePackages.length > 0) {
-                        Map<String, BeanDefinition> beanDefinitionMap = AnnotationConfigUtils.scanComponent(basePackages);
+                        Map<String, BeanDefinition> beanDefinitionMap = AnnotationConfigUtils.scanComponent(
+                                beanFactory.getApplicationStartup(), basePackages);
                         for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
                             beanFactory.registryBeanDefinition(entry.getKey(), entry.getValue());
                         }
@@ -65,6 +66,12 @@ public class ConfigurationClassPostProcessor implements BeanFactoryPostProcessor
                 if (!Strings.isNullOrEmpty(initMethod)) {
                     beanDefinition.setInitMethodName(initMethod);
                 }
+                if (!Strings.isNullOrEmpty(bean.destroyMethod())) {
+                    beanDefinition.setDestroyMethodName(bean.destroyMethod());
+                }
+                // 方法上的 @Lazy 优先，没有的话使用配置类上的
+                AnnotationConfigUtils.processLazyAnnotation(clazz, beanDefinition);
+                AnnotationConfigUtils.processLazyAnnotation(method, beanDefinition);
                 beanDefinition.setBeanClass(method.getReturnType());
                 beanDefinition.setFactoryMethod(method);
                 beanDefinition.setFactoryBeanName(configBeanName);
@@ -0,0 +1,117 @@
+package com.leisurexi.tiny.spring.context.annotation;
+
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
+import com.leisurexi.tiny.spring.beans.factory.AbstractAutowireCapableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.config.DependencyDescriptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 某个类型需要依赖注入的字段元信息，每个类型只解析一次。
+ * 包括父类中的字段，父类的字段排在前面；每个字段预先创建好依赖描述符和赋值用的 {@link MethodHandle}，
+ * 注入时不再有任何反射查找
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 15:00
+ * @since 0.0.6
+ */
+final class InjectionMetadata {
+
+    /**
+     * 没有需要注入字段的类型共用的元信息
+     */
+    static final InjectionMetadata EMPTY = new InjectionMetadata(Collections.emptyList());
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final InjectedField[] injectedFields;
+
+    private InjectionMetadata(List<InjectedField> injectedFields) {
+        this.injectedFields = injectedFields.toArray(new InjectedField[0]);
+    }
+
+    /**
+     * 解析类型及其所有父类中标注了 {@link Autowired} 注解的非静态字段
+     *
+     * @param clazz bean 的类型
+     */
+    static InjectionMetadata forClass(Class<?> clazz) {
+        List<InjectedField> injectedFields = new ArrayList<>();
+        Class<?> targetClass = clazz;
+        while (targetClass != null && targetClass != Object.class) {
+            List<InjectedField> currentFields = new ArrayList<>();
+            for (Field field : targetClass.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(Autowired.class) || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                currentFields.add(new InjectedField(clazz, field));
+            }
+            // 父类的字段先注入
+            injectedFields.addAll(0, currentFields);
+            targetClass = targetClass.getSuperclass();
+        }
+        return injectedFields.isEmpty() ? EMPTY : new InjectionMetadata(injectedFields);
+    }
+
+    /**
+     * 为 bean 注入依赖
+     *
+     * @param bean        bean 的实例
+     * @param beanName    bean 的名称
+     * @param beanFactory bean 工厂
+     */
+    void inject(Object bean, String beanName, AbstractAutowireCapableBeanFactory beanFactory) {
+        for (InjectedField injectedField : this.injectedFields) {
+            injectedField.inject(bean, beanName, beanFactory);
+        }
+    }
+
+    /**
+     * 一个需要注入的字段
+     */
+    private static final class InjectedField {
+
+        private final Field field;
+
+        private final DependencyDescriptor descriptor;
+
+        /**
+         * {@code (Object, Object) -> void} 形式的字段赋值方法
+         */
+        private final MethodHandle setter;
+
+        InjectedField(Class<?> beanClass, Field field) {
+            this.field = field;
+            this.descriptor = new DependencyDescriptor(beanClass, field.getType(), field.getName());
+            try {
+                field.setAccessible(true);
+                this.setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new BeansException("Could not access autowired field " + field, e);
+            }
+        }
+
+        void inject(Object bean, String beanName, AbstractAutowireCapableBeanFactory beanFactory) {
+            Object value = beanFactory.resolveDependency(this.descriptor, beanName);
+            // 基本类型字段没有找到依赖时保持默认值
+            if (value == null && this.field.getType().isPrimitive()) {
+                return;
+            }
+            try {
+                this.setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new BeansException("Could not autowire field " + this.field, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.leisurexi.tiny.spring.context.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 标记 bean 是否延迟初始化，跟 XML bean 标签的 lazy-init 属性作用一样。
+ * 延迟初始化的单例 bean 不会在容器启动时创建，而是在第一次被获取时才创建。
+ * <p>
+ * 可以标注在 {@link Component} 类和 {@link Bean} 方法上；标注在 {@link Configuration}
+ * 类上时，该类中所有没有单独标注 {@code @Lazy} 的 {@link Bean} 方法都会延迟初始化
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 13:20
+ * @since 0.0.6
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+
+    /**
+     * 是否延迟初始化
+     */
+    boolean value() default true;
+
+}
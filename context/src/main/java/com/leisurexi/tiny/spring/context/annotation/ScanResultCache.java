@@ -0,0 +1,298 @@
+package com.leisurexi.tiny.spring.context.annotation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 组件扫描结果的缓存，分为两级：
+ * <ul>
+ *     <li>内存缓存：按类加载器缓存，同一个类加载器下同一个包只扫描一次。类加载器是弱引用，
+ *     不会因为缓存而无法回收，回收后对应的扫描结果也随之释放</li>
+ *     <li>文件缓存：设置系统属性 {@value #CACHE_FILE_PROPERTY} 后启用，扫描结果连同类路径指纹一起写入文件，
+ *     重启后类路径没有变化时直接使用文件中的结果</li>
+ * </ul>
+ * 类路径指纹由包路径所在的每个位置计算：目录下每个 class 文件的相对路径、大小和修改时间，
+ * jar 包的路径、大小和修改时间。任何一项变化都会让文件缓存失效并重新扫描。
+ * 内存缓存同样记录扫描时的指纹，调用方提供了指纹时只有指纹一致的结果才会被使用
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 22:10
+ * @see ClassPathCandidateComponentScanner
+ * @since 0.0.6
+ */
+@Slf4j
+public class ScanResultCache {
+
+    /**
+     * 扫描结果缓存文件路径的系统属性
+     */
+    public static final String CACHE_FILE_PROPERTY = "tiny-spring.scan.cache-file";
+
+    private static final String FILE_HEADER = "# tiny-spring scan cache v1";
+
+    private static final ScanResultCache SHARED_INSTANCE = new ScanResultCache(getCacheFileFromSystemProperty());
+
+    /**
+     * 类加载器 -> 缓存键 -> 扫描时的指纹和扫描结果，类加载器是弱引用，扫描结果中只有类名，不会反过来引用类加载器
+     */
+    private final Map<ClassLoader, Map<String, ScanResult>> memoryCache = Collections.synchronizedMap(new WeakHashMap<>(4));
+
+    /**
+     * 缓存文件，为 {@code null} 时只使用内存缓存
+     */
+    private final Path cacheFile;
+
+    /**
+     * 缓存文件中的内容，缓存键 -> 指纹和扫描结果，第一次使用时读取
+     */
+    private Map<String, ScanResult> persistedResults;
+
+    public ScanResultCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * 组件扫描默认使用的共享缓存
+     */
+    public static ScanResultCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    public Path getCacheFile() {
+        return this.cacheFile;
+    }
+
+    /**
+     * 从内存缓存中获取扫描结果
+     *
+     * @return 扫描结果，没有缓存时返回 {@code null}
+     */
+    public SortedSet<String> get(ClassLoader classLoader, String cacheKey) {
+        ScanResult result = getFromMemory(classLoader, cacheKey);
+        return result != null ? result.classNames : null;
+    }
+
+    /**
+     * 依次从内存缓存和缓存文件中获取扫描结果，指纹一致时才有效，缓存文件命中后放入内存缓存
+     *
+     * @param fingerprint 当前类路径的指纹
+     * @return 扫描结果，没有缓存或者指纹不一致时返回 {@code null}
+     */
+    public SortedSet<String> get(ClassLoader classLoader, String cacheKey, String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        ScanResult result = getFromMemory(classLoader, cacheKey);
+        if (result != null && fingerprint.equals(result.fingerprint)) {
+            return result.classNames;
+        }
+        if (this.cacheFile == null) {
+            return null;
+        }
+        ScanResult persistedResult;
+        synchronized (this) {
+            persistedResult = getPersistedResults().get(cacheKey);
+        }
+        if (persistedResult == null || !persistedResult.fingerprint.equals(fingerprint)) {
+            return null;
+        }
+        log.debug("Using persisted scan result for [{}] from [{}]", cacheKey, this.cacheFile);
+        return putInMemory(classLoader, cacheKey, persistedResult);
+    }
+
+    /**
+     * 缓存扫描结果，指纹不为 {@code null} 且启用了缓存文件时同时写入文件
+     *
+     * @return 只读的扫描结果
+     */
+    public SortedSet<String> put(ClassLoader classLoader, String cacheKey, String fingerprint, SortedSet<String> classNames) {
+        SortedSet<String> result = putInMemory(classLoader, cacheKey,
+                new ScanResult(fingerprint, Collections.unmodifiableSortedSet(new TreeSet<>(classNames))));
+        if (this.cacheFile != null && fingerprint != null) {
+            synchronized (this) {
+                getPersistedResults().put(cacheKey, new ScanResult(fingerprint, result));
+                writeCacheFile();
+            }
+        }
+        return result;
+    }
+
+    private ScanResult getFromMemory(ClassLoader classLoader, String cacheKey) {
+        Map<String, ScanResult> results = this.memoryCache.get(classLoader);
+        return results != null ? results.get(cacheKey) : null;
+    }
+
+    /**
+     * 放入内存缓存。并发扫描出指纹相同的结果时保留先放入的那个，指纹不同时新的结果替换旧的结果
+     */
+    private SortedSet<String> putInMemory(ClassLoader classLoader, String cacheKey, ScanResult result) {
+        return this.memoryCache.computeIfAbsent(classLoader, key -> new ConcurrentHashMap<>(16))
+                .merge(cacheKey, result, (existing, added) ->
+                        Objects.equals(existing.fingerprint, added.fingerprint) ? existing : added)
+                .classNames;
+    }
+
+    private Map<String, ScanResult> getPersistedResults() {
+        if (this.persistedResults == null) {
+            this.persistedResults = readCacheFile();
+        }
+        return this.persistedResults;
+    }
+
+    /**
+     * 读取缓存文件，每行的格式为 {@code 缓存键 \t 指纹 \t 逗号分隔的类名}，文件损坏时当做没有缓存
+     */
+    private Map<String, ScanResult> readCacheFile() {
+        Map<String, ScanResult> results = new TreeMap<>();
+        if (!Files.isRegularFile(this.cacheFile)) {
+            return results;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(this.cacheFile, StandardCharsets.UTF_8)) {
+            if (!FILE_HEADER.equals(reader.readLine())) {
+                log.debug("Ignoring scan cache file [{}] with unknown format", this.cacheFile);
+                return results;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length != 3) {
+                    continue;
+                }
+                SortedSet<String> classNames = new TreeSet<>();
+                if (!parts[2].isEmpty()) {
+                    classNames.addAll(Arrays.asList(parts[2].split(",")));
+                }
+                results.put(parts[0], new ScanResult(parts[1], Collections.unmodifiableSortedSet(classNames)));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read scan cache file [{}], scanning again", this.cacheFile, e);
+            results.clear();
+        }
+        return results;
+    }
+
+    /**
+     * 先写临时文件再替换，其它进程不会读到写了一半的文件
+     */
+    private void writeCacheFile() {
+        try {
+            Path directory = this.cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, this.cacheFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+                for (Map.Entry<String, ScanResult> entry : this.persistedResults.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('\t');
+                    writer.write(entry.getValue().fingerprint);
+                    writer.write('\t');
+                    writer.write(String.join(",", entry.getValue().classNames));
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write scan cache file [{}]", this.cacheFile, e);
+        }
+    }
+
+    /**
+     * 计算包路径所在位置的指纹，只读取文件属性，不读取文件内容
+     *
+     * @param locations   包路径所在的位置
+     * @param packagePath 包路径，比如 {@code com/leisurexi/tiny}
+     * @return 指纹，存在无法计算指纹的位置时返回 {@code null}
+     */
+    public static String fingerprint(List<URL> locations, String packagePath) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try {
+            for (URL location : locations) {
+                update(digest, location.toString());
+                if ("file".equals(location.getProtocol())) {
+                    Path directory = Paths.get(location.toURI());
+                    List<String> entries = new ArrayList<>();
+                    try (Stream<Path> paths = Files.walk(directory)) {
+                        paths.filter(path -> path.toString().endsWith(".class")).forEach(path -> {
+                            try {
+                                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                                entries.add(directory.relativize(path) + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                            } catch (IOException e) {
+                                entries.add(directory.relativize(path) + ":?");
+                            }
+                        });
+                    }
+                    // 文件的遍历顺序和文件系统有关，排序后指纹才稳定
+                    Collections.sort(entries);
+                    for (String entry : entries) {
+                        update(digest, entry);
+                    }
+                } else if ("jar".equals(location.getProtocol())) {
+                    String file = location.getFile();
+                    int separator = file.indexOf("!/");
+                    Path jar = Paths.get(new URL(separator != -1 ? file.substring(0, separator) : file).toURI());
+                    BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+                    update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                } else {
+                    return null;
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            log.debug("Cannot fingerprint locations of package [{}]", packagePath, e);
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static Path getCacheFileFromSystemProperty() {
+        String cacheFile = System.getProperty(CACHE_FILE_PROPERTY);
+        return cacheFile != null && !cacheFile.trim().isEmpty() ? Paths.get(cacheFile.trim()) : null;
+    }
+
+    /**
+     * 扫描时的指纹和扫描结果，指纹为 {@code null} 表示扫描时没有计算指纹
+     */
+    private static class ScanResult {
+
+        private final String fingerprint;
+
+        private final SortedSet<String> classNames;
+
+        ScanResult(String fingerprint, SortedSet<String> classNames) {
+            this.fingerprint = fingerprint;
+            this.classNames = classNames;
+        }
+    }
+
+}
@@ -1,12 +1,22 @@
 package com.leisurexi.tiny.spring.context.config;
 
 import com.google.common.base.Strings;
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionRegistry;
 import com.leisurexi.tiny.spring.beans.factory.support.xml.NamespaceHandler;
+import com.leisurexi.tiny.spring.beans.io.Resource;
+import com.leisurexi.tiny.spring.beans.metrics.ApplicationStartup;
 import com.leisurexi.tiny.spring.context.annotation.AnnotationConfigUtils;
 import org.w3c.dom.Element;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,22 +28,101 @@ import java.util.Map;
  */
 public class ContextNamespaceHandler implements NamespaceHandler {
 
+    private static final String ELEMENT_NAME = "context:component-scan";
+
+    private static final String BASE_PACKAGE_ATTRIBUTE = "base-package";
+
+    /**
+     * 记录组件扫描的启动步骤
+     *
+     * @since 0.0.6
+     */
+    private final ApplicationStartup applicationStartup;
+
+    /**
+     * 缓存的扫描结果是否要和当前类路径的指纹一致才会被使用
+     *
+     * @since 0.0.6
+     */
+    private final boolean checkScanFingerprint;
+
+    public ContextNamespaceHandler() {
+        this(ApplicationStartup.DEFAULT);
+    }
+
+    /**
+     * @since 0.0.6
+     */
+    public ContextNamespaceHandler(ApplicationStartup applicationStartup) {
+        this(applicationStartup, false);
+    }
+
+    /**
+     * @param applicationStartup   记录组件扫描的启动步骤
+     * @param checkScanFingerprint 缓存的扫描结果是否要和当前类路径的指纹一致才会被使用
+     * @see AnnotationConfigUtils#scanComponent(ApplicationStartup, boolean, String...)
+     * @since 0.0.6
+     */
+    public ContextNamespaceHandler(ApplicationStartup applicationStartup, boolean checkScanFingerprint) {
+        this.applicationStartup = applicationStartup;
+        this.checkScanFingerprint = checkScanFingerprint;
+    }
+
     @Override
     public String namespace() {
-        return "context:component-scan";
+        return ELEMENT_NAME;
     }
 
     @Override
     public void parse(BeanDefinitionRegistry registry, Element element) {
-        String basePackage = element.getAttribute("base-package");
+        String basePackage = element.getAttribute(BASE_PACKAGE_ATTRIBUTE);
         if (Strings.isNullOrEmpty(basePackage)) {
             throw new IllegalArgumentException("base-package attribute must not be null");
         }
 
-        Map<String, BeanDefinition> beanDefinitionMap = AnnotationConfigUtils.scanComponent(basePackage);
+        Map<String, BeanDefinition> beanDefinitionMap = AnnotationConfigUtils.scanComponent(applicationStartup, checkScanFingerprint, basePackage);
         for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
             registry.registryBeanDefinition(entry.getKey(), entry.getValue());
         }
     }
 
+    /**
+     * 找出配置文件中所有 context:component-scan 节点扫描的包路径，只做一次流式读取，不构建 DOM 也不注册 bean 定义
+     *
+     * @param resource XML 配置文件
+     * @return 按出现顺序排列的包路径
+     * @since 0.0.6
+     */
+    public static List<String> findBasePackages(Resource resource) {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        List<String> basePackages = new ArrayList<>();
+        try (InputStream inputStream = resource.getInputStream()) {
+            XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamReader.START_ELEMENT) {
+                        continue;
+                    }
+                    // 和 XmlBeanDefinitionReader 一样，节点名带上前缀
+                    String prefix = reader.getPrefix();
+                    String nodeName = Strings.isNullOrEmpty(prefix) ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+                    if (ELEMENT_NAME.equals(nodeName)) {
+                        String basePackage = reader.getAttributeValue(null, BASE_PACKAGE_ATTRIBUTE);
+                        if (!Strings.isNullOrEmpty(basePackage)) {
+                            basePackages.add(basePackage);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new BeansException("Failed to read component-scan elements from " + resource, e);
+        }
+        return basePackages;
+    }
+
 }
@@ -0,0 +1,43 @@
+package com.leisurexi.tiny.spring.context.index;
+
+import java.util.*;
+
+/**
+ * 编译期生成的组件索引，key 为注解的全限定名，value 为标注了该注解的类名
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:55
+ * @see CandidateComponentsIndexLoader
+ * @since 0.0.6
+ */
+public class CandidateComponentsIndex {
+
+    private final Map<String, Set<String>> index;
+
+    CandidateComponentsIndex(Map<String, Set<String>> index) {
+        this.index = index;
+    }
+
+    /**
+     * 返回指定包（包括子包）下标注了指定注解的类名
+     *
+     * @param basePackage 包路径
+     * @param stereotype  注解的全限定名
+     * @return 按类名排序的类名集合
+     */
+    public Set<String> getCandidateTypes(String basePackage, String stereotype) {
+        Set<String> candidates = this.index.get(stereotype);
+        if (candidates == null) {
+            return Collections.emptySet();
+        }
+        String prefix = basePackage.isEmpty() ? "" : basePackage + ".";
+        Set<String> result = new TreeSet<>();
+        for (String candidate : candidates) {
+            if (candidate.startsWith(prefix)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+}
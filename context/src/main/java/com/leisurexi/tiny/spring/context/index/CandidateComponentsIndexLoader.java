@@ -0,0 +1,95 @@
+package com.leisurexi.tiny.spring.context.index;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 读取类路径下所有的 {@value #COMPONENTS_RESOURCE_LOCATION}，合并成一个组件索引。
+ * 只要存在一个索引文件就会使用索引，所以应用的所有组件都需要由 context-indexer 生成索引；
+ * 设置系统属性 {@value #IGNORE_INDEX} 为 {@code true} 可以强制使用类路径扫描
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 20:55
+ * @since 0.0.6
+ */
+@Slf4j
+public final class CandidateComponentsIndexLoader {
+
+    /**
+     * 组件索引文件的位置，和 context-indexer 生成的位置一致
+     */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/tiny-spring.components";
+
+    /**
+     * 忽略组件索引的系统属性
+     */
+    public static final String IGNORE_INDEX = "tiny-spring.index.ignore";
+
+    /**
+     * 类加载器没有索引文件时缓存的占位值
+     */
+    private static final CandidateComponentsIndex NO_INDEX = new CandidateComponentsIndex(Collections.emptyMap());
+
+    /**
+     * 类加载器 -> 组件索引，类加载器是弱引用，索引中只有类名，类加载器被回收后对应的索引也随之释放
+     */
+    private static final Map<ClassLoader, CandidateComponentsIndex> CACHE = Collections.synchronizedMap(new WeakHashMap<>(4));
+
+    private CandidateComponentsIndexLoader() {
+    }
+
+    /**
+     * 加载组件索引，每个类加载器只读取一次
+     *
+     * @param classLoader 类加载器
+     * @return 组件索引，没有索引文件或者忽略索引时返回 {@code null}
+     */
+    public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) {
+        if (Boolean.getBoolean(IGNORE_INDEX)) {
+            return null;
+        }
+        CandidateComponentsIndex index = CACHE.computeIfAbsent(classLoader, CandidateComponentsIndexLoader::doLoadIndex);
+        return index != NO_INDEX ? index : null;
+    }
+
+    private static CandidateComponentsIndex doLoadIndex(ClassLoader classLoader) {
+        Map<String, Set<String>> index = new HashMap<>();
+        int count = 0;
+        try {
+            Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (InputStream inputStream = url.openStream();
+                     BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int separator = line.indexOf('=');
+                        if (line.startsWith("#") || separator <= 0) {
+                            continue;
+                        }
+                        String type = line.substring(0, separator).trim();
+                        for (String stereotype : line.substring(separator + 1).split(",")) {
+                            index.computeIfAbsent(stereotype.trim(), key -> new LinkedHashSet<>()).add(type);
+                        }
+                    }
+                }
+                count++;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load indexes from location [" + COMPONENTS_RESOURCE_LOCATION + "]", e);
+        }
+        if (count == 0) {
+            return NO_INDEX;
+        }
+        log.debug("Loaded {} component index file(s) from location [{}]", count, COMPONENTS_RESOURCE_LOCATION);
+        return new CandidateComponentsIndex(index);
+    }
+
+}
@@ -1,15 +1,21 @@
 package com.leisurexi.tiny.spring.context.support;
 
+import com.leisurexi.tiny.spring.beans.convert.ConversionService;
 import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
 import com.leisurexi.tiny.spring.beans.factory.config.BeanFactoryPostProcessor;
 import com.leisurexi.tiny.spring.beans.factory.config.BeanPostProcessor;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
 import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.leisurexi.tiny.spring.beans.metrics.ApplicationStartup;
+import com.leisurexi.tiny.spring.beans.metrics.BeanMetrics;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
 import com.leisurexi.tiny.spring.context.ApplicationContext;
 import com.leisurexi.tiny.spring.context.annotation.AnnotationConfigUtils;
 
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author: leisurexi
@@ -18,25 +24,119 @@ import java.util.List;
  */
 public abstract class AbstractApplicationContext implements ApplicationContext, BeanDefinitionRegistry {
 
+    /**
+     * 类型转换服务 bean 的名称，容器中存在该 bean 时会替换 beanFactory 默认的类型转换服务
+     *
+     * @since 0.0.6
+     */
+    public static final String CONVERSION_SERVICE_BEAN_NAME = "conversionService";
+
     /**
      * 当前上下文的 bean factory
      */
     private DefaultListableBeanFactory beanFactory;
 
+    /**
+     * 没有显式指定 lazy-init 的 bean 是否延迟初始化
+     *
+     * @since 0.0.6
+     */
+    private boolean defaultLazyInit = false;
+
+    /**
+     * 是否并行提前初始化单例 bean
+     *
+     * @since 0.0.6
+     */
+    private boolean parallelPreInstantiation = false;
+
+    /**
+     * 并行提前初始化单例 bean 使用的线程池
+     *
+     * @since 0.0.6
+     */
+    private Executor preInstantiationExecutor;
+
+    /**
+     * 销毁单个 bean 的超时时间，为 {@code null} 时使用 beanFactory 的默认值
+     *
+     * @since 0.0.6
+     */
+    private Long destroyTimeoutMillis;
+
+    /**
+     * 并行销毁单例 bean 使用的线程池
+     *
+     * @since 0.0.6
+     */
+    private Executor destructionExecutor;
+
+    /**
+     * 记录刷新上下文以及创建 bean 各个阶段的耗时，默认什么也不记录
+     *
+     * @since 0.0.6
+     */
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    /**
+     * @since 0.0.6
+     */
+    private volatile BeanMetrics beanMetrics = BeanMetrics.NOOP;
+
+    /**
+     * 上下文是否处于活动状态，刷新后为 true，关闭后为 false
+     *
+     * @since 0.0.6
+     */
+    private final AtomicBoolean active = new AtomicBoolean();
+
+    /**
+     * JVM 关闭时关闭上下文的钩子线程
+     *
+     * @since 0.0.6
+     */
+    private Thread shutdownHook;
+
     /**
      * 上下文刷新方法，也可以理解为上下文启动的方法
      */
     public void refresh() {
-        // 刷新 beanFactory
-        refreshBeanFactory();
-        // 注册注解配置处理器
-        AnnotationConfigUtils.registerAnnotationConfigProcessors(this);
-        // 调用 beanFactory 的后置处理器
-        invokeBeanFactoryPostProcessors(beanFactory);
-        // 注册 bean 的后置处理器
-        registerBeanPostProcessors(beanFactory);
-        // 完成 beanFactory 的初始化
-        finishBeanFactoryInitialization(beanFactory);
+        StartupStep refreshStep = this.applicationStartup.start("context.refresh");
+        try {
+            // 刷新 beanFactory
+            StartupStep step = this.applicationStartup.start("context.refresh-bean-factory");
+            try {
+                refreshBeanFactory();
+            } finally {
+                step.end();
+            }
+            this.active.set(true);
+            // 注册注解配置处理器
+            AnnotationConfigUtils.registerAnnotationConfigProcessors(this);
+            // 调用 beanFactory 的后置处理器
+            step = this.applicationStartup.start("context.invoke-bean-factory-post-processors");
+            try {
+                invokeBeanFactoryPostProcessors(beanFactory);
+            } finally {
+                step.end();
+            }
+            // 注册 bean 的后置处理器
+            step = this.applicationStartup.start("context.register-bean-post-processors");
+            try {
+                registerBeanPostProcessors(beanFactory);
+            } finally {
+                step.end();
+            }
+            // 完成 beanFactory 的初始化
+            step = this.applicationStartup.start("context.finish-bean-factory-initialization");
+            try {
+                finishBeanFactoryInitialization(beanFactory);
+            } finally {
+                step.end();
+            }
+        } finally {
+            refreshStep.end();
+        }
     }
 
     /**
@@ -48,7 +148,13 @@ public abstract class AbstractApplicationContext implements ApplicationContext,
         List<String> beanNames = beanFactory.beanNamesForType(BeanFactoryPostProcessor.class);
         for (String beanName : beanNames) {
             BeanFactoryPostProcessor beanFactoryPostProcessor = (BeanFactoryPostProcessor) beanFactory.getBean(beanName);
-            beanFactoryPostProcessor.postProcessBeanFactory(beanFactory);
+            StartupStep step = this.applicationStartup.start("context.bean-factory.post-process")
+                    .tag("postProcessor", beanFactoryPostProcessor.getClass().getName());
+            try {
+                beanFactoryPostProcessor.postProcessBeanFactory(beanFactory);
+            } finally {
+                step.end();
+            }
         }
     }
 
@@ -58,6 +164,10 @@ public abstract class AbstractApplicationContext implements ApplicationContext,
      * @param beanFactory bean 工厂
      */
     protected void finishBeanFactoryInitialization(DefaultListableBeanFactory beanFactory) {
+        // 使用用户配置的类型转换服务
+        if (beanFactory.containsBeanDefinition(CONVERSION_SERVICE_BEAN_NAME)) {
+            beanFactory.setConversionService(beanFactory.getBean(CONVERSION_SERVICE_BEAN_NAME, ConversionService.class));
+        }
         // 提前初始化单例 bean
         beanFactory.preInstantiateSingletons();
     }
@@ -79,10 +189,166 @@ public abstract class AbstractApplicationContext implements ApplicationContext,
      * 赋值给 beanFactory
      */
     protected void refreshBeanFactory() {
+        // 重复刷新时先销毁旧的 beanFactory 中的单例 bean
+        if (this.beanFactory != null && this.active.compareAndSet(true, false)) {
+            this.beanFactory.destroySingletons();
+        }
         this.beanFactory = new DefaultListableBeanFactory();
+        this.beanFactory.setDefaultLazyInit(this.defaultLazyInit);
+        this.beanFactory.setParallelPreInstantiation(this.parallelPreInstantiation);
+        this.beanFactory.setPreInstantiationExecutor(this.preInstantiationExecutor);
+        if (this.destroyTimeoutMillis != null) {
+            this.beanFactory.setDestroyTimeoutMillis(this.destroyTimeoutMillis);
+        }
+        this.beanFactory.setDestructionExecutor(this.destructionExecutor);
+        this.beanFactory.setApplicationStartup(this.applicationStartup);
+        this.beanFactory.setBeanMetrics(this.beanMetrics);
         loadBeanDefinitions(this.beanFactory);
     }
 
+    /**
+     * 设置没有显式指定 lazy-init 的 bean 是否延迟初始化，需要在 {@link #refresh()} 之前调用
+     *
+     * @see DefaultListableBeanFactory#setDefaultLazyInit(boolean)
+     * @since 0.0.6
+     */
+    public void setDefaultLazyInit(boolean defaultLazyInit) {
+        this.defaultLazyInit = defaultLazyInit;
+    }
+
+    /**
+     * 设置是否并行提前初始化单例 bean，需要在 {@link #refresh()} 之前调用
+     *
+     * @see DefaultListableBeanFactory#setParallelPreInstantiation(boolean)
+     * @since 0.0.6
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    /**
+     * 设置并行提前初始化单例 bean 使用的线程池，需要在 {@link #refresh()} 之前调用
+     *
+     * @see DefaultListableBeanFactory#setPreInstantiationExecutor(Executor)
+     * @since 0.0.6
+     */
+    public void setPreInstantiationExecutor(Executor preInstantiationExecutor) {
+        this.preInstantiationExecutor = preInstantiationExecutor;
+    }
+
+    /**
+     * 设置销毁单个 bean 的超时时间，单位毫秒，需要在 {@link #refresh()} 之前调用
+     *
+     * @see DefaultListableBeanFactory#setDestroyTimeoutMillis(long)
+     * @since 0.0.6
+     */
+    public void setDestroyTimeoutMillis(long destroyTimeoutMillis) {
+        this.destroyTimeoutMillis = destroyTimeoutMillis;
+    }
+
+    /**
+     * 设置并行销毁单例 bean 使用的线程池，需要在 {@link #refresh()} 之前调用
+     *
+     * @see DefaultListableBeanFactory#setDestructionExecutor(Executor)
+     * @since 0.0.6
+     */
+    public void setDestructionExecutor(Executor destructionExecutor) {
+        this.destructionExecutor = destructionExecutor;
+    }
+
+    /**
+     * 设置记录启动步骤的 {@link ApplicationStartup}，需要在 {@link #refresh()} 之前调用。
+     * 会记录刷新上下文的各个阶段以及每个 bean 的创建过程
+     *
+     * @see com.leisurexi.tiny.spring.beans.metrics.BufferingApplicationStartup
+     * @since 0.0.6
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        if (applicationStartup == null) {
+            throw new IllegalArgumentException("ApplicationStartup must not be null");
+        }
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * 返回记录启动步骤的 {@link ApplicationStartup}
+     *
+     * @since 0.0.6
+     */
+    public ApplicationStartup getApplicationStartup() {
+        return this.applicationStartup;
+    }
+
+    /**
+     * 设置记录运行期指标的 {@link BeanMetrics}，刷新前后都可以调用，刷新后调用时立即对当前的 beanFactory 生效。
+     * 设置为 {@link BeanMetrics#NOOP} 即停止记录
+     *
+     * @see DefaultListableBeanFactory#setBeanMetrics(BeanMetrics)
+     * @see com.leisurexi.tiny.spring.beans.metrics.BeanMetricsRegistry
+     * @since 0.0.6
+     */
+    public void setBeanMetrics(BeanMetrics beanMetrics) {
+        if (beanMetrics == null) {
+            throw new IllegalArgumentException("BeanMetrics must not be null");
+        }
+        this.beanMetrics = beanMetrics;
+        DefaultListableBeanFactory beanFactory = this.beanFactory;
+        if (beanFactory != null) {
+            beanFactory.setBeanMetrics(beanMetrics);
+        }
+    }
+
+    /**
+     * 返回记录运行期指标的 {@link BeanMetrics}
+     *
+     * @since 0.0.6
+     */
+    public BeanMetrics getBeanMetrics() {
+        return this.beanMetrics;
+    }
+
+    /**
+     * 关闭上下文，按照依赖关系的逆序销毁所有的单例 bean
+     *
+     * @since 0.0.6
+     */
+    @Override
+    public void close() {
+        if (this.beanFactory != null && this.active.compareAndSet(true, false)) {
+            this.beanFactory.destroySingletons();
+        }
+        Thread hook = this.shutdownHook;
+        if (hook != null && hook != Thread.currentThread()) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // JVM 已经在关闭中，钩子线程会负责关闭上下文
+            }
+            this.shutdownHook = null;
+        }
+    }
+
+    /**
+     * 注册 JVM 关闭钩子，JVM 关闭时自动关闭上下文
+     *
+     * @since 0.0.6
+     */
+    public void registerShutdownHook() {
+        if (this.shutdownHook == null) {
+            this.shutdownHook = new Thread(this::close, "tiny-spring-shutdown-hook");
+            Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+        }
+    }
+
+    /**
+     * 上下文是否处于活动状态
+     *
+     * @since 0.0.6
+     */
+    public boolean isActive() {
+        return this.active.get();
+    }
+
     /**
      * 加载 bean 的定义元信息，模板方法由子类实现
      *
@@ -42,7 +42,7 @@ public class AnnotationConfigApplicationContext extends AbstractApplicationConte
      * @return 符合条件的组件定义元信息集合
      */
     private void doScan(String... basePackages) {
-        this.beanDefinitionMap = AnnotationConfigUtils.scanComponent(basePackages);
+        this.beanDefinitionMap = AnnotationConfigUtils.scanComponent(getApplicationStartup(), basePackages);
     }
 
     @Override
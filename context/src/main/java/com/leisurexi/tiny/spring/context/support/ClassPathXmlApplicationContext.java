@@ -1,8 +1,26 @@
 package com.leisurexi.tiny.spring.context.support;
 
+import com.leisurexi.tiny.spring.beans.exception.BeansException;
 import com.leisurexi.tiny.spring.beans.factory.DefaultListableBeanFactory;
+import com.leisurexi.tiny.spring.beans.factory.support.SimpleBeanDefinitionRegistry;
+import com.leisurexi.tiny.spring.beans.factory.support.snapshot.BeanDefinitionSnapshot;
+import com.leisurexi.tiny.spring.beans.factory.support.snapshot.BeanDefinitionSnapshotReader;
+import com.leisurexi.tiny.spring.beans.factory.support.snapshot.BeanDefinitionSnapshotWriter;
 import com.leisurexi.tiny.spring.beans.factory.support.xml.XmlBeanDefinitionReader;
+import com.leisurexi.tiny.spring.beans.io.ByteArrayResource;
+import com.leisurexi.tiny.spring.beans.io.Resource;
+import com.leisurexi.tiny.spring.context.annotation.ScanResultCache;
 import com.leisurexi.tiny.spring.context.config.ContextNamespaceHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * XML 应用程序上下文
@@ -11,6 +29,7 @@ import com.leisurexi.tiny.spring.context.config.ContextNamespaceHandler;
  * @date: 2020-05-31 21:13
  * @since 0.0.4
  */
+@Slf4j
 public class ClassPathXmlApplicationContext extends AbstractApplicationContext {
 
     /**
@@ -18,6 +37,13 @@ public class ClassPathXmlApplicationContext extends AbstractApplicationContext {
      */
     protected String[] configLocations;
 
+    /**
+     * bean 定义快照文件，为 {@code null} 时每次都解析配置文件
+     *
+     * @since 0.0.6
+     */
+    private Path snapshotFile;
+
     /**
      * @param location 单个文件地址
      */
@@ -29,21 +55,109 @@ public class ClassPathXmlApplicationContext extends AbstractApplicationContext {
      * @param locations 多个文件地址
      */
     public ClassPathXmlApplicationContext(String... locations) {
+        this(locations, true);
+    }
+
+    /**
+     * @param locations 多个文件地址
+     * @param refresh   是否立即刷新上下文，为 {@code false} 时可以先修改配置再手动调用 {@link #refresh()}
+     * @since 0.0.6
+     */
+    public ClassPathXmlApplicationContext(String[] locations, boolean refresh) {
         if (locations == null) {
             throw new IllegalArgumentException("locations must not be null");
         }
         configLocations = locations;
-        // 调用父类方法，刷新上下文
-        refresh();
+        if (refresh) {
+            // 调用父类方法，刷新上下文
+            refresh();
+        }
+    }
+
+    /**
+     * 设置 bean 定义快照文件，需要在 {@link #refresh()} 之前调用。配置文件没有变化时直接从快照中注册 bean 定义，
+     * 不再解析 XML 和扫描组件；否则解析配置文件后重新生成快照。
+     * 快照的指纹包含配置文件的内容，以及 context:component-scan 扫描的包路径在类路径上的指纹，
+     * 扫描的包下新增、删除或修改了类都会使快照失效。无法计算包路径的指纹时不使用快照
+     *
+     * @param snapshotFile 快照文件
+     * @since 0.0.6
+     */
+    public void setSnapshotFile(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
     }
 
     @Override
     protected void loadBeanDefinitions(DefaultListableBeanFactory beanFactory) {
-        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory, new ContextNamespaceHandler());
-        for (int i = 0; i < configLocations.length; i++) {
-            String configLocation = configLocations[i];
-            // 加载配置文件中 bean 的定义
-            reader.loadBeanDefinitions(configLocation);
+        // 使用快照时扫描结果会被写入快照，不能使用和类路径指纹不一致的缓存结果
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory,
+                new ContextNamespaceHandler(getApplicationStartup(), snapshotFile != null));
+        if (snapshotFile == null) {
+            // 加载配置文件中 bean 的定义，多个文件并行解析，按文件顺序注册
+            reader.loadBeanDefinitions(configLocations);
+            return;
+        }
+        List<Resource> resources = new ArrayList<>();
+        for (String configLocation : configLocations) {
+            resources.addAll(Arrays.asList(reader.getResourceLoader().getResources(configLocation)));
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = getClass().getClassLoader();
+        }
+        String fingerprint = snapshotFingerprint(resources, classLoader);
+        if (fingerprint == null) {
+            log.debug("Cannot fingerprint scanned packages, ignoring bean definition snapshot [{}]", snapshotFile);
+            reader.loadBeanDefinitions(configLocations);
+            return;
+        }
+        // 先读到缓冲区，快照中的类已经不存在时不会留下注册了一半的 bean 定义
+        SimpleBeanDefinitionRegistry buffer = new SimpleBeanDefinitionRegistry();
+        try {
+            if (new BeanDefinitionSnapshotReader(buffer, classLoader).loadBeanDefinitions(snapshotFile, fingerprint) >= 0) {
+                buffer.registerTo(beanFactory);
+                return;
+            }
+        } catch (BeansException e) {
+            log.warn("Failed to load bean definition snapshot [{}], parsing config locations instead", snapshotFile, e);
+        }
+        reader.loadBeanDefinitions(configLocations);
+        try {
+            new BeanDefinitionSnapshotWriter().write(beanFactory, beanFactory.getBeanDefinitionNames(), snapshotFile, fingerprint);
+        } catch (BeansException e) {
+            // 快照只是启动加速，写不了不影响本次启动
+            log.warn("Failed to write bean definition snapshot [{}]", snapshotFile, e);
+        }
+    }
+
+    /**
+     * 计算快照的指纹：配置文件内容的指纹，加上每个 context:component-scan 包路径在类路径上的指纹
+     *
+     * @return 指纹，存在无法计算指纹的包路径时返回 {@code null}
+     */
+    private String snapshotFingerprint(List<Resource> resources, ClassLoader classLoader) {
+        Resource[] configResources = resources.toArray(new Resource[0]);
+        String configFingerprint = BeanDefinitionSnapshot.fingerprint(configResources);
+        StringBuilder builder = new StringBuilder(configFingerprint);
+        for (Resource resource : configResources) {
+            for (String basePackage : ContextNamespaceHandler.findBasePackages(resource)) {
+                String packagePath = basePackage.replace('.', '/');
+                String packageFingerprint;
+                try {
+                    List<URL> locations = Collections.list(classLoader.getResources(packagePath));
+                    packageFingerprint = ScanResultCache.fingerprint(locations, packagePath);
+                } catch (IOException e) {
+                    packageFingerprint = null;
+                }
+                if (packageFingerprint == null) {
+                    return null;
+                }
+                builder.append('\n').append(basePackage).append('=').append(packageFingerprint);
+            }
+        }
+        if (builder.length() == configFingerprint.length()) {
+            return configFingerprint;
         }
+        return BeanDefinitionSnapshot.fingerprint(new ByteArrayResource(builder.toString().getBytes(StandardCharsets.UTF_8)));
     }
 }
@@ -0,0 +1,113 @@
+package com.leisurexi.tiny.spring.context.type.classreading;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 使用 ASM 直接读取 class 文件得到的类元信息，读取时不会加载类，
+ * 只解析类名、访问标志以及运行时可见的注解，跳过方法体和调试信息
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:40
+ * @see MetadataReaderFactory
+ * @since 0.0.6
+ */
+public final class MetadataReader {
+
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    private final String className;
+
+    private final int access;
+
+    /**
+     * 类上直接标注的注解的类名
+     */
+    private final Set<String> annotationTypes;
+
+    private MetadataReader(String className, int access, Set<String> annotationTypes) {
+        this.className = className;
+        this.access = access;
+        this.annotationTypes = annotationTypes;
+    }
+
+    /**
+     * 解析 class 文件
+     *
+     * @param classFile class 文件的字节
+     * @throws IllegalArgumentException class 文件格式不正确时抛出
+     */
+    public static MetadataReader read(byte[] classFile) {
+        MetadataClassVisitor classVisitor = new MetadataClassVisitor();
+        new ClassReader(classFile).accept(classVisitor, PARSING_OPTIONS);
+        return new MetadataReader(classVisitor.className, classVisitor.access,
+                classVisitor.annotationTypes.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(classVisitor.annotationTypes));
+    }
+
+    public String getClassName() {
+        return this.className;
+    }
+
+    public Set<String> getAnnotationTypes() {
+        return this.annotationTypes;
+    }
+
+    public boolean hasAnnotation(String annotationType) {
+        return this.annotationTypes.contains(annotationType);
+    }
+
+    public boolean isInterface() {
+        return (this.access & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (this.access & Opcodes.ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isAbstract() {
+        return (this.access & Opcodes.ACC_ABSTRACT) != 0;
+    }
+
+    /**
+     * 是否是可以实例化的具体类
+     */
+    public boolean isConcrete() {
+        return !isInterface() && !isAbstract();
+    }
+
+    private static class MetadataClassVisitor extends ClassVisitor {
+
+        private String className;
+
+        private int access;
+
+        private final Set<String> annotationTypes = new LinkedHashSet<>(4);
+
+        MetadataClassVisitor() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.className = Type.getObjectType(name).getClassName();
+            this.access = access;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            // 只有运行时可见的注解才能通过反射获取，和 Class#isAnnotationPresent 保持一致
+            if (visible) {
+                this.annotationTypes.add(Type.getType(descriptor).getClassName());
+            }
+            return null;
+        }
+    }
+
+}
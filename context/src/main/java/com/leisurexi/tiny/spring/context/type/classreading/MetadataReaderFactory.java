@@ -0,0 +1,133 @@
+package com.leisurexi.tiny.spring.context.type.classreading;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 创建 {@link MetadataReader} 并判断类是否直接或者间接（元注解）标注了某个注解。
+ * 注解类型的元信息同样通过读取 class 文件获得，每个注解类型只读取一次，可以在多个线程中共享
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:40
+ * @since 0.0.6
+ */
+@Slf4j
+public class MetadataReaderFactory {
+
+    private final ClassLoader classLoader;
+
+    /**
+     * 注解类型 -> 它直接和间接标注的所有注解类型
+     */
+    private final Map<String, Set<String>> metaAnnotationCache = new ConcurrentHashMap<>(32);
+
+    public MetadataReaderFactory(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    public ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * 读取 class 文件
+     *
+     * @param inputStream class 文件的输入流，由调用者关闭
+     */
+    public MetadataReader getMetadataReader(InputStream inputStream) throws IOException {
+        return MetadataReader.read(readFully(inputStream));
+    }
+
+    /**
+     * 根据类名从类加载器中读取 class 文件
+     *
+     * @param className 类的全限定名
+     * @return 类元信息，找不到 class 文件时返回 {@code null}
+     */
+    public MetadataReader getMetadataReader(String className) throws IOException {
+        String resourceName = className.replace('.', '/') + ".class";
+        try (InputStream inputStream = this.classLoader.getResourceAsStream(resourceName)) {
+            return inputStream != null ? getMetadataReader(inputStream) : null;
+        }
+    }
+
+    /**
+     * 类上是否直接标注了指定注解，或者标注的注解以元注解的形式标注了指定注解
+     *
+     * @param metadataReader 类元信息
+     * @param annotationType 注解的全限定名
+     */
+    public boolean hasAnnotationOrMetaAnnotation(MetadataReader metadataReader, String annotationType) {
+        if (metadataReader.hasAnnotation(annotationType)) {
+            return true;
+        }
+        for (String presentType : metadataReader.getAnnotationTypes()) {
+            if (getMetaAnnotationTypes(presentType).contains(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取注解类型上直接和间接标注的所有注解，JDK 自带的元注解不会被展开
+     *
+     * @param annotationType 注解的全限定名
+     */
+    public Set<String> getMetaAnnotationTypes(String annotationType) {
+        Set<String> metaAnnotationTypes = this.metaAnnotationCache.get(annotationType);
+        if (metaAnnotationTypes == null) {
+            // 注解之间可能互相标注，不能在 computeIfAbsent 中递归，这里用显式的栈展开
+            metaAnnotationTypes = new LinkedHashSet<>();
+            Deque<String> stack = new ArrayDeque<>();
+            stack.push(annotationType);
+            while (!stack.isEmpty()) {
+                String current = stack.pop();
+                if (isJdkAnnotation(current)) {
+                    continue;
+                }
+                for (String metaAnnotationType : readAnnotationTypes(current)) {
+                    if (metaAnnotationTypes.add(metaAnnotationType) && !metaAnnotationType.equals(annotationType)) {
+                        stack.push(metaAnnotationType);
+                    }
+                }
+            }
+            metaAnnotationTypes = Collections.unmodifiableSet(metaAnnotationTypes);
+            this.metaAnnotationCache.putIfAbsent(annotationType, metaAnnotationTypes);
+        }
+        return metaAnnotationTypes;
+    }
+
+    private Set<String> readAnnotationTypes(String annotationType) {
+        try {
+            MetadataReader metadataReader = getMetadataReader(annotationType);
+            if (metadataReader != null) {
+                return metadataReader.getAnnotationTypes();
+            }
+            log.debug("Cannot find class file for annotation [{}]", annotationType);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to read class file for annotation [{}]", annotationType, e);
+        }
+        return Collections.emptySet();
+    }
+
+    private static boolean isJdkAnnotation(String annotationType) {
+        return annotationType.startsWith("java.") || annotationType.startsWith("javax.");
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(inputStream.available(), 1024));
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+}
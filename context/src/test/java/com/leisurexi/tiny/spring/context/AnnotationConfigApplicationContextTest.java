@@ -1,11 +1,28 @@
 package com.leisurexi.tiny.spring.context;
 
+import com.leisurexi.tiny.spring.beans.factory.support.BeanCreationRecipe;
 import com.leisurexi.tiny.spring.context.config.BeanConfig;
+import com.leisurexi.tiny.spring.context.config.DestroyBeanConfig;
+import com.leisurexi.tiny.spring.context.config.FactoryMethodBeanConfig;
+import com.leisurexi.tiny.spring.context.config.LazyBeanConfig;
+import com.leisurexi.tiny.spring.context.domain.City;
+import com.leisurexi.tiny.spring.context.domain.User;
+import com.leisurexi.tiny.spring.context.service.CityService;
+import com.leisurexi.tiny.spring.context.service.OrderService;
 import com.leisurexi.tiny.spring.context.service.UserService;
 import com.leisurexi.tiny.spring.context.support.AnnotationConfigApplicationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author: leisurexi
  * @date: 2020-05-31 21:27
@@ -23,4 +40,65 @@ public class AnnotationConfigApplicationContextTest {
         userService.save();
     }
 
+    @Test
+    public void autowiredSuperclassFieldTest() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(BeanConfig.class);
+        context.refresh();
+        // 父类中标注了 @Autowired 的字段也会被注入
+        CityService cityService = context.getBean(CityService.class);
+        assertSame(context.getBean("city"), cityService.getCity());
+        assertSame(context.getBean("user"), cityService.getUser());
+    }
+
+    @Test
+    public void metaAnnotatedComponentTest() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(BeanConfig.class);
+        context.refresh();
+        // 标注了 @Service 的类通过元注解 @Component 被扫描到
+        assertNotNull(context.getBean("orderService", OrderService.class));
+    }
+
+    @Test
+    public void lazyInitTest() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(LazyBeanConfig.class);
+        context.refresh();
+        // 配置类上的 @Lazy 作用于它所有的 @Bean 方法，方法上的 @Lazy(false) 优先
+        assertFalse(context.getBeanFactory().containsSingleton("lazyCity"));
+        assertTrue(context.getBeanFactory().containsSingleton("eagerCity"));
+        assertEquals("北京", context.getBean("lazyCity", City.class).getName());
+    }
+
+    @Test
+    public void closeTest() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(DestroyBeanConfig.class);
+        context.refresh();
+        ExecutorService executorService = context.getBean("executorService", ExecutorService.class);
+        assertFalse(executorService.isShutdown());
+        // 关闭上下文时调用 @Bean 上指定的销毁方法，重复关闭没有影响
+        context.close();
+        assertTrue(executorService.isShutdown());
+        assertFalse(context.isActive());
+        context.close();
+    }
+
+    @Test
+    public void factoryMethodTest() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(FactoryMethodBeanConfig.class);
+        context.refresh();
+        // 有两个 City 类型的 bean，按参数名称匹配到 shanghai
+        User user = context.getBean("user", User.class);
+        assertSame(context.getBean("shanghai"), user.getCity());
+        // 原型 bean 再次创建时复用绑定好的工厂方法
+        BeanCreationRecipe recipe = context.getBeanFactory().getBeanDefinition("user").getCreationRecipe();
+        Object resolvedFactoryMethod = recipe.getResolvedFactoryMethod();
+        assertNotNull(resolvedFactoryMethod);
+        assertNotSame(user, context.getBean("user", User.class));
+        assertSame(resolvedFactoryMethod, recipe.getResolvedFactoryMethod());
+    }
+
 }
@@ -1,10 +1,31 @@
 package com.leisurexi.tiny.spring.context;
 
+import com.leisurexi.tiny.spring.beans.metrics.BufferingApplicationStartup;
+import com.leisurexi.tiny.spring.beans.metrics.StartupStep;
+import com.leisurexi.tiny.spring.context.annotation.Component;
 import com.leisurexi.tiny.spring.context.domain.User;
+import com.leisurexi.tiny.spring.context.service.UserService;
 import com.leisurexi.tiny.spring.context.support.ClassPathXmlApplicationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author: leisurexi
  * @date: 2020-06-02 22:46
@@ -20,4 +41,120 @@ public class ClassPathApplicationContextTest {
         log.info(user.toString());
     }
 
+    @Test
+    public void snapshotTest() throws Exception {
+        Path snapshotFile = Files.createTempDirectory("snapshot").resolve("context.snapshot");
+        String[] locations = {"META-INF/classpath-application-context.xml"};
+        // 第一次启动解析配置文件并生成快照
+        ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext(locations, false);
+        context.setSnapshotFile(snapshotFile);
+        context.refresh();
+        assertTrue(Files.isRegularFile(snapshotFile));
+        List<String> beanNames = context.getBeanDefinitionNames();
+        context.close();
+
+        // 第二次启动直接从快照注册，包括组件扫描得到的 bean
+        ClassPathXmlApplicationContext snapshotContext = new ClassPathXmlApplicationContext(locations, false);
+        snapshotContext.setSnapshotFile(snapshotFile);
+        snapshotContext.refresh();
+        assertEquals(beanNames, snapshotContext.getBeanDefinitionNames());
+        assertEquals("leisurexi", snapshotContext.getBean("user", User.class).getName());
+        assertNotNull(snapshotContext.getBean(UserService.class));
+        snapshotContext.close();
+    }
+
+    @Test
+    public void snapshotInvalidatedByScannedClassTest() throws Exception {
+        Path root = Files.createTempDirectory("snapshot-classes");
+        Path config = root.resolve("snapshot-context.xml");
+        Files.write(config, ("<beans><context:component-scan base-package=\"demo.snapshot\"/></beans>")
+                .getBytes(StandardCharsets.UTF_8));
+        Path snapshotFile = root.resolve("context.snapshot");
+        compileComponent(root, "FooService");
+        assertEquals(Collections.singletonList("fooService"), refreshWithSnapshot(root, config, snapshotFile));
+        assertTrue(Files.isRegularFile(snapshotFile));
+
+        // 扫描的包下新增了组件，配置文件没有变化，快照也不能再使用
+        compileComponent(root, "BarService");
+        assertEquals(Arrays.asList("barService", "fooService"), refreshWithSnapshot(root, config, snapshotFile));
+    }
+
+    @Test
+    public void snapshotInvalidatedByScannedClassInSameClassLoaderTest() throws Exception {
+        Path root = Files.createTempDirectory("snapshot-classes");
+        Path config = root.resolve("snapshot-context.xml");
+        Files.write(config, ("<beans><context:component-scan base-package=\"demo.snapshot\"/></beans>")
+                .getBytes(StandardCharsets.UTF_8));
+        Path snapshotFile = root.resolve("context.snapshot");
+        compileComponent(root, "FooService");
+        ClassLoader classLoader = new URLClassLoader(new URL[]{root.toUri().toURL()}, getClass().getClassLoader());
+        assertEquals(Collections.singletonList("fooService"), refreshWithSnapshot(classLoader, config, snapshotFile));
+
+        // 同一个类加载器下目录中新增了组件，内存中缓存的扫描结果已经过期，不能用来重新生成快照
+        compileComponent(root, "BarService");
+        assertEquals(Arrays.asList("barService", "fooService"), refreshWithSnapshot(classLoader, config, snapshotFile));
+        // 模拟重启，快照中也要包含新增的组件
+        assertEquals(Arrays.asList("barService", "fooService"), refreshWithSnapshot(root, config, snapshotFile));
+    }
+
+    /**
+     * 用新的类加载器刷新上下文，返回排好序的 bean 名称
+     */
+    private List<String> refreshWithSnapshot(Path root, Path config, Path snapshotFile) throws Exception {
+        return refreshWithSnapshot(new URLClassLoader(new URL[]{root.toUri().toURL()}, getClass().getClassLoader()), config, snapshotFile);
+    }
+
+    private List<String> refreshWithSnapshot(ClassLoader classLoader, Path config, Path snapshotFile) {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext(new String[]{config.toUri().toString()}, false);
+            context.setSnapshotFile(snapshotFile);
+            context.refresh();
+            List<String> beanNames = context.getBeanDefinitionNames().stream()
+                    .filter(beanName -> !beanName.startsWith("org.leisurexi"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            context.close();
+            return beanNames;
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private void compileComponent(Path root, String className) throws Exception {
+        Path source = Files.createTempDirectory("snapshot-sources").resolve(className + ".java");
+        Files.write(source, ("package demo.snapshot; @" + Component.class.getName() + " public class " + className + " {}")
+                .getBytes(StandardCharsets.UTF_8));
+        String classpath = new File(Component.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-proc:none", "-classpath", classpath, "-d", root.toString(), source.toString()));
+    }
+
+    @Test
+    public void applicationStartupTest() {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1000);
+        ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext(
+                new String[]{"META-INF/classpath-application-context.xml"}, false);
+        context.setApplicationStartup(applicationStartup);
+        context.refresh();
+        List<StartupStep> steps = applicationStartup.getBufferedSteps();
+        StartupStep refreshStep = steps.get(0);
+        assertEquals("context.refresh", refreshStep.getName());
+        List<String> phases = steps.stream()
+                .filter(step -> Long.valueOf(refreshStep.getId()).equals(step.getParentId()))
+                .map(StartupStep::getName)
+                .distinct()
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("context.refresh-bean-factory", "context.invoke-bean-factory-post-processors",
+                "context.register-bean-post-processors", "context.finish-bean-factory-initialization"), phases);
+        assertTrue(steps.stream().anyMatch(step -> "beans.create".equals(step.getName())
+                && "user".equals(step.getTags().get("beanName"))));
+        assertTrue(steps.stream().anyMatch(step -> "context.component-scan".equals(step.getName())
+                && "com.leisurexi.tiny.spring.context".equals(step.getTags().get("basePackage"))));
+        assertTrue(steps.stream().anyMatch(step -> "beans.load-bean-definitions".equals(step.getName())));
+        context.close();
+    }
+
 }
@@ -0,0 +1,69 @@
+package com.leisurexi.tiny.spring.context.annotation;
+
+import com.leisurexi.tiny.spring.context.service.CityService;
+import com.leisurexi.tiny.spring.context.service.OrderService;
+import com.leisurexi.tiny.spring.context.service.Service;
+import com.leisurexi.tiny.spring.context.service.UserService;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 21:55
+ * @since 0.0.6
+ */
+public class ClassPathCandidateComponentScannerTest {
+
+    private static final String SERVICE_PACKAGE = "com.leisurexi.tiny.spring.context.service";
+
+    @Test
+    public void scanDirectoryTest() {
+        ClassPathCandidateComponentScanner scanner = new ClassPathCandidateComponentScanner(getClass().getClassLoader());
+        scanner.addIncludeAnnotationType(Component.class);
+        // 抽象类和 @Service 注解本身不是候选组件，@Service 标注的类通过元注解匹配
+        assertEquals(new LinkedHashSet<>(Arrays.asList(CityService.class, OrderService.class, UserService.class)),
+                scanner.findCandidateComponents(SERVICE_PACKAGE));
+    }
+
+    @Test
+    public void scanJarTest() throws Exception {
+        File jar = Files.createTempFile("components", ".jar").toFile();
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jar))) {
+            // 和打包工具一样写入目录条目，否则 ClassLoader#getResources 找不到包路径
+            outputStream.putNextEntry(new JarEntry(SERVICE_PACKAGE.replace('.', '/') + "/"));
+            outputStream.closeEntry();
+            for (Class<?> clazz : Arrays.asList(Component.class, Service.class, OrderService.class, UserService.class)) {
+                String entryName = clazz.getName().replace('.', '/') + ".class";
+                outputStream.putNextEntry(new JarEntry(entryName));
+                try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(entryName)) {
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, read);
+                    }
+                }
+                outputStream.closeEntry();
+            }
+        }
+        // 父类加载器为 null，只能从 jar 包中读取 class 文件
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+            ClassPathCandidateComponentScanner scanner = new ClassPathCandidateComponentScanner(classLoader);
+            scanner.addIncludeAnnotationType(Component.class);
+            assertEquals(new LinkedHashSet<>(Arrays.asList(OrderService.class.getName(), UserService.class.getName())),
+                    scanner.findCandidateClassNames(SERVICE_PACKAGE));
+        }
+    }
+
+}
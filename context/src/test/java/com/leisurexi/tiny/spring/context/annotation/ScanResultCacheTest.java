@@ -0,0 +1,135 @@
+package com.leisurexi.tiny.spring.context.annotation;
+
+import com.leisurexi.tiny.spring.context.service.OrderService;
+import com.leisurexi.tiny.spring.context.service.Service;
+import com.leisurexi.tiny.spring.context.service.UserService;
+import com.leisurexi.tiny.spring.context.type.classreading.MetadataReader;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 22:10
+ * @since 0.0.6
+ */
+public class ScanResultCacheTest {
+
+    private static final String SERVICE_PACKAGE = "com.leisurexi.tiny.spring.context.service";
+
+    @Test
+    public void memoryCacheTest() {
+        ScanResultCache cache = new ScanResultCache(null);
+        CountingScanner scanner = new CountingScanner(getClass().getClassLoader(), cache);
+        SortedSet<String> classNames = scanner.findCandidateClassNames(SERVICE_PACKAGE);
+        int scanned = scanner.count.get();
+        assertTrue(scanned > 0);
+        // 第二次直接返回内存中的结果，不再读取 class 文件
+        assertSame(classNames, new CountingScanner(getClass().getClassLoader(), cache).findCandidateClassNames(SERVICE_PACKAGE));
+        assertSame(classNames, scanner.findCandidateClassNames(SERVICE_PACKAGE));
+        assertEquals(scanned, scanner.count.get());
+    }
+
+    @Test
+    public void classLoaderNotRetainedTest() throws Exception {
+        ScanResultCache cache = new ScanResultCache(null);
+        WeakReference<ClassLoader> classLoaderReference = scanInIsolatedClassLoader(cache);
+        // 内存缓存不应该阻止类加载器被回收
+        for (int i = 0; i < 20 && classLoaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull(classLoaderReference.get());
+    }
+
+    private WeakReference<ClassLoader> scanInIsolatedClassLoader(ScanResultCache cache) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{copyServiceClasses().toUri().toURL()}, null);
+        assertEquals(2, new CountingScanner(classLoader, cache).findCandidateClassNames(SERVICE_PACKAGE).size());
+        classLoader.close();
+        return new WeakReference<>(classLoader);
+    }
+
+    @Test
+    public void persistedCacheTest() throws Exception {
+        Path classes = copyServiceClasses();
+        Path cacheFile = Files.createTempDirectory("cache").resolve("scan.cache");
+        SortedSet<String> expected = new TreeSet<>(Arrays.asList(OrderService.class.getName(), UserService.class.getName()));
+
+        // 模拟第一次启动，扫描后写入缓存文件
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, null)) {
+            CountingScanner scanner = new CountingScanner(classLoader, new ScanResultCache(cacheFile));
+            assertEquals(expected, scanner.findCandidateClassNames(SERVICE_PACKAGE));
+            assertTrue(scanner.count.get() > 0);
+            assertTrue(Files.isRegularFile(cacheFile));
+        }
+        // 模拟重启，类路径没有变化，直接使用缓存文件中的结果
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, null)) {
+            CountingScanner scanner = new CountingScanner(classLoader, new ScanResultCache(cacheFile));
+            assertEquals(expected, scanner.findCandidateClassNames(SERVICE_PACKAGE));
+            assertEquals(0, scanner.count.get());
+        }
+        // 删除一个组件并修改另一个 class 文件的时间，指纹变化后重新扫描
+        Files.delete(classes.resolve(OrderService.class.getName().replace('.', '/') + ".class"));
+        Files.setLastModifiedTime(classes.resolve(UserService.class.getName().replace('.', '/') + ".class"),
+                FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, null)) {
+            CountingScanner scanner = new CountingScanner(classLoader, new ScanResultCache(cacheFile));
+            assertEquals(Collections.singleton(UserService.class.getName()), scanner.findCandidateClassNames(SERVICE_PACKAGE));
+            assertTrue(scanner.count.get() > 0);
+        }
+    }
+
+    /**
+     * 把组件注解和 service 包下的类复制到临时目录，作为独立的类路径
+     */
+    private Path copyServiceClasses() throws Exception {
+        Path classes = Files.createTempDirectory("classes");
+        for (Class<?> clazz : Arrays.asList(Component.class, Service.class, OrderService.class, UserService.class)) {
+            String entryName = clazz.getName().replace('.', '/') + ".class";
+            Path target = classes.resolve(entryName);
+            Files.createDirectories(target.getParent());
+            try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(entryName)) {
+                Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 记录读取了多少个 class 文件
+     */
+    private static class CountingScanner extends ClassPathCandidateComponentScanner {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingScanner(ClassLoader classLoader, ScanResultCache cache) {
+            super(classLoader);
+            addIncludeAnnotationType(Component.class);
+            setScanResultCache(cache);
+        }
+
+        @Override
+        protected boolean isCandidateComponent(MetadataReader metadataReader) {
+            this.count.incrementAndGet();
+            return super.isCandidateComponent(metadataReader);
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.leisurexi.tiny.spring.context.config;
+
+import com.leisurexi.tiny.spring.context.annotation.Bean;
+import com.leisurexi.tiny.spring.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 17:50
+ * @since 0.0.6
+ */
+@Configuration
+public class DestroyBeanConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService executorService() {
+        return Executors.newFixedThreadPool(1);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.leisurexi.tiny.spring.context.config;
+
+import com.leisurexi.tiny.spring.context.annotation.Bean;
+import com.leisurexi.tiny.spring.context.annotation.Configuration;
+import com.leisurexi.tiny.spring.context.annotation.Scope;
+import com.leisurexi.tiny.spring.context.domain.City;
+import com.leisurexi.tiny.spring.context.domain.User;
+
+import static com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition.SCOPE_PROTOTYPE;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 20:20
+ * @since 0.0.6
+ */
+@Configuration
+public class FactoryMethodBeanConfig {
+
+    @Bean
+    public City beijing() {
+        return City.builder().id(1L).name("北京").build();
+    }
+
+    @Bean
+    public City shanghai() {
+        return City.builder().id(2L).name("上海").build();
+    }
+
+    @Scope(SCOPE_PROTOTYPE)
+    @Bean
+    public User user(City shanghai) {
+        return User.builder().id(1L).name("leisurexi").city(shanghai).build();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.leisurexi.tiny.spring.context.config;
+
+import com.leisurexi.tiny.spring.context.annotation.Bean;
+import com.leisurexi.tiny.spring.context.annotation.Configuration;
+import com.leisurexi.tiny.spring.context.annotation.Lazy;
+import com.leisurexi.tiny.spring.context.domain.City;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 13:40
+ * @since 0.0.6
+ */
+@Lazy
+@Configuration
+public class LazyBeanConfig {
+
+    @Bean
+    public City lazyCity() {
+        return City.builder().id(1L).name("北京").build();
+    }
+
+    @Lazy(false)
+    @Bean
+    public City eagerCity() {
+        return City.builder().id(2L).name("上海").build();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.leisurexi.tiny.spring.context.index;
+
+import com.leisurexi.tiny.spring.beans.factory.support.BeanDefinition;
+import com.leisurexi.tiny.spring.context.annotation.AnnotationConfigUtils;
+import com.leisurexi.tiny.spring.context.annotation.Component;
+import com.leisurexi.tiny.spring.context.service.CityService;
+import com.leisurexi.tiny.spring.context.service.OrderService;
+import com.leisurexi.tiny.spring.context.service.UserService;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 21:20
+ * @since 0.0.6
+ */
+public class CandidateComponentsIndexLoaderTest {
+
+    private static final String COMPONENT = Component.class.getName();
+
+    @Test
+    public void loadIndexTest() throws Exception {
+        ClassLoader classLoader = createIndexedClassLoader(
+                "com.leisurexi.tiny.spring.context.service.UserService=" + COMPONENT,
+                "com.leisurexi.tiny.spring.context.serviceimpl.OtherService=" + COMPONENT);
+        CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(classLoader);
+        assertEquals(Collections.singleton("com.leisurexi.tiny.spring.context.service.UserService"),
+                index.getCandidateTypes("com.leisurexi.tiny.spring.context.service", COMPONENT));
+        // 每个类加载器只读取一次
+        assertSame(index, CandidateComponentsIndexLoader.loadIndex(classLoader));
+        assertNull(CandidateComponentsIndexLoader.loadIndex(new URLClassLoader(new URL[0], null)));
+    }
+
+    @Test
+    public void classLoaderNotRetainedTest() throws Exception {
+        WeakReference<ClassLoader> classLoaderReference = loadIndexInIsolatedClassLoader();
+        // 索引缓存不应该阻止类加载器被回收
+        for (int i = 0; i < 20 && classLoaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull(classLoaderReference.get());
+    }
+
+    private WeakReference<ClassLoader> loadIndexInIsolatedClassLoader() throws Exception {
+        URLClassLoader classLoader = (URLClassLoader) createIndexedClassLoader(
+                "com.leisurexi.tiny.spring.context.service.UserService=" + COMPONENT);
+        assertNotNull(CandidateComponentsIndexLoader.loadIndex(classLoader));
+        classLoader.close();
+        return new WeakReference<>(classLoader);
+    }
+
+    @Test
+    public void scanComponentWithIndexTest() throws Exception {
+        ClassLoader classLoader = createIndexedClassLoader(
+                "com.leisurexi.tiny.spring.context.service.UserService=" + COMPONENT,
+                "com.leisurexi.tiny.spring.context.service.RemovedService=" + COMPONENT);
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            // 存在索引时只加载索引中的类，已经不存在的类被忽略
+            Map<String, BeanDefinition> beanDefinitionMap = AnnotationConfigUtils.scanComponent("com.leisurexi.tiny.spring.context");
+            assertEquals(Collections.singleton("userService"), beanDefinitionMap.keySet());
+            assertSame(UserService.class, beanDefinitionMap.get("userService").getBeanClass());
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    @Test
+    public void scanComponentWithAndWithoutIndexTest() throws Exception {
+        // context-indexer 为通过 @Service 元注解标注的 OrderService 同样记录 @Component
+        ClassLoader classLoader = createIndexedClassLoader(
+                CityService.class.getName() + "=" + COMPONENT,
+                OrderService.class.getName() + "=" + COMPONENT,
+                UserService.class.getName() + "=" + COMPONENT);
+        String basePackage = "com.leisurexi.tiny.spring.context.service";
+        Map<String, Class<?>> scanned = toBeanClasses(AnnotationConfigUtils.scanComponent(basePackage));
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            assertEquals(scanned, toBeanClasses(AnnotationConfigUtils.scanComponent(basePackage)));
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+        assertEquals(OrderService.class, scanned.get("orderService"));
+    }
+
+    private static Map<String, Class<?>> toBeanClasses(Map<String, BeanDefinition> beanDefinitionMap) {
+        Map<String, Class<?>> beanClasses = new TreeMap<>();
+        beanDefinitionMap.forEach((beanName, beanDefinition) -> beanClasses.put(beanName, beanDefinition.getBeanClass()));
+        return beanClasses;
+    }
+
+    private ClassLoader createIndexedClassLoader(String... lines) throws Exception {
+        File root = Files.createTempDirectory("index").toFile();
+        File file = new File(root, CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return new URLClassLoader(new URL[]{root.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+}
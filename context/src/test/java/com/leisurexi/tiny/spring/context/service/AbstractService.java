@@ -0,0 +1,18 @@
+package com.leisurexi.tiny.spring.context.service;
+
+import com.leisurexi.tiny.spring.context.annotation.Autowired;
+import com.leisurexi.tiny.spring.context.domain.City;
+import lombok.Getter;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 15:20
+ * @since 0.0.6
+ */
+@Getter
+public abstract class AbstractService {
+
+    @Autowired
+    private City city;
+
+}
@@ -0,0 +1,20 @@
+package com.leisurexi.tiny.spring.context.service;
+
+import com.leisurexi.tiny.spring.context.annotation.Autowired;
+import com.leisurexi.tiny.spring.context.annotation.Component;
+import com.leisurexi.tiny.spring.context.domain.User;
+import lombok.Getter;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 15:22
+ * @since 0.0.6
+ */
+@Getter
+@Component
+public class CityService extends AbstractService {
+
+    @Autowired
+    private User user;
+
+}
@@ -0,0 +1,11 @@
+package com.leisurexi.tiny.spring.context.service;
+
+/**
+ * @author: leisurexi
+ * @date: 2026-10-18 21:55
+ * @since 0.0.6
+ */
+@Service
+public class OrderService {
+
+}
@@ -0,0 +1,19 @@
+package com.leisurexi.tiny.spring.context.service;
+
+import com.leisurexi.tiny.spring.context.annotation.Component;
+
+import java.lang.annotation.*;
+
+/**
+ * 以元注解的形式标注了 {@link Component} 的自定义注解
+ *
+ * @author: leisurexi
+ * @date: 2026-10-18 21:55
+ * @since 0.0.6
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Component
+public @interface Service {
+}